@@ -0,0 +1,103 @@
+package io.loghub.benchmarks;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import io.loghub.logger.appender.HttpLogAppender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full append pipeline: an SLF4J-style call through Logback into {@link HttpLogAppender}
+ * (level check, conversion, masking, enqueue), uncontended and with 8 and 64 contending threads.
+ *
+ * <p>Events are shipped to an in-process {@link CollectorServer}. When the sender cannot keep
+ * up, the queue fills and further events take the drop path; the appender's
+ * {@code getMetrics()} counters printed at tear-down show the enqueued/dropped split.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AppendBenchmark {
+
+    private CollectorServer collector;
+    private LoggerContext loggerContext;
+    private HttpLogAppender appender;
+    private Logger logger;
+
+    @Setup
+    public void setUp() throws Exception {
+        collector = CollectorServer.start();
+        loggerContext = new LoggerContext();
+        loggerContext.setMDCAdapter(new LogbackMDCAdapter());
+
+        appender = new HttpLogAppender();
+        appender.setContext(loggerContext);
+        appender.setName("BENCHMARK");
+        appender.setEndpoint(collector.endpoint());
+        appender.setApplication("benchmark");
+        appender.setEnvironment("bench");
+        appender.setQueueCapacity(10_000);
+        appender.setWorkerThreads(2);
+        appender.setJmxEnabled(false);
+        appender.start();
+
+        logger = loggerContext.getLogger("io.loghub.benchmarks.OrderService");
+        logger.setAdditive(false);
+        logger.setLevel(Level.INFO);
+        logger.addAppender(appender);
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.out.printf("%nenqueued=%d dropped=%d delivered=%d%n",
+                appender.getMetrics().getEnqueued(), appender.getMetrics().getDropped(), collector.received());
+        appender.stop();
+        loggerContext.stop();
+        collector.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void appendSingleThread() {
+        log();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void append8Threads() {
+        log();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public void append64Threads() {
+        log();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void appendBelowLevel() {
+        logger.debug("Cache lookup for {} took {} us", "order-42", 17);
+    }
+
+    private void log() {
+        logger.info("Order {} processed in {} ms for {}", "order-42", 35, "john.doe@example.com");
+    }
+}
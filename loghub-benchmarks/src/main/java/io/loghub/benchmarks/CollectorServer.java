@@ -0,0 +1,56 @@
+package io.loghub.benchmarks;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Minimal in-process LogHub endpoint answering every request with 202, so benchmarks exercise
+ * the real HTTP client without a network hop to a remote server.
+ */
+final class CollectorServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final LongAdder received = new LongAdder();
+
+    private CollectorServer(HttpServer server) {
+        this.server = server;
+    }
+
+    static CollectorServer start() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        CollectorServer collector = new CollectorServer(server);
+        server.createContext("/api/logs", exchange -> {
+            try (InputStream body = exchange.getRequestBody()) {
+                body.readAllBytes();
+            }
+            collector.received.increment();
+            exchange.sendResponseHeaders(202, -1);
+            exchange.close();
+        });
+        server.setExecutor(Executors.newFixedThreadPool(4, r -> {
+            Thread thread = new Thread(r, "collector");
+            thread.setDaemon(true);
+            return thread;
+        }));
+        server.start();
+        return collector;
+    }
+
+    String endpoint() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/api/logs";
+    }
+
+    long received() {
+        return received.sum();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,87 @@
+package io.loghub.benchmarks;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import io.loghub.logger.config.LogHubConfig;
+import io.loghub.logger.context.LogContext;
+import io.loghub.logger.converter.LogEventConverter;
+import io.loghub.logger.queue.CompactLogEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link LogEventConverter} on fresh Logback events, with LogContext and MDC holding
+ * {@code contextSize} entries each (a few of them sensitive), in both message modes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ConverterBenchmark {
+
+    @Param({"0", "8", "32"})
+    public int contextSize;
+
+    @Param({"false", "true"})
+    public boolean preserveTemplate;
+
+    private LoggerContext loggerContext;
+    private Logger logger;
+    private LogEventConverter converter;
+    private Object[] arguments;
+
+    @Setup
+    public void setUp() {
+        LogHubConfig config = LogHubConfig.getInstance();
+        config.setApplication("benchmark");
+        config.setEnvironment("bench");
+        config.setPreserveTemplate(preserveTemplate);
+        converter = new LogEventConverter(config);
+
+        loggerContext = new LoggerContext();
+        loggerContext.setMDCAdapter(new LogbackMDCAdapter());
+        logger = loggerContext.getLogger("io.loghub.benchmarks.OrderService");
+        arguments = new Object[]{"order-42", 35, "john.doe@example.com"};
+
+        // Setup of a thread-scoped state runs on the benchmark thread, so both contexts apply
+        LogContext.removeContext();
+        for (int i = 0; i < contextSize; i++) {
+            LogContext.put(i % 8 == 0 ? "token" + i : "ctx.key" + i, "value-" + i);
+            loggerContext.getMDCAdapter().put(i % 8 == 0 ? "password" + i : "mdc.key" + i, "value-" + i);
+        }
+        if (contextSize > 0) {
+            loggerContext.getMDCAdapter().put("traceId", "4bf92f3577b34da6a3ce929d0e0e4736");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        LogContext.removeContext();
+        loggerContext.getMDCAdapter().clear();
+        LogHubConfig.getInstance().setPreserveTemplate(false);
+    }
+
+    @Benchmark
+    public CompactLogEvent convert() {
+        LoggingEvent event = new LoggingEvent(ConverterBenchmark.class.getName(), logger, Level.INFO,
+                "Order {} processed in {} ms for {}", null, arguments);
+        return converter.convertCompact(event);
+    }
+}
@@ -0,0 +1,68 @@
+package io.loghub.benchmarks;
+
+import io.loghub.logger.context.LogContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link LogContext} writes and reads on a context already holding {@code contextSize} entries.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class LogContextBenchmark {
+
+    @Param({"4", "32"})
+    public int contextSize;
+
+    private long counter;
+
+    @Setup
+    public void setUp() {
+        LogContext.removeContext();
+        for (int i = 0; i < contextSize; i++) {
+            LogContext.put("key" + i, "value-" + i);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        LogContext.removeContext();
+    }
+
+    @Benchmark
+    public void putString() {
+        LogContext.put("userId", "user-42");
+    }
+
+    @Benchmark
+    public void putLong() {
+        LogContext.put("attempt", ++counter);
+    }
+
+    @Benchmark
+    public Map<String, Object> getAll() {
+        return LogContext.getAll();
+    }
+
+    @Benchmark
+    public Map<String, Object> getAllTyped() {
+        return LogContext.getAllTyped();
+    }
+}
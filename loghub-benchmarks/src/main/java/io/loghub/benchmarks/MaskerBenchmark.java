@@ -0,0 +1,52 @@
+package io.loghub.benchmarks;
+
+import io.loghub.logger.util.SensitiveDataMasker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SensitiveDataMasker} on clean inputs (nothing to mask, the common case) and dirty
+ * inputs (card number, e-mail, CPF; sensitive field names).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class MaskerBenchmark {
+
+    public String cleanMessage = "Order order-42 processed in 35 ms by worker 7 after 2 retries";
+    public String dirtyMessage = "Payment 4111-1111-1111-1111 for john.doe@example.com (CPF 123.456.789-09) failed";
+    public String cleanField = "orderId";
+    public String dirtyField = "X-Api-Password";
+
+    @Benchmark
+    public String maskClean() {
+        return SensitiveDataMasker.mask(cleanMessage);
+    }
+
+    @Benchmark
+    public String maskDirty() {
+        return SensitiveDataMasker.mask(dirtyMessage);
+    }
+
+    @Benchmark
+    public boolean isSensitiveFieldClean() {
+        return SensitiveDataMasker.isSensitiveField(cleanField);
+    }
+
+    @Benchmark
+    public boolean isSensitiveFieldDirty() {
+        return SensitiveDataMasker.isSensitiveField(dirtyField);
+    }
+}
@@ -0,0 +1,126 @@
+package io.loghub.benchmarks;
+
+import io.loghub.contract.LogEvent;
+import io.loghub.contract.LogLevel;
+import io.loghub.logger.http.LogHubHttpClient;
+import io.loghub.logger.queue.CompactLogEvent;
+import io.loghub.logger.queue.LogEventQueue;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link LogEventQueue} enqueue and drain throughput with a sender that completes instantly,
+ * so the numbers reflect the queue and worker hand-off only. The auxiliary counters split
+ * offers into accepted and dropped.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QueueBenchmark {
+
+    private LogEventQueue queue;
+    private CompactLogEvent info;
+    private CompactLogEvent error;
+
+    @Setup
+    public void setUp() {
+        queue = new LogEventQueue(new InstantHttpClient(), 10_000, LogEventQueue.DEFAULT_PRIORITY_CAPACITY, 1);
+        queue.start();
+        info = CompactLogEvent.builder()
+                .application("benchmark")
+                .environment("bench")
+                .level(LogLevel.INFO)
+                .message("Order order-42 processed in 35 ms")
+                .timestampMillis(System.currentTimeMillis())
+                .metadata("logger", "io.loghub.benchmarks.OrderService")
+                .build();
+        error = CompactLogEvent.builder()
+                .application("benchmark")
+                .environment("bench")
+                .level(LogLevel.ERROR)
+                .message("Payment gateway timed out")
+                .timestampMillis(System.currentTimeMillis())
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        queue.stop();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void enqueueSingleThread(Offers offers) {
+        offers.count(queue.enqueue(info));
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void enqueue8Threads(Offers offers) {
+        offers.count(queue.enqueue(info));
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void enqueuePriority8Threads(Offers offers) {
+        offers.count(queue.enqueue(error));
+    }
+
+    /**
+     * Accepted and dropped offers per iteration.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Offers {
+        public long accepted;
+        public long dropped;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            accepted = 0;
+            dropped = 0;
+        }
+
+        void count(boolean enqueued) {
+            if (enqueued) {
+                accepted++;
+            } else {
+                dropped++;
+            }
+        }
+    }
+
+    /**
+     * Sender that completes at once; the queue still materializes the public event for it.
+     */
+    private static final class InstantHttpClient extends LogHubHttpClient {
+        private static final CompletableFuture<Integer> ACCEPTED = CompletableFuture.completedFuture(202);
+
+        InstantHttpClient() {
+            super("http://127.0.0.1:9/api/logs", 1000);
+        }
+
+        @Override
+        public CompletableFuture<Integer> sendWithStatus(LogEvent logEvent) {
+            return ACCEPTED;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package io.loghub.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.loghub.contract.LogEvent;
+import io.loghub.contract.LogLevel;
+import io.loghub.logger.queue.CompactLogEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of a {@code LogEvent} with an {@code ObjectMapper} configured like the
+ * one in {@code LogHubHttpClient}, with and without materializing it from the queued
+ * {@link CompactLogEvent} first (the sender does both).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private CompactLogEvent compact;
+    private LogEvent logEvent;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        CompactLogEvent.Builder builder = CompactLogEvent.builder()
+                .application("benchmark")
+                .environment("bench")
+                .level(LogLevel.INFO)
+                .message("Order order-42 processed in 35 ms for j***@***.com")
+                .timestampMillis(System.currentTimeMillis())
+                .traceId("4bf92f3577b34da6a3ce929d0e0e4736");
+        for (int i = 0; i < 8; i++) {
+            builder.metadata("key" + i, "value-" + i);
+        }
+        builder.metadata("durationMs", 35L);
+        compact = builder.build();
+        logEvent = compact.toLogEvent();
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(logEvent);
+    }
+
+    @Benchmark
+    public byte[] materializeAndSerialize() throws Exception {
+        return objectMapper.writeValueAsBytes(compact.toLogEvent());
+    }
+}
@@ -0,0 +1,181 @@
+package io.loghub.benchmarks.soak;
+
+import ch.qos.logback.classic.Level;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Pre-generated, seeded log corpus shaped like a typical service's output, so the soak run
+ * spends its time in the SDK rather than in building messages.
+ *
+ * <p>The shape: mostly INFO with some DEBUG (below the default level), WARN and ERROR; message
+ * lengths from a short template plus a log-normal free-text argument (median about 40
+ * characters, tail into kilobytes); MDC maps with a Poisson-distributed number of entries
+ * around {@code meanMdcSize}; a {@code piiRatio} share of messages carrying an e-mail, card
+ * number or CPF; and an {@code exceptionRatio} share of ERROR events with a throwable, most
+ * of them repeating a handful of stack shapes.
+ */
+final class LogCorpus {
+
+    private static final String[] LOGGERS = {
+            "com.example.orders.OrderService", "com.example.orders.OrderRepository",
+            "com.example.payments.PaymentGateway", "com.example.payments.RefundService",
+            "com.example.catalog.ProductController", "com.example.catalog.PriceCache",
+            "com.example.auth.SessionFilter", "com.example.auth.TokenVerifier",
+            "com.example.shipping.CarrierClient", "com.example.search.IndexWriter",
+            "org.springframework.web.servlet.DispatcherServlet", "org.hibernate.SQL",
+            "com.zaxxer.hikari.pool.HikariPool", "io.netty.channel.DefaultChannelPipeline"
+    };
+
+    private static final String[] TEMPLATES = {
+            "Order {} processed in {} ms",
+            "Request {} completed with status {}",
+            "Cache miss for {} after {} lookups",
+            "Retrying call to {} (attempt {})",
+            "User {} updated profile field {}",
+            "Payment {} authorized, amount {}",
+            "Connection pool stats: active={}, idle={}",
+            "Scheduled job {} finished, processed {} records"
+    };
+
+    private static final String[] MDC_KEYS = {
+            "traceId", "spanId", "requestId", "userId", "tenant", "route", "httpMethod",
+            "clientIp", "sessionId", "region", "featureFlag", "orderId"
+    };
+
+    private static final String[] PII = {
+            "john.doe@example.com", "4111-1111-1111-1111", "123.456.789-09",
+            "maria.silva@example.com.br", "5500 0000 0000 0004"
+    };
+
+    private static final String WORDS = "lorem ipsum dolor sit amet consectetur adipiscing elit sed do "
+            + "eiusmod tempor incididunt ut labore et dolore magna aliqua ut enim ad minim veniam quis";
+
+    private final List<Entry> entries;
+
+    LogCorpus(long seed, int size, double exceptionRatio, double piiRatio, double meanMdcSize) {
+        Random random = new Random(seed);
+        List<Throwable> exceptions = exceptionShapes(random);
+        List<Entry> generated = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            generated.add(entry(random, exceptions, exceptionRatio, piiRatio, meanMdcSize));
+        }
+        this.entries = Collections.unmodifiableList(generated);
+    }
+
+    Entry get(long index) {
+        return entries.get((int) (index % entries.size()));
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private static Entry entry(Random random, List<Throwable> exceptions,
+                               double exceptionRatio, double piiRatio, double meanMdcSize) {
+        String logger = LOGGERS[random.nextInt(LOGGERS.length)];
+        String template = TEMPLATES[random.nextInt(TEMPLATES.length)] + ": {}";
+
+        Throwable throwable = null;
+        Level level;
+        if (random.nextDouble() < exceptionRatio) {
+            level = Level.ERROR;
+            throwable = exceptions.get(Math.min(exceptions.size() - 1, (int) (-Math.log(random.nextDouble()) * 2)));
+        } else {
+            double roll = random.nextDouble();
+            level = roll < 0.15 ? Level.DEBUG : roll < 0.87 ? Level.INFO : roll < 0.97 ? Level.WARN : Level.ERROR;
+        }
+
+        Object first = random.nextDouble() < piiRatio
+                ? PII[random.nextInt(PII.length)]
+                : "id-" + Integer.toHexString(random.nextInt());
+        Object[] arguments = throwable != null
+                ? new Object[]{first, random.nextInt(5_000), text(random), throwable}
+                : new Object[]{first, random.nextInt(5_000), text(random)};
+
+        return new Entry(level, logger, template, arguments, mdc(random, meanMdcSize));
+    }
+
+    /**
+     * Free text with a log-normal length: median about 40 characters, capped at 4 KB.
+     */
+    private static String text(Random random) {
+        int length = (int) Math.min(4096, Math.exp(Math.log(40) + random.nextGaussian()));
+        StringBuilder text = new StringBuilder(length);
+        while (text.length() < length) {
+            int start = random.nextInt(WORDS.length() - 10);
+            text.append(WORDS, start, Math.min(WORDS.length(), start + 1 + random.nextInt(10))).append(' ');
+        }
+        text.setLength(length);
+        return text.toString();
+    }
+
+    private static Map<String, String> mdc(Random random, double mean) {
+        int size = Math.min(MDC_KEYS.length, poisson(random, mean));
+        Map<String, String> mdc = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            String key = MDC_KEYS[i];
+            mdc.put(key, "traceId".equals(key)
+                    ? Long.toHexString(random.nextLong()) + Long.toHexString(random.nextLong())
+                    : key + "-" + random.nextInt(1_000));
+        }
+        return mdc;
+    }
+
+    private static int poisson(Random random, double mean) {
+        double limit = Math.exp(-mean);
+        double product = random.nextDouble();
+        int count = 0;
+        while (product > limit) {
+            product *= random.nextDouble();
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * A few exception shapes, from a shallow validation error to a deep wrapped I/O failure.
+     */
+    private static List<Throwable> exceptionShapes(Random random) {
+        List<Throwable> shapes = new ArrayList<>();
+        shapes.add(atDepth(10, () -> new IllegalArgumentException("Invalid quantity: -1")));
+        shapes.add(atDepth(40, () -> new IllegalStateException("Order already shipped",
+                new IOException("Connection reset by peer"))));
+        shapes.add(atDepth(80, () -> new RuntimeException("Payment gateway call failed",
+                new TimeoutException("Read timed out after 5000 ms"))));
+        shapes.add(atDepth(120 + random.nextInt(40), () -> new NullPointerException("customer")));
+        return shapes;
+    }
+
+    private static Throwable atDepth(int depth, Supplier<Throwable> factory) {
+        return depth <= 0 ? factory.get() : atDepth(depth - 1, factory);
+    }
+
+    /**
+     * One log call: level, logger, SLF4J template, arguments (a trailing throwable is logged
+     * as the exception), and the MDC in effect.
+     */
+    static final class Entry {
+        final Level level;
+        final String logger;
+        final String template;
+        final Object[] arguments;
+        final Map<String, String> mdc;
+
+        Entry(Level level, String logger, String template, Object[] arguments, Map<String, String> mdc) {
+            this.level = level;
+            this.logger = logger;
+            this.template = template;
+            this.arguments = arguments;
+            this.mdc = mdc;
+        }
+    }
+}
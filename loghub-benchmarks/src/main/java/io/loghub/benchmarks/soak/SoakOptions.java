@@ -0,0 +1,106 @@
+package io.loghub.benchmarks.soak;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Command line options of {@link SoakRunner}, given as {@code --name=value}.
+ *
+ * <p>Options prefixed with {@code appender.} are passed to the matching
+ * {@code HttpLogAppender} setter, e.g. {@code --appender.sampleRates=INFO=10%} or
+ * {@code --appender.rateLimits=...}, so each drop policy can be exercised under load.
+ */
+final class SoakOptions {
+
+    Duration duration = Duration.ofMinutes(5);
+    Duration warmup = Duration.ofSeconds(30);
+    Duration sampleInterval = Duration.ofSeconds(10);
+    Duration drainTimeout = Duration.ofSeconds(30);
+    int threads = 8;
+    long rate = 10_000;
+    long seed = 42L;
+    String report = "soak-report.json";
+
+    // Corpus
+    int corpusSize = 8_192;
+    double exceptionRatio = 0.02;
+    double piiRatio = 0.05;
+    double meanMdcSize = 4;
+
+    // Stand-in endpoint
+    long serverLatencyMs;
+    double serverErrorRate;
+    double serverThrottleRate;
+
+    final Map<String, String> appender = new LinkedHashMap<>();
+
+    private SoakOptions() {
+    }
+
+    static SoakOptions parse(String[] args) {
+        SoakOptions options = new SoakOptions();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || arg.indexOf('=') < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            options.set(name, value);
+        }
+        if (options.threads < 1) {
+            throw new IllegalArgumentException("threads must be at least 1");
+        }
+        if (options.rate < 0) {
+            throw new IllegalArgumentException("rate must be zero (unthrottled) or positive");
+        }
+        return options;
+    }
+
+    private void set(String name, String value) {
+        if (name.startsWith("appender.")) {
+            appender.put(name.substring("appender.".length()), value);
+            return;
+        }
+        switch (name) {
+            case "duration" -> duration = Duration.parse(value);
+            case "warmup" -> warmup = Duration.parse(value);
+            case "sampleInterval" -> sampleInterval = Duration.parse(value);
+            case "drainTimeout" -> drainTimeout = Duration.parse(value);
+            case "threads" -> threads = Integer.parseInt(value);
+            case "rate" -> rate = Long.parseLong(value);
+            case "seed" -> seed = Long.parseLong(value);
+            case "report" -> report = value;
+            case "corpusSize" -> corpusSize = Integer.parseInt(value);
+            case "exceptionRatio" -> exceptionRatio = Double.parseDouble(value);
+            case "piiRatio" -> piiRatio = Double.parseDouble(value);
+            case "meanMdcSize" -> meanMdcSize = Double.parseDouble(value);
+            case "serverLatencyMs" -> serverLatencyMs = Long.parseLong(value);
+            case "serverErrorRate" -> serverErrorRate = Double.parseDouble(value);
+            case "serverThrottleRate" -> serverThrottleRate = Double.parseDouble(value);
+            default -> throw new IllegalArgumentException("Unknown option: --" + name);
+        }
+    }
+
+    /**
+     * Options as written to the report, so two reports show what differed between the runs.
+     */
+    Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("duration", duration.toString());
+        map.put("warmup", warmup.toString());
+        map.put("sampleInterval", sampleInterval.toString());
+        map.put("threads", threads);
+        map.put("rate", rate);
+        map.put("seed", seed);
+        map.put("corpusSize", corpusSize);
+        map.put("exceptionRatio", exceptionRatio);
+        map.put("piiRatio", piiRatio);
+        map.put("meanMdcSize", meanMdcSize);
+        map.put("serverLatencyMs", serverLatencyMs);
+        map.put("serverErrorRate", serverErrorRate);
+        map.put("serverThrottleRate", serverThrottleRate);
+        map.put("appender", appender);
+        return map;
+    }
+}
@@ -0,0 +1,539 @@
+package io.loghub.benchmarks.soak;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.status.Status;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.loghub.logger.appender.HttpLogAppender;
+import io.loghub.logger.metrics.DropReason;
+import io.loghub.logger.metrics.LatencyHistogram;
+import io.loghub.logger.metrics.LogHubMetrics;
+import io.loghub.logger.util.SdkVersion;
+import io.loghub.testkit.FaultPlan;
+import io.loghub.testkit.IngestServer;
+import io.loghub.testkit.LatencyDistribution;
+
+import java.io.File;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadInfo;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * End-to-end soak harness: application threads log a realistic {@link LogCorpus} through
+ * Logback into {@link HttpLogAppender} at a fixed total rate for minutes at a time, while the
+ * appender ships to an in-process {@link IngestServer}. Unlike the JMH benchmarks, it measures
+ * the whole SDK under sustained load: queue pressure, drop policies, sender CPU and GC.
+ *
+ * <p>After the warmup, it records sustained throughput, drop rate per {@link DropReason},
+ * application-thread {@code append} latency and allocated bytes per call, heap and GC
+ * activity, sender CPU time (the {@code loghub-sender} and {@code HttpClient} threads) and
+ * enqueue-to-ack delivery latency, plus a timeline every {@code sampleInterval}. The report is
+ * written as JSON (keys in a fixed order, so two runs can be diffed) and summarized on stdout.
+ *
+ * <p>Usage:
+ * <pre>{@code
+ * mvn -Pbenchmarks package -DskipTests
+ * java -cp loghub-benchmarks/target/benchmarks.jar io.loghub.benchmarks.soak.SoakRunner \
+ *     --duration=PT10M --rate=20000 --threads=16 --serverLatencyMs=20 \
+ *     --appender.queueCapacity=20000 --appender.sampleRates=INFO=10% --report=soak-0.2.0.json
+ * }</pre>
+ *
+ * <p>Latencies are service times of the {@code append} call; when the target rate cannot be
+ * sustained, the throughput figures show it rather than the percentiles.
+ */
+public final class SoakRunner {
+
+    private static final String APPENDER_NAME = "SOAK";
+
+    private final SoakOptions options;
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+    private final LatencyHistogram appendLatency = new LatencyHistogram();
+    private final LongAdder appended = new LongAdder();
+    private final LongAdder appendAllocatedBytes = new LongAdder();
+    private volatile boolean running = true;
+
+    private HttpLogAppender appender;
+    private IngestServer server;
+    private long peakHeapUsed;
+
+    private SoakRunner(SoakOptions options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        SoakOptions options = SoakOptions.parse(args);
+        Map<String, Object> report = new SoakRunner(options).run();
+
+        ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        mapper.writeValue(new File(options.report), report);
+        System.out.println(summary(report));
+        System.out.println("Report written to " + options.report);
+    }
+
+    private Map<String, Object> run() throws Exception {
+        threads.setThreadAllocatedMemoryEnabled(true);
+        threads.setThreadCpuTimeEnabled(true);
+        LogCorpus corpus = new LogCorpus(options.seed, options.corpusSize,
+                options.exceptionRatio, options.piiRatio, options.meanMdcSize);
+
+        server = IngestServer.builder()
+                .retainEvents(false)
+                .seed(options.seed)
+                .faultPlan(faultPlan())
+                .start();
+        LoggerContext loggerContext = new LoggerContext();
+        loggerContext.setMDCAdapter(new LogbackMDCAdapter());
+        try {
+            appender = startAppender(loggerContext);
+        } catch (Exception e) {
+            server.close();
+            throw e;
+        }
+
+        Instant startedAt = Instant.now();
+        List<Thread> load = new ArrayList<>();
+        for (int i = 0; i < options.threads; i++) {
+            Thread thread = new Thread(new LoadLoop(loggerContext, corpus, i), "soak-app-" + i);
+            thread.setDaemon(true);
+            load.add(thread);
+        }
+        load.forEach(Thread::start);
+
+        sleepSampling(options.warmup);
+        Sample baseline = sample();
+        List<Map<String, Object>> timeline = new ArrayList<>();
+        Sample previous = baseline;
+        long end = baseline.nanos + options.duration.toNanos();
+        while (System.nanoTime() < end) {
+            sleepSampling(Duration.ofNanos(Math.min(options.sampleInterval.toNanos(), end - System.nanoTime())));
+            Sample current = sample();
+            timeline.add(interval(baseline, previous, current));
+            previous = current;
+        }
+        Sample last = previous;
+
+        running = false;
+        for (Thread thread : load) {
+            thread.join();
+        }
+        long drainStart = System.nanoTime();
+        boolean drained = appender.flush(options.drainTimeout)
+                .get(options.drainTimeout.toMillis() + 1_000, TimeUnit.MILLISECONDS);
+        long drainNanos = System.nanoTime() - drainStart;
+        int deliveredAfterDrain = server.getEventCount();
+
+        appender.stop();
+        loggerContext.stop();
+        server.close();
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("sdkVersion", SdkVersion.getVersion());
+        report.put("startedAt", startedAt.toString());
+        report.put("environment", environment());
+        report.put("options", options.toMap());
+        report.putAll(results(baseline, last));
+        Map<String, Object> drain = new LinkedHashMap<>();
+        drain.put("drained", drained);
+        drain.put("drainMillis", TimeUnit.NANOSECONDS.toMillis(drainNanos));
+        drain.put("enqueuedTotal", last.enqueued);
+        drain.put("deliveredTotal", deliveredAfterDrain);
+        report.put("drain", drain);
+        report.put("timeline", timeline);
+        return report;
+    }
+
+    private FaultPlan faultPlan() {
+        FaultPlan.Builder plan = FaultPlan.builder();
+        if (options.serverLatencyMs > 0) {
+            plan.latency(LatencyDistribution.exponential(Duration.ofMillis(options.serverLatencyMs),
+                    Duration.ofMillis(options.serverLatencyMs * 20)));
+        }
+        if (options.serverErrorRate > 0) {
+            plan.errors(options.serverErrorRate, 503);
+        }
+        if (options.serverThrottleRate > 0) {
+            plan.throttling(options.serverThrottleRate, Duration.ofSeconds(1));
+        }
+        return plan.build();
+    }
+
+    private HttpLogAppender startAppender(LoggerContext loggerContext) throws Exception {
+        HttpLogAppender soak = new HttpLogAppender();
+        soak.setContext(loggerContext);
+        soak.setName(APPENDER_NAME);
+        soak.setEndpoint(server.endpoint());
+        soak.setApplication("soak");
+        soak.setEnvironment("soak");
+        soak.setJmxEnabled(false);
+        soak.setShutdownHook(false);
+        for (Map.Entry<String, String> property : options.appender.entrySet()) {
+            configure(soak, property.getKey(), property.getValue());
+        }
+        soak.start();
+        // A rejected property (e.g. a malformed sampleRates) is reported as an ERROR status
+        // while the appender still starts with the default, which would skew the whole run
+        List<Status> errors = new ArrayList<>();
+        for (Status status : loggerContext.getStatusManager().getCopyOfStatusList()) {
+            if (status.getEffectiveLevel() >= Status.ERROR) {
+                errors.add(status);
+            }
+        }
+        if (!soak.isStarted()) {
+            throw new IllegalStateException(describe("HttpLogAppender did not start:",
+                    loggerContext.getStatusManager().getCopyOfStatusList()));
+        }
+        if (!errors.isEmpty()) {
+            soak.stop();
+            throw new IllegalStateException(describe("HttpLogAppender reported errors on start:", errors));
+        }
+
+        Logger root = loggerContext.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(soak);
+        return soak;
+    }
+
+    private static String describe(String header, List<Status> statuses) {
+        StringBuilder message = new StringBuilder(header);
+        for (Status status : statuses) {
+            message.append(System.lineSeparator()).append("  ").append(status.getMessage());
+        }
+        return message.toString();
+    }
+
+    /**
+     * Sets an appender property the way Joran would, through its {@code set} method.
+     */
+    private static void configure(HttpLogAppender appender, String property, String value) throws Exception {
+        String setter = "set" + Character.toUpperCase(property.charAt(0)) + property.substring(1);
+        for (Method method : HttpLogAppender.class.getMethods()) {
+            if (method.getName().equals(setter) && method.getParameterCount() == 1) {
+                Class<?> type = method.getParameterTypes()[0];
+                Object converted = type == int.class ? Integer.valueOf(value)
+                        : type == long.class ? Long.valueOf(value)
+                        : type == double.class ? Double.valueOf(value)
+                        : type == boolean.class ? Boolean.valueOf(value)
+                        : value;
+                method.invoke(appender, converted);
+                return;
+            }
+        }
+        throw new IllegalArgumentException("Unknown appender property: " + property);
+    }
+
+    /**
+     * One application thread. With a target rate, threads share it evenly and pace on an
+     * absolute schedule, so a slow call is followed by faster ones instead of lowering the rate.
+     */
+    private final class LoadLoop implements Runnable {
+        private final LoggerContext loggerContext;
+        private final LogCorpus corpus;
+        private final int index;
+        private final Map<String, Logger> loggers = new HashMap<>();
+
+        LoadLoop(LoggerContext loggerContext, LogCorpus corpus, int index) {
+            this.loggerContext = loggerContext;
+            this.corpus = corpus;
+            this.index = index;
+        }
+
+        @Override
+        public void run() {
+            long interval = options.rate > 0 ? TimeUnit.SECONDS.toNanos(options.threads) / options.rate : 0;
+            long next = System.nanoTime() + (interval * index) / options.threads;
+            long position = index;
+            while (running) {
+                if (interval > 0) {
+                    long wait = next - System.nanoTime();
+                    if (wait > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                    next += interval;
+                }
+                LogCorpus.Entry entry = corpus.get(position);
+                position += options.threads;
+                loggerContext.getMDCAdapter().setContextMap(entry.mdc);
+                Logger logger = loggers.computeIfAbsent(entry.logger, loggerContext::getLogger);
+
+                long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+                long start = System.nanoTime();
+                log(logger, entry);
+                long elapsed = System.nanoTime() - start;
+                long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+                appendLatency.record(elapsed);
+                appendAllocatedBytes.add(allocated);
+                appended.increment();
+            }
+            loggerContext.getMDCAdapter().clear();
+        }
+
+        private void log(Logger logger, LogCorpus.Entry entry) {
+            switch (entry.level.toInt()) {
+                case Level.DEBUG_INT -> logger.debug(entry.template, entry.arguments);
+                case Level.INFO_INT -> logger.info(entry.template, entry.arguments);
+                case Level.WARN_INT -> logger.warn(entry.template, entry.arguments);
+                default -> logger.error(entry.template, entry.arguments);
+            }
+        }
+    }
+
+    /**
+     * Point-in-time readings; results are differences between two samples.
+     */
+    private static final class Sample {
+        long nanos;
+        long appended;
+        long appendAllocatedBytes;
+        long received;
+        long filtered;
+        long enqueued;
+        long sent;
+        long failed;
+        long delivered;
+        int queueDepth;
+        long heapUsed;
+        final Map<DropReason, Long> dropped = new LinkedHashMap<>();
+        Map<String, Long> failedByStatus;
+        LatencyHistogram.Snapshot appendLatency;
+        LatencyHistogram.Snapshot enqueueToAck;
+        LatencyHistogram.Snapshot httpRoundTrip;
+        final Map<String, long[]> gc = new LinkedHashMap<>();
+        Map<Long, Long> allocatedByThread;
+        Map<Long, Long> senderCpuByThread;
+    }
+
+    private Sample sample() {
+        LogHubMetrics metrics = appender.getMetrics();
+        Sample sample = new Sample();
+        sample.nanos = System.nanoTime();
+        sample.appended = appended.sum();
+        sample.appendAllocatedBytes = appendAllocatedBytes.sum();
+        sample.received = metrics.getReceived();
+        sample.filtered = metrics.getFiltered();
+        sample.enqueued = metrics.getEnqueued();
+        sample.sent = metrics.getSent();
+        sample.failed = metrics.getFailed();
+        sample.delivered = server.getEventCount();
+        sample.queueDepth = metrics.getQueueDepth();
+        sample.heapUsed = memory.getHeapMemoryUsage().getUsed();
+        for (DropReason reason : DropReason.values()) {
+            sample.dropped.put(reason, metrics.getDropped(reason));
+        }
+        sample.failedByStatus = metrics.getFailedByStatus();
+        sample.appendLatency = appendLatency.snapshot();
+        sample.enqueueToAck = metrics.getEnqueueToAckHistogram().snapshot();
+        sample.httpRoundTrip = metrics.getHttpRoundTripHistogram().snapshot();
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            sample.gc.put(collector.getName(), new long[]{collector.getCollectionCount(), collector.getCollectionTime()});
+        }
+
+        long[] ids = threads.getAllThreadIds();
+        ThreadInfo[] infos = threads.getThreadInfo(ids);
+        long[] allocated = threads.getThreadAllocatedBytes(ids);
+        sample.allocatedByThread = new HashMap<>();
+        sample.senderCpuByThread = new HashMap<>();
+        for (int i = 0; i < ids.length; i++) {
+            if (infos[i] == null) {
+                continue;
+            }
+            sample.allocatedByThread.put(ids[i], allocated[i]);
+            String name = infos[i].getThreadName();
+            if (name.startsWith("loghub-sender") || name.startsWith("HttpClient-")) {
+                sample.senderCpuByThread.put(ids[i], threads.getThreadCpuTime(ids[i]));
+            }
+        }
+        return sample;
+    }
+
+    private void sleepSampling(Duration duration) throws InterruptedException {
+        long end = System.nanoTime() + duration.toNanos();
+        long remaining;
+        while ((remaining = end - System.nanoTime()) > 0) {
+            peakHeapUsed = Math.max(peakHeapUsed, memory.getHeapMemoryUsage().getUsed());
+            TimeUnit.NANOSECONDS.sleep(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(200)));
+        }
+    }
+
+    private Map<String, Object> results(Sample from, Sample to) {
+        double seconds = (to.nanos - from.nanos) / 1e9;
+        long appendedEvents = to.appended - from.appended;
+        long received = to.received - from.received;
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        Map<String, Object> throughput = new LinkedHashMap<>();
+        throughput.put("seconds", round(seconds));
+        throughput.put("appendedPerSec", round(appendedEvents / seconds));
+        throughput.put("enqueuedPerSec", round((to.enqueued - from.enqueued) / seconds));
+        throughput.put("sentPerSec", round((to.sent - from.sent) / seconds));
+        throughput.put("deliveredPerSec", round((to.delivered - from.delivered) / seconds));
+        results.put("throughput", throughput);
+
+        Map<String, Object> events = new LinkedHashMap<>();
+        events.put("appended", appendedEvents);
+        events.put("received", received);
+        events.put("filtered", to.filtered - from.filtered);
+        events.put("enqueued", to.enqueued - from.enqueued);
+        events.put("sent", to.sent - from.sent);
+        events.put("failed", to.failed - from.failed);
+        events.put("delivered", to.delivered - from.delivered);
+        results.put("events", events);
+
+        Map<String, Object> drops = new LinkedHashMap<>();
+        for (DropReason reason : DropReason.values()) {
+            long count = to.dropped.get(reason) - from.dropped.get(reason);
+            Map<String, Object> drop = new LinkedHashMap<>();
+            drop.put("count", count);
+            drop.put("rate", received > 0 ? round((double) count / received) : 0.0);
+            drops.put(reason.name(), drop);
+        }
+        results.put("drops", drops);
+        results.put("failedByStatus", delta(from.failedByStatus, to.failedByStatus));
+
+        results.put("appendLatencyMicros", latency(to.appendLatency.since(from.appendLatency), 1e3));
+        results.put("deliveryLatencyMillis", latency(to.enqueueToAck.since(from.enqueueToAck), 1e6));
+        results.put("httpRoundTripMillis", latency(to.httpRoundTrip.since(from.httpRoundTrip), 1e6));
+
+        Map<String, Object> memoryResults = new LinkedHashMap<>();
+        memoryResults.put("heapMaxMb", round(memory.getHeapMemoryUsage().getMax() / 1048576.0));
+        memoryResults.put("heapUsedPeakMb", round(peakHeapUsed / 1048576.0));
+        memoryResults.put("heapUsedEndMb", round(to.heapUsed / 1048576.0));
+        memoryResults.put("appendAllocatedBytesPerCall", appendedEvents > 0
+                ? round((double) (to.appendAllocatedBytes - from.appendAllocatedBytes) / appendedEvents) : 0.0);
+        memoryResults.put("allocationRateMbPerSec",
+                round(sumDelta(from.allocatedByThread, to.allocatedByThread) / 1048576.0 / seconds));
+        Map<String, Object> gc = new LinkedHashMap<>();
+        to.gc.forEach((name, counts) -> {
+            long[] before = from.gc.getOrDefault(name, new long[2]);
+            Map<String, Object> collector = new LinkedHashMap<>();
+            collector.put("collections", counts[0] - before[0]);
+            collector.put("timeMillis", counts[1] - before[1]);
+            gc.put(name, collector);
+        });
+        memoryResults.put("gc", gc);
+        results.put("memory", memoryResults);
+
+        long senderCpu = sumDelta(from.senderCpuByThread, to.senderCpuByThread);
+        Map<String, Object> sender = new LinkedHashMap<>();
+        sender.put("cpuMillis", TimeUnit.NANOSECONDS.toMillis(senderCpu));
+        sender.put("cores", round(senderCpu / (seconds * 1e9)));
+        sender.put("cpuMicrosPerSentEvent", to.sent > from.sent ? round(senderCpu / 1e3 / (to.sent - from.sent)) : 0.0);
+        results.put("senderCpu", sender);
+        return results;
+    }
+
+    private Map<String, Object> interval(Sample baseline, Sample from, Sample to) {
+        double seconds = (to.nanos - from.nanos) / 1e9;
+        long dropped = 0;
+        for (DropReason reason : DropReason.values()) {
+            dropped += to.dropped.get(reason) - from.dropped.get(reason);
+        }
+        Map<String, Object> interval = new LinkedHashMap<>();
+        interval.put("atSeconds", round((to.nanos - baseline.nanos) / 1e9));
+        interval.put("appendedPerSec", round((to.appended - from.appended) / seconds));
+        interval.put("enqueuedPerSec", round((to.enqueued - from.enqueued) / seconds));
+        interval.put("droppedPerSec", round(dropped / seconds));
+        interval.put("sentPerSec", round((to.sent - from.sent) / seconds));
+        interval.put("queueDepth", to.queueDepth);
+        interval.put("appendP99Micros", round(to.appendLatency.since(from.appendLatency).getValueAtQuantile(0.99) / 1e3));
+        interval.put("deliveryP99Millis", round(to.enqueueToAck.since(from.enqueueToAck).getValueAtQuantile(0.99) / 1e6));
+        interval.put("heapUsedMb", round(to.heapUsed / 1048576.0));
+        return interval;
+    }
+
+    private static Map<String, Object> latency(LatencyHistogram.Snapshot snapshot, double unit) {
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("count", snapshot.getCount());
+        latency.put("mean", round(snapshot.getMean() / unit));
+        latency.put("p50", round(snapshot.getValueAtQuantile(0.50) / unit));
+        latency.put("p90", round(snapshot.getValueAtQuantile(0.90) / unit));
+        latency.put("p99", round(snapshot.getValueAtQuantile(0.99) / unit));
+        latency.put("p999", round(snapshot.getValueAtQuantile(0.999) / unit));
+        latency.put("max", round(snapshot.getMax() / unit));
+        return latency;
+    }
+
+    private static Map<String, Long> delta(Map<String, Long> from, Map<String, Long> to) {
+        Map<String, Long> delta = new LinkedHashMap<>();
+        to.forEach((key, count) -> {
+            long difference = count - from.getOrDefault(key, 0L);
+            if (difference > 0) {
+                delta.put(key, difference);
+            }
+        });
+        return delta;
+    }
+
+    /**
+     * Per-thread growth between two samples; threads started in between count in full, and
+     * threads that ended in between are missed.
+     */
+    private static long sumDelta(Map<Long, Long> from, Map<Long, Long> to) {
+        long total = 0;
+        for (Map.Entry<Long, Long> entry : to.entrySet()) {
+            if (entry.getValue() >= 0) {
+                total += entry.getValue() - Math.max(0, from.getOrDefault(entry.getKey(), 0L));
+            }
+        }
+        return total;
+    }
+
+    private static Map<String, Object> environment() {
+        Map<String, Object> environment = new LinkedHashMap<>();
+        environment.put("javaVersion", System.getProperty("java.version"));
+        environment.put("vm", System.getProperty("java.vm.name"));
+        environment.put("os", System.getProperty("os.name") + " " + System.getProperty("os.arch"));
+        environment.put("processors", Runtime.getRuntime().availableProcessors());
+        environment.put("gcs", ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .map(GarbageCollectorMXBean::getName).toList());
+        return environment;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String summary(Map<String, Object> report) {
+        Map<String, Object> throughput = (Map<String, Object>) report.get("throughput");
+        Map<String, Object> append = (Map<String, Object>) report.get("appendLatencyMicros");
+        Map<String, Object> delivery = (Map<String, Object>) report.get("deliveryLatencyMillis");
+        Map<String, Object> memoryResults = (Map<String, Object>) report.get("memory");
+        Map<String, Object> sender = (Map<String, Object>) report.get("senderCpu");
+        Map<String, Object> drops = (Map<String, Object>) report.get("drops");
+
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format("appended %s/s, enqueued %s/s, delivered %s/s over %s s%n",
+                throughput.get("appendedPerSec"), throughput.get("enqueuedPerSec"),
+                throughput.get("deliveredPerSec"), throughput.get("seconds")));
+        summary.append(String.format("append us: p50 %s, p99 %s, p999 %s, max %s; %s bytes/call%n",
+                append.get("p50"), append.get("p99"), append.get("p999"), append.get("max"),
+                memoryResults.get("appendAllocatedBytesPerCall")));
+        summary.append(String.format("delivery ms: p50 %s, p99 %s, p999 %s%n",
+                delivery.get("p50"), delivery.get("p99"), delivery.get("p999")));
+        summary.append(String.format("heap peak %s MB, allocation %s MB/s, sender CPU %s cores%n",
+                memoryResults.get("heapUsedPeakMb"), memoryResults.get("allocationRateMbPerSec"), sender.get("cores")));
+        summary.append("drops:");
+        drops.forEach((reason, drop) -> summary.append(' ').append(reason).append('=')
+                .append(((Map<String, Object>) drop).get("count")));
+        return summary.toString();
+    }
+}
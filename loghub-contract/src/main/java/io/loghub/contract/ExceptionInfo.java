@@ -0,0 +1,213 @@
+package io.loghub.contract;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Model representing a structured exception attached to a log event.
+ *
+ * <p>JSON contract:
+ * <pre>{@code
+ * {
+ *   "className": "string",
+ *   "message": "string (optional)",
+ *   "fingerprint": "string (optional, top-level exception only)",
+ *   "frames": ["com.example.Service.call(Service.java:42)", "..."] (optional),
+ *   "framesOmitted": 0,
+ *   "cause": { ...same structure... } (optional)
+ * }
+ * }</pre>
+ *
+ * <p>The fingerprint identifies the stack shape (exception classes and frames of the whole
+ * cause chain, without messages). To save bandwidth, frames may be omitted for an exception
+ * whose fingerprint was shipped recently; consumers resolve them by fingerprint.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public final class ExceptionInfo {
+
+    @JsonProperty("className")
+    private final String className;
+
+    @JsonProperty("message")
+    private final String message;
+
+    @JsonProperty("fingerprint")
+    private final String fingerprint;
+
+    @JsonProperty("frames")
+    private final List<String> frames;
+
+    @JsonProperty("framesOmitted")
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    private final int framesOmitted;
+
+    @JsonProperty("cause")
+    private final ExceptionInfo cause;
+
+    /**
+     * Default constructor for JSON deserialization.
+     */
+    public ExceptionInfo() {
+        this.className = null;
+        this.message = null;
+        this.fingerprint = null;
+        this.frames = null;
+        this.framesOmitted = 0;
+        this.cause = null;
+    }
+
+    private ExceptionInfo(String className, String message, String fingerprint,
+                          List<String> frames, int framesOmitted, ExceptionInfo cause) {
+        this.className = className;
+        this.message = message;
+        this.fingerprint = fingerprint;
+        this.frames = frames;
+        this.framesOmitted = framesOmitted;
+        this.cause = cause;
+    }
+
+    /**
+     * Gets the fully qualified exception class name.
+     *
+     * @return the class name
+     */
+    public String getClassName() {
+        return className;
+    }
+
+    /**
+     * Gets the exception message (optional).
+     *
+     * @return the message, or null if not present
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Gets the stack shape fingerprint (optional).
+     *
+     * @return the fingerprint, or null if not present
+     */
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Gets the stack frames, outermost call last (optional).
+     *
+     * @return the frames, or null if omitted
+     */
+    public List<String> getFrames() {
+        return frames;
+    }
+
+    /**
+     * Gets the number of frames dropped by truncation.
+     *
+     * @return the number of omitted frames
+     */
+    public int getFramesOmitted() {
+        return framesOmitted;
+    }
+
+    /**
+     * Gets the cause (optional).
+     *
+     * @return the cause, or null if not present
+     */
+    public ExceptionInfo getCause() {
+        return cause;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ExceptionInfo that = (ExceptionInfo) o;
+        return framesOmitted == that.framesOmitted &&
+               Objects.equals(className, that.className) &&
+               Objects.equals(message, that.message) &&
+               Objects.equals(fingerprint, that.fingerprint) &&
+               Objects.equals(frames, that.frames) &&
+               Objects.equals(cause, that.cause);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(className, message, fingerprint, frames, framesOmitted, cause);
+    }
+
+    @Override
+    public String toString() {
+        return "ExceptionInfo{" +
+               "className='" + className + '\'' +
+               ", message='" + message + '\'' +
+               ", fingerprint='" + fingerprint + '\'' +
+               ", frames=" + (frames != null ? frames.size() : 0) +
+               ", framesOmitted=" + framesOmitted +
+               ", cause=" + cause +
+               '}';
+    }
+
+    /**
+     * Creates a new Builder instance.
+     *
+     * @return a new Builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder for creating ExceptionInfo instances.
+     */
+    public static final class Builder {
+        private String className;
+        private String message;
+        private String fingerprint;
+        private List<String> frames;
+        private int framesOmitted;
+        private ExceptionInfo cause;
+
+        private Builder() {
+        }
+
+        public Builder className(String className) {
+            this.className = className;
+            return this;
+        }
+
+        public Builder message(String message) {
+            this.message = message;
+            return this;
+        }
+
+        public Builder fingerprint(String fingerprint) {
+            this.fingerprint = fingerprint;
+            return this;
+        }
+
+        public Builder frames(List<String> frames) {
+            this.frames = frames;
+            return this;
+        }
+
+        public Builder framesOmitted(int framesOmitted) {
+            this.framesOmitted = framesOmitted;
+            return this;
+        }
+
+        public Builder cause(ExceptionInfo cause) {
+            this.cause = cause;
+            return this;
+        }
+
+        public ExceptionInfo build() {
+            return new ExceptionInfo(className, message, fingerprint, frames, framesOmitted, cause);
+        }
+    }
+}
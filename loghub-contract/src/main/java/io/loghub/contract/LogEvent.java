@@ -1,12 +1,18 @@
 package io.loghub.contract;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.time.Instant;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * Model representing a structured log event.
@@ -21,9 +27,14 @@ import java.util.Objects;
  *   "message": "string",
  *   "timestamp": "ISO-8601 UTC",
  *   "traceId": "string (optional)",
+ *   "templateId": "string (optional)",
+ *   "arguments": ["value", 42, "..."] (optional),
+ *   "exception": { see {@link ExceptionInfo} } (optional),
  *   "metadata": {
  *     "key": "value",
- *     "...": "other key-value pairs"
+ *     "count": 42,
+ *     "ratio": 0.5,
+ *     "enabled": true
  *   },
  *   "sdk": {
  *     "language": "string",
@@ -32,7 +43,14 @@ import java.util.Objects;
  * }
  * }</pre>
  *
- * <p>The metadata field is a simple key-value map for additional context.
+ * <p>The metadata field is a key-value map for additional context. Values are strings,
+ * numbers or booleans and are serialized as the corresponding native JSON types.
+ * {@link #getTypedMetadata()} exposes the typed values, while {@link #getMetadata()}
+ * remains a string view for existing consumers.
+ *
+ * <p>When {@code templateId} is present, {@code message} holds the unformatted message template
+ * (with {@code {}} placeholders) and {@code arguments} holds the values to substitute, in order.
+ * The template ID is a stable hash of the template and can be used to group events.
  */
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public final class LogEvent {
@@ -56,8 +74,17 @@ public final class LogEvent {
     @JsonProperty("traceId")
     private final String traceId;
 
+    @JsonProperty("templateId")
+    private final String templateId;
+
+    @JsonProperty("arguments")
+    private final List<Object> arguments;
+
+    @JsonProperty("exception")
+    private final ExceptionInfo exception;
+
     @JsonProperty("metadata")
-    private final Map<String, String> metadata;
+    private final Map<String, Object> metadata;
 
     @JsonProperty("sdk")
     private final SdkInfo sdk;
@@ -72,6 +99,9 @@ public final class LogEvent {
         this.message = null;
         this.timestamp = null;
         this.traceId = null;
+        this.templateId = null;
+        this.arguments = null;
+        this.exception = null;
         this.metadata = null;
         this.sdk = null;
     }
@@ -81,13 +111,17 @@ public final class LogEvent {
      */
     private LogEvent(String application, String environment, LogLevel level,
                      String message, Instant timestamp, String traceId,
-                     Map<String, String> metadata, SdkInfo sdk) {
+                     String templateId, List<Object> arguments, ExceptionInfo exception,
+                     Map<String, Object> metadata, SdkInfo sdk) {
         this.application = application;
         this.environment = environment;
         this.level = level;
         this.message = message;
         this.timestamp = timestamp;
         this.traceId = traceId;
+        this.templateId = templateId;
+        this.arguments = arguments;
+        this.exception = exception;
         this.metadata = metadata;
         this.sdk = sdk;
     }
@@ -146,12 +180,54 @@ public final class LogEvent {
         return traceId;
     }
 
+    /**
+     * Gets the stable ID of the message template (optional).
+     * When present, {@link #getMessage()} is the unformatted template.
+     *
+     * @return the template ID, or null if the message is already formatted
+     */
+    public String getTemplateId() {
+        return templateId;
+    }
+
+    /**
+     * Gets the arguments to substitute into the message template (optional).
+     *
+     * @return the template arguments, or null if the message is already formatted
+     */
+    public List<Object> getArguments() {
+        return arguments;
+    }
+
+    /**
+     * Gets the structured exception (optional).
+     *
+     * @return the exception, or null if not present or not captured
+     */
+    public ExceptionInfo getException() {
+        return exception;
+    }
+
     /**
      * Gets additional metadata as simple key-value pairs (optional).
+     * Typed values are presented in their string form; use {@link #getTypedMetadata()}
+     * to read numbers and booleans without conversion.
      *
-     * @return the metadata map, or null if not present
+     * @return a read-only string view of the metadata, or null if not present
      */
+    @JsonIgnore
     public Map<String, String> getMetadata() {
+        return metadata != null ? new StringValueView(metadata) : null;
+    }
+
+    /**
+     * Gets additional metadata with typed values (optional).
+     * Values are {@link String}, {@link Number} or {@link Boolean} instances.
+     *
+     * @return the typed metadata map, or null if not present
+     */
+    @JsonIgnore
+    public Map<String, Object> getTypedMetadata() {
         return metadata;
     }
 
@@ -175,6 +251,9 @@ public final class LogEvent {
                Objects.equals(message, logEvent.message) &&
                Objects.equals(timestamp, logEvent.timestamp) &&
                Objects.equals(traceId, logEvent.traceId) &&
+               Objects.equals(templateId, logEvent.templateId) &&
+               Objects.equals(arguments, logEvent.arguments) &&
+               Objects.equals(exception, logEvent.exception) &&
                Objects.equals(metadata, logEvent.metadata) &&
                Objects.equals(sdk, logEvent.sdk);
     }
@@ -182,7 +261,7 @@ public final class LogEvent {
     @Override
     public int hashCode() {
         return Objects.hash(application, environment, level, message,
-                timestamp, traceId, metadata, sdk);
+                timestamp, traceId, templateId, arguments, exception, metadata, sdk);
     }
 
     @Override
@@ -194,6 +273,9 @@ public final class LogEvent {
                ", message='" + message + '\'' +
                ", timestamp=" + timestamp +
                ", traceId='" + traceId + '\'' +
+               ", templateId='" + templateId + '\'' +
+               ", arguments=" + arguments +
+               ", exception=" + exception +
                ", metadata=" + metadata +
                ", sdk=" + sdk +
                '}';
@@ -218,7 +300,10 @@ public final class LogEvent {
         private String message;
         private Instant timestamp;
         private String traceId;
-        private Map<String, String> metadata;
+        private String templateId;
+        private List<Object> arguments;
+        private ExceptionInfo exception;
+        private Map<String, Object> metadata;
         private SdkInfo sdk;
 
         private Builder() {
@@ -254,8 +339,36 @@ public final class LogEvent {
             return this;
         }
 
+        public Builder templateId(String templateId) {
+            this.templateId = templateId;
+            return this;
+        }
+
+        public Builder arguments(List<Object> arguments) {
+            this.arguments = arguments;
+            return this;
+        }
+
+        public Builder exception(ExceptionInfo exception) {
+            this.exception = exception;
+            return this;
+        }
+
         public Builder metadata(Map<String, String> metadata) {
-            this.metadata = metadata;
+            return typedMetadata(metadata);
+        }
+
+        /**
+         * Sets metadata with typed values. Values must be {@link String},
+         * {@link Number} or {@link Boolean} instances.
+         *
+         * @param metadata the typed metadata
+         * @return this builder
+         */
+        @SuppressWarnings("unchecked")
+        public Builder typedMetadata(Map<String, ?> metadata) {
+            // The map is only ever read, so widening the value type is safe
+            this.metadata = (Map<String, Object>) metadata;
             return this;
         }
 
@@ -266,8 +379,63 @@ public final class LogEvent {
 
         public LogEvent build() {
             return new LogEvent(application, environment, level, message,
-                    timestamp, traceId, metadata, sdk);
+                    timestamp, traceId, templateId, arguments, exception, metadata, sdk);
         }
     }
-}
 
+    /**
+     * Read-only view presenting typed metadata values as strings.
+     */
+    private static final class StringValueView extends AbstractMap<String, String> {
+        private final Map<String, Object> typed;
+
+        StringValueView(Map<String, Object> typed) {
+            this.typed = typed;
+        }
+
+        @Override
+        public int size() {
+            return typed.size();
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return typed.containsKey(key);
+        }
+
+        @Override
+        public String get(Object key) {
+            Object value = typed.get(key);
+            return value != null ? value.toString() : null;
+        }
+
+        @Override
+        public Set<Entry<String, String>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, String>> iterator() {
+                    Iterator<Entry<String, Object>> it = typed.entrySet().iterator();
+                    return new Iterator<>() {
+                        @Override
+                        public boolean hasNext() {
+                            return it.hasNext();
+                        }
+
+                        @Override
+                        public Entry<String, String> next() {
+                            Entry<String, Object> entry = it.next();
+                            Object value = entry.getValue();
+                            return new SimpleImmutableEntry<>(entry.getKey(),
+                                    value != null ? value.toString() : null);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return typed.size();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package io.loghub.contract;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ExceptionInfo model.
+ */
+class ExceptionInfoTest {
+
+    @Test
+    void shouldCreateWithBuilder() {
+        ExceptionInfo cause = ExceptionInfo.builder()
+                .className("java.io.IOException")
+                .message("timeout")
+                .build();
+
+        ExceptionInfo info = ExceptionInfo.builder()
+                .className("java.lang.IllegalStateException")
+                .message("failed")
+                .fingerprint("0123456789abcdef")
+                .frames(List.of("com.example.Service.call(Service.java:42)"))
+                .framesOmitted(3)
+                .cause(cause)
+                .build();
+
+        assertEquals("java.lang.IllegalStateException", info.getClassName());
+        assertEquals("failed", info.getMessage());
+        assertEquals("0123456789abcdef", info.getFingerprint());
+        assertEquals(1, info.getFrames().size());
+        assertEquals(3, info.getFramesOmitted());
+        assertEquals(cause, info.getCause());
+    }
+
+    @Test
+    void shouldBeEqualForSameValues() {
+        ExceptionInfo first = ExceptionInfo.builder().className("A").fingerprint("f").build();
+        ExceptionInfo second = ExceptionInfo.builder().className("A").fingerprint("f").build();
+
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+        assertNotEquals(first, ExceptionInfo.builder().className("B").fingerprint("f").build());
+    }
+
+    @Test
+    void shouldHaveToString() {
+        ExceptionInfo info = ExceptionInfo.builder().className("java.lang.RuntimeException").build();
+
+        assertTrue(info.toString().contains("java.lang.RuntimeException"));
+    }
+}
@@ -113,5 +113,42 @@ class LogEventTest {
         assertTrue(str.contains("WARN"));
         assertTrue(str.contains("Warning message"));
     }
-}
 
+    @Test
+    void shouldExposeTypedMetadataWithStringView() {
+        Map<String, Object> metadata = Map.of(
+                "userId", "u-1",
+                "count", 42L,
+                "ratio", 0.5,
+                "enabled", true
+        );
+
+        LogEvent event = LogEvent.builder()
+                .application("app")
+                .level(LogLevel.INFO)
+                .typedMetadata(metadata)
+                .build();
+
+        assertEquals(42L, event.getTypedMetadata().get("count"));
+        assertEquals(true, event.getTypedMetadata().get("enabled"));
+        assertEquals("42", event.getMetadata().get("count"));
+        assertEquals("0.5", event.getMetadata().get("ratio"));
+        assertEquals("true", event.getMetadata().get("enabled"));
+        assertEquals("u-1", event.getMetadata().get("userId"));
+        assertEquals(4, event.getMetadata().size());
+        assertThrows(UnsupportedOperationException.class, () -> event.getMetadata().put("k", "v"));
+    }
+
+    @Test
+    void shouldCarryTemplateFields() {
+        LogEvent event = LogEvent.builder()
+                .message("Order {} processed")
+                .templateId("0123456789abcdef")
+                .arguments(java.util.List.of("ORD-1"))
+                .build();
+
+        assertEquals("0123456789abcdef", event.getTemplateId());
+        assertEquals(java.util.List.of("ORD-1"), event.getArguments());
+        assertTrue(event.toString().contains("0123456789abcdef"));
+    }
+}
@@ -2,13 +2,38 @@ package io.loghub.logger.appender;
 
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.ContextBase;
 import ch.qos.logback.core.UnsynchronizedAppenderBase;
-import io.loghub.contract.LogEvent;
 import io.loghub.logger.config.LogHubConfig;
 import io.loghub.logger.converter.LogEventConverter;
+import io.loghub.logger.filter.EarlyRejection;
+import io.loghub.logger.filter.LogHubTurboFilter;
+import io.loghub.logger.filter.LoggerOverrides;
+import io.loghub.logger.filter.LoggerRateLimiter;
+import io.loghub.logger.filter.RepeatedMessageFilter;
+import io.loghub.logger.filter.ScopeBuffer;
+import io.loghub.logger.filter.TraceSampler;
 import io.loghub.logger.http.LogHubHttpClient;
+import io.loghub.logger.jfr.LogHubConvertEvent;
+import io.loghub.logger.metrics.DropReason;
+import io.loghub.logger.metrics.FailureReporter;
+import io.loghub.logger.metrics.HealthReporter;
+import io.loghub.logger.metrics.LatencyHistogram;
+import io.loghub.logger.metrics.LogHubMetrics;
+import io.loghub.logger.queue.CompactLogEvent;
 import io.loghub.logger.queue.LogEventQueue;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
 /**
  * Logback Appender that sends structured logs to LogHub API.
  *
@@ -19,6 +44,11 @@ import io.loghub.logger.queue.LogEventQueue;
  *   <li>Never throws exceptions that could impact the application</li>
  *   <li>Enriches logs with application metadata</li>
  *   <li>Supports API Key authentication via X-API-KEY header</li>
+ *   <li>Publishes pipeline metrics as the MBean {@code io.loghub:type=HttpLogAppender,name=<name>}</li>
+ *   <li>Reports lost events and failed requests to the Logback status manager, aggregated
+ *       and at most once every {@code statusReportIntervalMs}</li>
+ *   <li>Optionally ships its own health every {@code healthIntervalMs} as events of the
+ *       {@value #HEALTH_LOGGER} logger, on a reserved queue lane</li>
  * </ul>
  *
  * <p>Configuration example in logback.xml:
@@ -31,6 +61,23 @@ import io.loghub.logger.queue.LogEventQueue;
  *     <timeoutMs>5000</timeoutMs>
  *     <queueCapacity>1000</queueCapacity>
  *     <minimumLevel>INFO</minimumLevel>
+ *     <drainTimeoutMs>5000</drainTimeoutMs>
+ *     <shutdownHook>true</shutdownHook>
+ *     <preserveTemplate>false</preserveTemplate>
+ *     <captureStackTrace>true</captureStackTrace>
+ *     <maxStackDepth>50</maxStackDepth>
+ *     <callerLevel>WARN</callerLevel>
+ *     <dedupWindowMs>10000</dedupWindowMs>
+ *     <sampleRates>ERROR=100%, WARN=50%, INFO=5%</sampleRates>
+ *     <loggerOverrides>org.hibernate=WARN, com.example.search=INFO@10%</loggerOverrides>
+ *     <bufferLevel>DEBUG</bufferLevel>
+ *     <bufferMaxAgeMs>60000</bufferMaxAgeMs>
+ *     <rateLimits>com.example.chatty=100, com.example.batch=50/500</rateLimits>
+ *     <rateLimitPerLogger>false</rateLimitPerLogger>
+ *     <jmxEnabled>true</jmxEnabled>
+ *     <latencyWarnThresholdMs>5000</latencyWarnThresholdMs>
+ *     <healthIntervalMs>60000</healthIntervalMs>
+ *     <statusReportIntervalMs>30000</statusReportIntervalMs>
  * </appender>
  * }</pre>
  *
@@ -46,6 +93,11 @@ import io.loghub.logger.queue.LogEventQueue;
  */
 public class HttpLogAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
 
+    /**
+     * Logger name of the health events the appender ships about itself.
+     */
+    public static final String HEALTH_LOGGER = "io.loghub.health";
+
     // Configuration properties (set via logback.xml)
     private String endpoint;
     private String application = "unknown";
@@ -53,15 +105,57 @@ public class HttpLogAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
     private String apiKey;
     private int timeoutMs = 5000;
     private int queueCapacity = 1000;
+    private int priorityQueueCapacity = LogEventQueue.DEFAULT_PRIORITY_CAPACITY;
     private int workerThreads = 1;
+    private long drainTimeoutMs = LogEventQueue.DEFAULT_DRAIN_TIMEOUT.toMillis();
+    private boolean shutdownHook = false;
     private boolean enabled = true;
     private Level minimumLevel = Level.INFO;
+    private boolean preserveTemplate = false;
+    private boolean captureStackTrace = false;
+    private int maxStackDepth = 50;
+    private long stackCacheWindowMs = 60_000L;
+    private int stackCacheSize = 256;
+    private String callerLevel;
+    private String callerLoggers;
+    private double callerSampleRate = 1.0;
+    private int callerMaxDepth = 32;
+    private long dedupWindowMs = 0L;
+    private int dedupTableSize = 1024;
+    private String sampleRates;
+    private String loggerOverrides;
+    private Level bufferLevel;
+    private Level bufferFlushLevel = Level.ERROR;
+    private long bufferMaxBytesPerScope = 64 * 1024L;
+    private long bufferMaxBytesTotal = 4 * 1024 * 1024L;
+    private long bufferMaxAgeMs = ScopeBuffer.DEFAULT_MAX_AGE_MILLIS;
+    private String rateLimits;
+    private boolean rateLimitPerLogger;
+    private long rateLimitReportIntervalMs = 60_000L;
+    private boolean jmxEnabled = true;
+    private long latencyWindowMs = 60_000L;
+    private long latencyWarnThresholdMs = 0L;
+    private long healthIntervalMs = 0L;
+    private long statusReportIntervalMs = 30_000L;
 
     // Internal components (initialized on start)
     private LogHubConfig config;
     private LogHubHttpClient httpClient;
     private LogEventQueue eventQueue;
     private LogEventConverter converter;
+    private RepeatedMessageFilter repeatedMessageFilter;
+    private TraceSampler sampler;
+    private volatile LoggerOverrides overrides;
+    private ScopeBuffer scopeBuffer;
+    private LoggerRateLimiter rateLimiter;
+    private ScheduledExecutorService scheduler;
+    private EarlyRejection earlyRejection;
+    private Thread shutdownHookThread;
+    private ObjectName mbeanName;
+    private volatile boolean latencyOverThreshold;
+    private HealthReporter healthReporter;
+    private FailureReporter failureReporter;
+    private final LogHubMetrics metrics = new LogHubMetrics();
 
     @Override
     public void start() {
@@ -94,15 +188,94 @@ public class HttpLogAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
             config.setQueueCapacity(queueCapacity);
             config.setWorkerThreads(workerThreads);
             config.setEnabled(enabled);
+            config.setPreserveTemplate(preserveTemplate);
+            config.setCaptureStackTrace(captureStackTrace);
+            config.setMaxStackDepth(maxStackDepth);
+            config.setStackCacheWindowMs(stackCacheWindowMs);
+            config.setStackCacheSize(stackCacheSize);
+            config.setCallerLevel(callerLevel);
+            config.setCallerLoggers(callerLoggers);
+            config.setCallerSampleRate(callerSampleRate);
+            config.setCallerMaxDepth(callerMaxDepth);
 
             // Initialize components with API Key
-            httpClient = new LogHubHttpClient(endpoint, timeoutMs, resolvedApiKey);
-            eventQueue = new LogEventQueue(httpClient, queueCapacity, workerThreads);
-            converter = new LogEventConverter(config);
+            httpClient = new LogHubHttpClient(endpoint, timeoutMs, resolvedApiKey, metrics);
+            eventQueue = new LogEventQueue(httpClient, queueCapacity, priorityQueueCapacity, workerThreads, metrics);
+            converter = new LogEventConverter(config, true, metrics);
+
+            // Optional pre-conversion stages
+            if (dedupWindowMs > 0) {
+                repeatedMessageFilter = new RepeatedMessageFilter(
+                        dedupWindowMs, dedupTableSize, this::enqueueRepeatSummary);
+                scheduler().scheduleWithFixedDelay(
+                        () -> repeatedMessageFilter.flushExpired(System.currentTimeMillis()),
+                        dedupWindowMs, dedupWindowMs, TimeUnit.MILLISECONDS);
+            }
+            try {
+                overrides = new LoggerOverrides(minimumLevel, loggerOverrides);
+            } catch (IllegalArgumentException e) {
+                addError("Ignoring invalid LogHub logger overrides: " + e.getMessage());
+                overrides = new LoggerOverrides(minimumLevel, null);
+            }
+            if (bufferLevel != null && !bufferLevel.isGreaterOrEqual(minimumLevel)) {
+                long maxAge = Math.max(1000L, bufferMaxAgeMs);
+                scopeBuffer = new ScopeBuffer(bufferMaxBytesPerScope, bufferMaxBytesTotal, maxAge);
+                // Scopes of threads that never clear their context (or died) only expire here
+                scheduler().scheduleWithFixedDelay(
+                        () -> scopeBuffer.evictExpired(System.currentTimeMillis()),
+                        maxAge, maxAge, TimeUnit.MILLISECONDS);
+            }
+            if (sampleRates != null && !sampleRates.isBlank()) {
+                try {
+                    sampler = TraceSampler.parse(sampleRates);
+                } catch (IllegalArgumentException e) {
+                    addError("Ignoring invalid LogHub sample rates: " + e.getMessage());
+                }
+            }
+            if (rateLimits != null && !rateLimits.isBlank()) {
+                try {
+                    rateLimiter = LoggerRateLimiter.parse(rateLimits, rateLimitPerLogger);
+                    long interval = Math.max(1000L, rateLimitReportIntervalMs);
+                    scheduler().scheduleWithFixedDelay(
+                            this::reportRateLimited, interval, interval, TimeUnit.MILLISECONDS);
+                } catch (IllegalArgumentException e) {
+                    addError("Ignoring invalid LogHub rate limits: " + e.getMessage());
+                }
+            }
+
+            if (latencyWindowMs > 0) {
+                long window = Math.max(1000L, latencyWindowMs);
+                scheduler().scheduleWithFixedDelay(
+                        this::checkDeliveryLatency, window, window, TimeUnit.MILLISECONDS);
+            }
+            if (healthIntervalMs > 0) {
+                long interval = Math.max(1000L, healthIntervalMs);
+                healthReporter = new HealthReporter(metrics);
+                scheduler().scheduleWithFixedDelay(this::reportHealth, interval, interval, TimeUnit.MILLISECONDS);
+            }
+            if (statusReportIntervalMs > 0) {
+                long interval = Math.max(1000L, statusReportIntervalMs);
+                failureReporter = new FailureReporter(metrics);
+                scheduler().scheduleWithFixedDelay(this::reportFailures, interval, interval, TimeUnit.MILLISECONDS);
+            }
 
             // Start the async queue
             eventQueue.start();
 
+            if (shutdownHook) {
+                registerShutdownHook();
+            }
+            if (jmxEnabled) {
+                registerMBean();
+            }
+
+            // Share the pre-conversion decisions with LogHubTurboFilter
+            earlyRejection = new EarlyRejection(
+                    overrides, sampler, rateLimiter, scopeBuffer != null ? bufferLevel : null);
+            if (getContext() != null) {
+                getContext().putObject(LogHubTurboFilter.DECISIONS_KEY, earlyRejection);
+            }
+
             super.start();
             addInfo("LogHub appender started successfully - endpoint: " + endpoint);
 
@@ -117,8 +290,27 @@ public class HttpLogAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
     @Override
     public void stop() {
         try {
+            if (earlyRejection != null && getContext() instanceof ContextBase contextBase
+                    && contextBase.getObject(LogHubTurboFilter.DECISIONS_KEY) == earlyRejection) {
+                contextBase.removeObject(LogHubTurboFilter.DECISIONS_KEY);
+            }
+            if (scheduler != null) {
+                scheduler.shutdownNow();
+                scheduler = null;
+            }
+            if (rateLimiter != null) {
+                reportRateLimited();
+            }
+            if (repeatedMessageFilter != null) {
+                // Report the suppressed counts of windows still open
+                repeatedMessageFilter.flushAll();
+            }
             if (eventQueue != null) {
-                eventQueue.stop();
+                eventQueue.stop(Duration.ofMillis(Math.max(0L, drainTimeoutMs)));
+            }
+            if (failureReporter != null) {
+                // Report what the last interval and the drain lost
+                reportFailures();
             }
             if (httpClient != null) {
                 httpClient.close();
@@ -126,6 +318,11 @@ public class HttpLogAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
         } catch (Exception e) {
             // Silently ignore shutdown errors
         }
+        removeShutdownHook();
+        if (mbeanName != null) {
+            LogHubMetrics.unregister(mbeanName);
+            mbeanName = null;
+        }
         super.stop();
         addInfo("LogHub appender stopped");
     }
@@ -137,37 +334,267 @@ public class HttpLogAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
         }
 
         // Check if components were initialized successfully
-        if (converter == null || eventQueue == null) {
+        if (converter == null || eventQueue == null || overrides == null) {
             return;
         }
 
+        metrics.recordReceived();
         try {
-            // Filter by minimum level
-            if (!isLevelEnabled(eventObject.getLevel())) {
+            // Filter by the logger's minimum level, holding lower-level detail of the scope in case it fails
+            Level level = eventObject.getLevel();
+            LoggerOverrides.Policy policy = overrides.policyFor(eventObject.getLoggerName());
+            if (!policy.isEnabled(level)) {
+                metrics.recordFiltered();
+                if (scopeBuffer != null && level != null && level.isGreaterOrEqual(bufferLevel)) {
+                    scopeBuffer.buffer(eventObject);
+                }
+                return;
+            }
+
+            // An error in the scope ships the detail that led up to it
+            if (scopeBuffer != null && level.isGreaterOrEqual(bufferFlushLevel)) {
+                flushScopeBuffer();
+            }
+
+            // Keep or drop whole traces before anything else is computed
+            double sampleRate = policy.hasSampleRate()
+                    ? TraceSampler.sample(eventObject, policy.getSampleRate())
+                    : sampler != null ? sampler.sample(eventObject) : 1.0;
+            if (sampleRate == TraceSampler.DROP) {
+                metrics.recordDropped(DropReason.SAMPLED, level);
+                return;
+            }
+
+            // Drop events over their logger's rate limit (cheapest check first)
+            if (rateLimiter != null && !rateLimiter.tryAcquire(eventObject.getLoggerName(), System.nanoTime())) {
+                metrics.recordDropped(DropReason.RATE_LIMITED, level);
+                return;
+            }
+
+            // Collapse repeated messages before paying for conversion
+            if (repeatedMessageFilter != null && !repeatedMessageFilter.accept(eventObject)) {
+                metrics.recordDropped(DropReason.DUPLICATE, level);
                 return;
             }
 
             // Convert and enqueue the event
-            LogEvent logEvent = converter.convert(eventObject);
-            eventQueue.enqueue(logEvent);
+            LogHubConvertEvent jfr = new LogHubConvertEvent();
+            jfr.begin();
+            long convertStart = System.nanoTime();
+            CompactLogEvent logEvent = converter.convertCompact(eventObject, sampleRate);
+            metrics.recordConvert(System.nanoTime() - convertStart);
+            if (jfr.shouldCommit()) {
+                jfr.logger = eventObject.getLoggerName();
+                jfr.level = String.valueOf(level);
+                jfr.commit();
+            }
+            if (!eventQueue.enqueue(logEvent)) {
+                converter.discarded(logEvent);
+            }
 
         } catch (Exception e) {
-            // Never throw - silently ignore errors
+            // Never throw - counted for the periodic status summary
             // Avoid recursive logging by not using addError here
+            metrics.recordDropped(DropReason.ERROR, eventObject.getLevel());
+            metrics.recordFailureCause(e);
         }
     }
 
     /**
-     * Checks if the given level meets the minimum level threshold.
+     * Requests a flush of every event enqueued so far.
      *
-     * @param level the log level to check
-     * @return true if the level should be logged
+     * @param timeout the maximum time to wait
+     * @return a future completing with true once those events are acknowledged by the HTTP
+     *         layer, or with false if the timeout elapsed first (or the appender is not running)
      */
-    private boolean isLevelEnabled(Level level) {
-        if (level == null) {
-            return false;
+    public CompletableFuture<Boolean> flush(Duration timeout) {
+        LogEventQueue queue = eventQueue;
+        if (queue == null) {
+            return CompletableFuture.completedFuture(Boolean.FALSE);
         }
-        return level.isGreaterOrEqual(minimumLevel);
+        return queue.flush(timeout);
+    }
+
+    /**
+     * Gets the pipeline metrics of this appender, which are also published over JMX.
+     *
+     * @return the metrics
+     */
+    public LogHubMetrics getMetrics() {
+        return metrics;
+    }
+
+    private void registerMBean() {
+        try {
+            mbeanName = metrics.register(getName());
+        } catch (JMException | SecurityException e) {
+            addWarn("Could not register LogHub metrics MBean: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Registers a JVM shutdown hook that stops the appender, draining the queue within
+     * the drain deadline.
+     */
+    private void registerShutdownHook() {
+        Thread hook = new Thread(this::stop, "loghub-shutdown");
+        try {
+            Runtime.getRuntime().addShutdownHook(hook);
+            shutdownHookThread = hook;
+        } catch (IllegalStateException | SecurityException e) {
+            addWarn("Could not register LogHub shutdown hook: " + e.getMessage());
+        }
+    }
+
+    private void removeShutdownHook() {
+        Thread hook = shutdownHookThread;
+        shutdownHookThread = null;
+        if (hook != null && hook != Thread.currentThread()) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(hook);
+            } catch (IllegalStateException | SecurityException e) {
+                // Already shutting down - the hook is running or about to
+            }
+        }
+    }
+
+    /**
+     * Converts and enqueues the events buffered in the current scope, in logging order.
+     */
+    private void flushScopeBuffer() {
+        for (ScopeBuffer.Buffered buffered : scopeBuffer.drain()) {
+            CompactLogEvent logEvent = converter.convertBuffered(buffered.getEvent(), buffered.getContext());
+            if (!eventQueue.enqueue(logEvent)) {
+                converter.discarded(logEvent);
+            }
+        }
+    }
+
+    /**
+     * Enqueues the summary of a window of suppressed repeated messages.
+     *
+     * @param summary the summary
+     */
+    private void enqueueRepeatSummary(RepeatedMessageFilter.Summary summary) {
+        Map<String, Object> metadata = new LinkedHashMap<>();
+        metadata.put("repeat.count", summary.getCount());
+        metadata.put("repeat.firstTimestamp", Instant.ofEpochMilli(summary.getFirstTimestamp()).toString());
+        metadata.put("repeat.lastTimestamp", Instant.ofEpochMilli(summary.getLastTimestamp()).toString());
+        if (!summary.getTraceIds().isEmpty()) {
+            metadata.put("repeat.traceIds", String.join(",", summary.getTraceIds()));
+        }
+        eventQueue.enqueue(converter.createSyntheticEvent(
+                summary.getLevel(),
+                summary.getLoggerName(),
+                "Last message repeated " + summary.getCount() + " times: " + summary.getTemplate(),
+                summary.getLastTimestamp(),
+                null,
+                metadata));
+    }
+
+    /**
+     * Enqueues one summary event per logger whose events were dropped by its rate limit
+     * since the previous report.
+     */
+    private void reportRateLimited() {
+        try {
+            long now = System.currentTimeMillis();
+            rateLimiter.drainRejected((loggerName, count, rate) -> {
+                Map<String, Object> metadata = new LinkedHashMap<>();
+                metadata.put("rateLimit.dropped", count);
+                metadata.put("rateLimit.ratePerSecond", rate);
+                eventQueue.enqueue(converter.createSyntheticEvent(
+                        Level.WARN,
+                        loggerName,
+                        "Rate limit dropped " + count + " events (limit " + rate + "/s)",
+                        now,
+                        null,
+                        metadata));
+            });
+        } catch (Exception e) {
+            // Never throw - the report is best effort
+        }
+    }
+
+    /**
+     * Ships a health summary of the last interval on the queue's reserved lane, so it gets
+     * through even when application events are being dropped. It is a WARN when the interval
+     * had drops or failed requests, an INFO otherwise.
+     */
+    void reportHealth() {
+        try {
+            Map<String, Object> health = healthReporter.report();
+            long dropped = (Long) health.get("health.dropped");
+            long failed = (Long) health.get("health.failed");
+            eventQueue.enqueueReserved(converter.createSyntheticEvent(
+                    dropped > 0 || failed > 0 ? Level.WARN : Level.INFO,
+                    HEALTH_LOGGER,
+                    "LogHub SDK health: queue " + health.get("health.queueDepth")
+                            + ", dropped " + dropped + ", failed " + failed,
+                    System.currentTimeMillis(),
+                    null,
+                    health));
+        } catch (Exception e) {
+            // Never throw - the report is best effort
+        }
+    }
+
+    /**
+     * Adds a WARN status summarizing the events lost and requests failed since the previous
+     * summary, if any. Status messages go to Logback's status manager, never through
+     * appenders, so reporting cannot loop back into this one.
+     */
+    void reportFailures() {
+        try {
+            String summary = failureReporter.summarize();
+            if (summary != null) {
+                addWarn(summary);
+            }
+        } catch (Exception e) {
+            // Never throw - the report is best effort
+        }
+    }
+
+    /**
+     * Closes the current delivery latency window and reports, through the status manager,
+     * when its p99 enqueue-to-ack latency crosses the warning threshold (and when it recovers).
+     */
+    void checkDeliveryLatency() {
+        try {
+            LatencyHistogram.Snapshot window = metrics.rollDeliveryLatency();
+            if (latencyWarnThresholdMs <= 0 || window.getCount() == 0) {
+                return;
+            }
+            double p99Ms = window.getValueAtQuantile(0.99) / 1_000_000.0;
+            boolean over = p99Ms > latencyWarnThresholdMs;
+            if (over && !latencyOverThreshold) {
+                addWarn(String.format("LogHub delivery latency p99 %.1f ms exceeds %d ms (p50 %.1f ms, %d events)",
+                        p99Ms, latencyWarnThresholdMs, window.getValueAtQuantile(0.50) / 1_000_000.0,
+                        window.getCount()));
+            } else if (!over && latencyOverThreshold) {
+                addInfo(String.format("LogHub delivery latency p99 back to %.1f ms (threshold %d ms)",
+                        p99Ms, latencyWarnThresholdMs));
+            }
+            latencyOverThreshold = over;
+        } catch (Exception e) {
+            // Never throw - the check is best effort
+        }
+    }
+
+    /**
+     * Gets the scheduler for periodic appender tasks, creating it on first use.
+     *
+     * @return the scheduler
+     */
+    private ScheduledExecutorService scheduler() {
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "loghub-scheduler");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return scheduler;
     }
 
     /**
@@ -229,16 +656,152 @@ public class HttpLogAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
         this.queueCapacity = queueCapacity;
     }
 
+    public void setPriorityQueueCapacity(int priorityQueueCapacity) {
+        this.priorityQueueCapacity = priorityQueueCapacity;
+    }
+
     public void setWorkerThreads(int workerThreads) {
         this.workerThreads = workerThreads;
     }
 
+    public void setDrainTimeoutMs(long drainTimeoutMs) {
+        this.drainTimeoutMs = drainTimeoutMs;
+    }
+
+    public void setShutdownHook(boolean shutdownHook) {
+        this.shutdownHook = shutdownHook;
+    }
+
     public void setEnabled(boolean enabled) {
         this.enabled = enabled;
     }
 
     public void setMinimumLevel(String level) {
         this.minimumLevel = Level.toLevel(level, Level.INFO);
+        LoggerOverrides current = overrides;
+        if (current != null) {
+            current.setDefaultLevel(minimumLevel);
+        }
+    }
+
+    public void setPreserveTemplate(boolean preserveTemplate) {
+        this.preserveTemplate = preserveTemplate;
+    }
+
+    public void setCaptureStackTrace(boolean captureStackTrace) {
+        this.captureStackTrace = captureStackTrace;
+    }
+
+    public void setMaxStackDepth(int maxStackDepth) {
+        this.maxStackDepth = maxStackDepth;
+    }
+
+    public void setStackCacheWindowMs(long stackCacheWindowMs) {
+        this.stackCacheWindowMs = stackCacheWindowMs;
+    }
+
+    public void setStackCacheSize(int stackCacheSize) {
+        this.stackCacheSize = stackCacheSize;
+    }
+
+    public void setCallerLevel(String callerLevel) {
+        this.callerLevel = callerLevel != null && !callerLevel.isBlank() ? callerLevel.trim() : null;
+    }
+
+    public void setCallerLoggers(String callerLoggers) {
+        this.callerLoggers = callerLoggers;
+    }
+
+    public void setCallerSampleRate(double callerSampleRate) {
+        this.callerSampleRate = Math.max(0.0, Math.min(1.0, callerSampleRate));
+    }
+
+    public void setCallerMaxDepth(int callerMaxDepth) {
+        this.callerMaxDepth = callerMaxDepth;
+    }
+
+    public void setDedupWindowMs(long dedupWindowMs) {
+        this.dedupWindowMs = dedupWindowMs;
+    }
+
+    public void setDedupTableSize(int dedupTableSize) {
+        this.dedupTableSize = dedupTableSize;
+    }
+
+    public void setSampleRates(String sampleRates) {
+        this.sampleRates = sampleRates;
+    }
+
+    /**
+     * Sets the per-logger level and sample rate overrides. When the appender is already
+     * started, the overrides are reloaded in place; a malformed specification keeps the
+     * current overrides.
+     *
+     * @param loggerOverrides the override specification
+     */
+    public void setLoggerOverrides(String loggerOverrides) {
+        LoggerOverrides current = overrides;
+        if (current != null) {
+            try {
+                current.reload(loggerOverrides);
+            } catch (IllegalArgumentException e) {
+                addError("Ignoring invalid LogHub logger overrides: " + e.getMessage());
+                return;
+            }
+        }
+        this.loggerOverrides = loggerOverrides;
+    }
+
+    public void setBufferLevel(String level) {
+        this.bufferLevel = level != null && !level.isBlank() ? Level.toLevel(level, null) : null;
+    }
+
+    public void setBufferFlushLevel(String level) {
+        this.bufferFlushLevel = Level.toLevel(level, Level.ERROR);
+    }
+
+    public void setBufferMaxBytesPerScope(long bufferMaxBytesPerScope) {
+        this.bufferMaxBytesPerScope = bufferMaxBytesPerScope;
+    }
+
+    public void setBufferMaxBytesTotal(long bufferMaxBytesTotal) {
+        this.bufferMaxBytesTotal = bufferMaxBytesTotal;
+    }
+
+    public void setBufferMaxAgeMs(long bufferMaxAgeMs) {
+        this.bufferMaxAgeMs = bufferMaxAgeMs;
+    }
+
+    public void setRateLimits(String rateLimits) {
+        this.rateLimits = rateLimits;
+    }
+
+    public void setRateLimitPerLogger(boolean rateLimitPerLogger) {
+        this.rateLimitPerLogger = rateLimitPerLogger;
+    }
+
+    public void setRateLimitReportIntervalMs(long rateLimitReportIntervalMs) {
+        this.rateLimitReportIntervalMs = rateLimitReportIntervalMs;
+    }
+
+    public void setJmxEnabled(boolean jmxEnabled) {
+        this.jmxEnabled = jmxEnabled;
+    }
+
+    public void setLatencyWindowMs(long latencyWindowMs) {
+        this.latencyWindowMs = latencyWindowMs;
+    }
+
+    public void setLatencyWarnThresholdMs(long latencyWarnThresholdMs) {
+        this.latencyWarnThresholdMs = latencyWarnThresholdMs;
+    }
+
+    public void setHealthIntervalMs(long healthIntervalMs) {
+        this.healthIntervalMs = healthIntervalMs;
+    }
+
+    public void setStatusReportIntervalMs(long statusReportIntervalMs) {
+        this.statusReportIntervalMs = statusReportIntervalMs;
     }
 
     // ========== Configuration Getters ==========
@@ -271,10 +834,22 @@ public class HttpLogAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
         return queueCapacity;
     }
 
+    public int getPriorityQueueCapacity() {
+        return priorityQueueCapacity;
+    }
+
     public int getWorkerThreads() {
         return workerThreads;
     }
 
+    public long getDrainTimeoutMs() {
+        return drainTimeoutMs;
+    }
+
+    public boolean isShutdownHook() {
+        return shutdownHook;
+    }
+
     public boolean isEnabled() {
         return enabled;
     }
@@ -282,5 +857,108 @@ public class HttpLogAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
     public String getMinimumLevel() {
         return minimumLevel.toString();
     }
-}
 
+    public boolean isPreserveTemplate() {
+        return preserveTemplate;
+    }
+
+    public boolean isCaptureStackTrace() {
+        return captureStackTrace;
+    }
+
+    public int getMaxStackDepth() {
+        return maxStackDepth;
+    }
+
+    public long getStackCacheWindowMs() {
+        return stackCacheWindowMs;
+    }
+
+    public int getStackCacheSize() {
+        return stackCacheSize;
+    }
+
+    public String getCallerLevel() {
+        return callerLevel;
+    }
+
+    public String getCallerLoggers() {
+        return callerLoggers;
+    }
+
+    public double getCallerSampleRate() {
+        return callerSampleRate;
+    }
+
+    public int getCallerMaxDepth() {
+        return callerMaxDepth;
+    }
+
+    public long getDedupWindowMs() {
+        return dedupWindowMs;
+    }
+
+    public int getDedupTableSize() {
+        return dedupTableSize;
+    }
+
+    public String getSampleRates() {
+        return sampleRates;
+    }
+
+    public String getLoggerOverrides() {
+        return loggerOverrides;
+    }
+
+    public String getBufferLevel() {
+        return bufferLevel != null ? bufferLevel.toString() : null;
+    }
+
+    public String getBufferFlushLevel() {
+        return bufferFlushLevel.toString();
+    }
+
+    public long getBufferMaxBytesPerScope() {
+        return bufferMaxBytesPerScope;
+    }
+
+    public long getBufferMaxBytesTotal() {
+        return bufferMaxBytesTotal;
+    }
+
+    public long getBufferMaxAgeMs() {
+        return bufferMaxAgeMs;
+    }
+
+    public String getRateLimits() {
+        return rateLimits;
+    }
+
+    public boolean isRateLimitPerLogger() {
+        return rateLimitPerLogger;
+    }
+
+    public long getRateLimitReportIntervalMs() {
+        return rateLimitReportIntervalMs;
+    }
+
+    public boolean isJmxEnabled() {
+        return jmxEnabled;
+    }
+
+    public long getLatencyWindowMs() {
+        return latencyWindowMs;
+    }
+
+    public long getLatencyWarnThresholdMs() {
+        return latencyWarnThresholdMs;
+    }
+
+    public long getHealthIntervalMs() {
+        return healthIntervalMs;
+    }
+
+    public long getStatusReportIntervalMs() {
+        return statusReportIntervalMs;
+    }
+}
@@ -21,6 +21,15 @@ public final class LogHubConfig {
     private int queueCapacity = 1000;
     private int workerThreads = 1;
     private boolean enabled = true;
+    private boolean preserveTemplate = false;
+    private boolean captureStackTrace = false;
+    private int maxStackDepth = 50;
+    private long stackCacheWindowMs = 60_000L;
+    private int stackCacheSize = 256;
+    private String callerLevel;
+    private String callerLoggers;
+    private double callerSampleRate = 1.0;
+    private int callerMaxDepth = 32;
 
     private LogHubConfig() {
     }
@@ -98,6 +107,78 @@ public final class LogHubConfig {
         this.enabled = enabled;
     }
 
+    public boolean isPreserveTemplate() {
+        return preserveTemplate;
+    }
+
+    public void setPreserveTemplate(boolean preserveTemplate) {
+        this.preserveTemplate = preserveTemplate;
+    }
+
+    public boolean isCaptureStackTrace() {
+        return captureStackTrace;
+    }
+
+    public void setCaptureStackTrace(boolean captureStackTrace) {
+        this.captureStackTrace = captureStackTrace;
+    }
+
+    public int getMaxStackDepth() {
+        return maxStackDepth;
+    }
+
+    public void setMaxStackDepth(int maxStackDepth) {
+        this.maxStackDepth = maxStackDepth;
+    }
+
+    public long getStackCacheWindowMs() {
+        return stackCacheWindowMs;
+    }
+
+    public void setStackCacheWindowMs(long stackCacheWindowMs) {
+        this.stackCacheWindowMs = stackCacheWindowMs;
+    }
+
+    public int getStackCacheSize() {
+        return stackCacheSize;
+    }
+
+    public void setStackCacheSize(int stackCacheSize) {
+        this.stackCacheSize = stackCacheSize;
+    }
+
+    public String getCallerLevel() {
+        return callerLevel;
+    }
+
+    public void setCallerLevel(String callerLevel) {
+        this.callerLevel = callerLevel;
+    }
+
+    public String getCallerLoggers() {
+        return callerLoggers;
+    }
+
+    public void setCallerLoggers(String callerLoggers) {
+        this.callerLoggers = callerLoggers;
+    }
+
+    public double getCallerSampleRate() {
+        return callerSampleRate;
+    }
+
+    public void setCallerSampleRate(double callerSampleRate) {
+        this.callerSampleRate = callerSampleRate;
+    }
+
+    public int getCallerMaxDepth() {
+        return callerMaxDepth;
+    }
+
+    public void setCallerMaxDepth(int callerMaxDepth) {
+        this.callerMaxDepth = callerMaxDepth;
+    }
+
     @Override
     public String toString() {
         return "LogHubConfig{" +
@@ -109,6 +190,15 @@ public final class LogHubConfig {
                ", queueCapacity=" + queueCapacity +
                ", workerThreads=" + workerThreads +
                ", enabled=" + enabled +
+               ", preserveTemplate=" + preserveTemplate +
+               ", captureStackTrace=" + captureStackTrace +
+               ", maxStackDepth=" + maxStackDepth +
+               ", stackCacheWindowMs=" + stackCacheWindowMs +
+               ", stackCacheSize=" + stackCacheSize +
+               ", callerLevel='" + callerLevel + '\'' +
+               ", callerLoggers='" + callerLoggers + '\'' +
+               ", callerSampleRate=" + callerSampleRate +
+               ", callerMaxDepth=" + callerMaxDepth +
                '}';
     }
 
@@ -3,7 +3,7 @@ package io.loghub.logger.context;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 /**
  * Thread-safe context for storing extra data to be included in log metadata.
@@ -16,7 +16,7 @@ import java.util.concurrent.ConcurrentHashMap;
  * // Add values
  * LogContext.put("userId", "12345");
  * LogContext.put("orderId", "ORD-001");
- * LogContext.put("amount", "150.99");
+ * LogContext.put("amount", 150.99);     // shipped as a JSON number
  *
  * try {
  *     logger.info("Processing order");
@@ -39,11 +39,22 @@ import java.util.concurrent.ConcurrentHashMap;
  *     }
  * }
  * }</pre>
+ *
+ * <p>Values that are expensive to compute can be registered lazily. The supplier only runs
+ * when an event that passed the appender's filters is converted, and its result is reused
+ * by every later event until the key is replaced or the context is cleared:
+ * <pre>{@code
+ * LogContext.putLazy("principal", () -> serialize(currentUser()));
+ * }</pre>
+ *
+ * <p>{@link #clear()} and {@link #removeContext()} also end the current scope: SDK components
+ * that hold per-scope state (such as buffered events) bind it with
+ * {@link #bindScopeResource(Object, ScopeResource)} and are told to release it then.
  */
 public final class LogContext {
 
-    private static final ThreadLocal<Map<String, Object>> CONTEXT =
-            ThreadLocal.withInitial(ConcurrentHashMap::new);
+    private static final ThreadLocal<Frame> CONTEXT =
+            ThreadLocal.withInitial(Frame::new);
 
     private LogContext() {
         // Utility class
@@ -62,26 +73,119 @@ public final class LogContext {
     }
 
     /**
-     * Puts a numeric value in the context (will be converted to string).
+     * Puts a long value in the context.
+     * The value is stored as a primitive and shipped as a JSON number; updating an existing
+     * long entry reuses its storage instead of allocating.
+     *
+     * @param key   the key
+     * @param value the long value
+     */
+    public static void put(String key, long value) {
+        if (key != null) {
+            Frame frame = CONTEXT.get();
+            if (frame.values.get(key) instanceof LongValue cell) {
+                cell.value = value;
+                frame.changed();
+            } else {
+                frame.put(key, new LongValue(value));
+            }
+        }
+    }
+
+    /**
+     * Puts a double value in the context.
+     * The value is stored as a primitive and shipped as a JSON number; updating an existing
+     * double entry reuses its storage instead of allocating.
+     *
+     * @param key   the key
+     * @param value the double value
+     */
+    public static void put(String key, double value) {
+        if (key != null) {
+            Frame frame = CONTEXT.get();
+            if (frame.values.get(key) instanceof DoubleValue cell) {
+                cell.value = value;
+                frame.changed();
+            } else {
+                frame.put(key, new DoubleValue(value));
+            }
+        }
+    }
+
+    /**
+     * Puts a float value in the context.
+     * The value is stored as the double with the same decimal form, so {@code 1.1f} is shipped
+     * as {@code 1.1} rather than its exact binary value {@code 1.100000023841858}.
+     *
+     * @param key   the key
+     * @param value the float value
+     */
+    public static void put(String key, float value) {
+        put(key, Double.parseDouble(Float.toString(value)));
+    }
+
+    /**
+     * Puts a boolean value in the context, shipped as a JSON boolean.
+     *
+     * @param key   the key
+     * @param value the boolean value
+     */
+    public static void put(String key, boolean value) {
+        if (key != null) {
+            CONTEXT.get().put(key, Boolean.valueOf(value));
+        }
+    }
+
+    /**
+     * Puts a numeric value in the context.
+     * Integral types are stored as longs and floating point types as doubles (floats keep
+     * their decimal form, see {@link #put(String, float)}); other
+     * {@link Number} implementations (e.g. {@code BigDecimal}) are stored in their string form
+     * to preserve precision.
      *
      * @param key   the key
      * @param value the numeric value
      */
     public static void put(String key, Number value) {
         if (key != null && value != null) {
-            CONTEXT.get().put(key, value.toString());
+            if (value instanceof Long || value instanceof Integer
+                    || value instanceof Short || value instanceof Byte) {
+                put(key, value.longValue());
+            } else if (value instanceof Double) {
+                put(key, value.doubleValue());
+            } else if (value instanceof Float) {
+                put(key, value.floatValue());
+            } else {
+                CONTEXT.get().put(key, value.toString());
+            }
         }
     }
 
     /**
-     * Puts a boolean value in the context (will be converted to string).
+     * Puts a boolean value in the context, shipped as a JSON boolean.
      *
      * @param key   the key
      * @param value the boolean value
      */
     public static void put(String key, Boolean value) {
         if (key != null && value != null) {
-            CONTEXT.get().put(key, value.toString());
+            put(key, value.booleanValue());
+        }
+    }
+
+    /**
+     * Puts a lazily computed string value in the context.
+     *
+     * <p>The supplier is invoked at most once, the first time the value is read (normally when
+     * a log event is converted), and the result is memoized for the lifetime of the entry.
+     * If the supplier throws or returns null, the entry is omitted from log metadata.
+     *
+     * @param key      the key
+     * @param supplier the supplier of the value
+     */
+    public static void putLazy(String key, Supplier<String> supplier) {
+        if (key != null && supplier != null) {
+            CONTEXT.get().put(key, new LazyValue(supplier));
         }
     }
 
@@ -101,13 +205,25 @@ public final class LogContext {
     }
 
     /**
-     * Gets a value from the context.
+     * Gets a value from the context in its string form.
+     * Lazy values are resolved (and memoized) by this call.
      *
      * @param key the key
      * @return the value, or null if not present
      */
     public static Object get(String key) {
-        return CONTEXT.get().get(key);
+        return toStringValue(resolve(CONTEXT.get().values.get(key)));
+    }
+
+    /**
+     * Gets a typed value from the context.
+     * Lazy values are resolved (and memoized) by this call.
+     *
+     * @param key the key
+     * @return a {@link String}, {@link Long}, {@link Double} or {@link Boolean}, or null if not present
+     */
+    public static Object getTyped(String key) {
+        return resolve(CONTEXT.get().values.get(key));
     }
 
     /**
@@ -122,16 +238,67 @@ public final class LogContext {
     }
 
     /**
-     * Gets all context entries as an unmodifiable map.
+     * Gets all context entries as an unmodifiable map with string values.
+     * Lazy values are resolved (and memoized); entries whose lazy value resolves to null are omitted.
      *
      * @return unmodifiable copy of all context entries
      */
     public static Map<String, Object> getAll() {
-        Map<String, Object> contextMap = CONTEXT.get();
+        return copyOf(CONTEXT.get().values, true);
+    }
+
+    /**
+     * Gets all context entries as an unmodifiable map with typed values
+     * ({@link String}, {@link Long}, {@link Double} or {@link Boolean}).
+     * Lazy values are resolved (and memoized); entries whose lazy value resolves to null are omitted.
+     *
+     * <p>The snapshot is cached: the same instance is returned until the context is modified,
+     * so callers may use its identity to detect that nothing changed since a previous call.
+     *
+     * @return unmodifiable snapshot of all context entries
+     */
+    public static Map<String, Object> getAllTyped() {
+        Frame frame = CONTEXT.get();
+        Map<String, Object> snapshot = frame.snapshot;
+        if (snapshot == null) {
+            snapshot = copyOf(frame.values, false);
+            frame.snapshot = snapshot;
+        }
+        return snapshot;
+    }
+
+    /**
+     * Captures the current entries without resolving lazy values, for events whose conversion
+     * is deferred (such as events held by a scope buffer until the scope fails). Lazy values
+     * are only resolved by {@link Snapshot#resolve()}, so a snapshot that is discarded never
+     * runs their suppliers.
+     *
+     * <p>Like {@link #getAllTyped()}, the snapshot is cached until the context is modified.
+     *
+     * @return the unresolved snapshot of all context entries
+     */
+    public static Snapshot snapshot() {
+        Frame frame = CONTEXT.get();
+        Snapshot snapshot = frame.unresolved;
+        if (snapshot == null) {
+            snapshot = new Snapshot(frame.values);
+            frame.unresolved = snapshot;
+        }
+        return snapshot;
+    }
+
+    private static Map<String, Object> copyOf(Map<String, Object> contextMap, boolean asStrings) {
         if (contextMap.isEmpty()) {
             return Collections.emptyMap();
         }
-        return Collections.unmodifiableMap(new HashMap<>(contextMap));
+        Map<String, Object> copy = new HashMap<>(contextMap.size() * 2);
+        for (Map.Entry<String, Object> entry : contextMap.entrySet()) {
+            Object value = resolve(entry.getValue());
+            if (value != null) {
+                copy.put(entry.getKey(), asStrings ? toStringValue(value) : value);
+            }
+        }
+        return Collections.unmodifiableMap(copy);
     }
 
     /**
@@ -140,7 +307,7 @@ public final class LogContext {
      * @return true if no entries in context
      */
     public static boolean isEmpty() {
-        return CONTEXT.get().isEmpty();
+        return CONTEXT.get().values.isEmpty();
     }
 
     /**
@@ -148,7 +315,9 @@ public final class LogContext {
      * Always call this in a finally block to prevent memory leaks.
      */
     public static void clear() {
-        CONTEXT.get().clear();
+        Frame frame = CONTEXT.get();
+        frame.clear();
+        frame.releaseResources();
     }
 
     /**
@@ -156,7 +325,206 @@ public final class LogContext {
      * Use this instead of clear() when the thread will be reused (e.g., thread pools).
      */
     public static void removeContext() {
+        CONTEXT.get().releaseResources();
         CONTEXT.remove();
     }
-}
 
+    /**
+     * Gets the resource an SDK component bound to the current scope.
+     *
+     * @param owner the component owning the resource
+     * @return the resource, or null if none is bound
+     */
+    public static ScopeResource getScopeResource(Object owner) {
+        Map<Object, ScopeResource> resources = CONTEXT.get().resources;
+        return resources != null ? resources.get(owner) : null;
+    }
+
+    /**
+     * Binds a resource to the current scope. It is released when the scope ends
+     * ({@link #clear()} or {@link #removeContext()}), replacing any resource of the same owner.
+     *
+     * @param owner    the component owning the resource
+     * @param resource the resource
+     */
+    public static void bindScopeResource(Object owner, ScopeResource resource) {
+        if (owner != null && resource != null) {
+            Frame frame = CONTEXT.get();
+            if (frame.resources == null) {
+                frame.resources = new HashMap<>(4);
+            }
+            ScopeResource previous = frame.resources.put(owner, resource);
+            if (previous != null && previous != resource) {
+                release(previous);
+            }
+        }
+    }
+
+    private static void release(ScopeResource resource) {
+        try {
+            resource.release();
+        } catch (RuntimeException e) {
+            // Never let a component break the application's cleanup
+        }
+    }
+
+    private static Object resolve(Object value) {
+        if (value instanceof LazyValue lazy) {
+            return lazy.get();
+        }
+        if (value instanceof LongValue cell) {
+            return cell.value;
+        }
+        if (value instanceof DoubleValue cell) {
+            return cell.value;
+        }
+        return value;
+    }
+
+    private static String toStringValue(Object value) {
+        return value != null ? value.toString() : null;
+    }
+
+    /**
+     * Per-thread context storage with a cached typed snapshot.
+     * Every mutation drops the snapshot so that it is rebuilt on the next read.
+     */
+    private static final class Frame {
+        private final Map<String, Object> values = new HashMap<>();
+        private Map<String, Object> snapshot;
+        private Snapshot unresolved;
+        private Map<Object, ScopeResource> resources;
+
+        void put(String key, Object value) {
+            values.put(key, value);
+            changed();
+        }
+
+        void remove(String key) {
+            if (values.remove(key) != null) {
+                changed();
+            }
+        }
+
+        void clear() {
+            if (!values.isEmpty()) {
+                values.clear();
+                changed();
+            }
+        }
+
+        void changed() {
+            snapshot = null;
+            unresolved = null;
+        }
+
+        void releaseResources() {
+            if (resources != null) {
+                Map<Object, ScopeResource> released = resources;
+                resources = null;
+                for (ScopeResource resource : released.values()) {
+                    release(resource);
+                }
+            }
+        }
+    }
+
+    /**
+     * Mutable primitive cell so repeated updates of a long entry do not box.
+     */
+    private static final class LongValue {
+        private long value;
+
+        LongValue(long value) {
+            this.value = value;
+        }
+    }
+
+    /**
+     * Mutable primitive cell so repeated updates of a double entry do not box.
+     */
+    private static final class DoubleValue {
+        private double value;
+
+        DoubleValue(double value) {
+            this.value = value;
+        }
+    }
+
+    /**
+     * Memoizing holder for values registered with {@link #putLazy(String, Supplier)}.
+     * Only the owning thread reads it, so no synchronization is needed.
+     */
+    private static final class LazyValue {
+        private Supplier<String> supplier;
+        private String value;
+
+        LazyValue(Supplier<String> supplier) {
+            this.supplier = supplier;
+        }
+
+        String get() {
+            Supplier<String> pending = supplier;
+            if (pending != null) {
+                supplier = null;
+                try {
+                    value = pending.get();
+                } catch (RuntimeException e) {
+                    // Never let a failing supplier break logging - omit the entry
+                    value = null;
+                }
+            }
+            return value;
+        }
+    }
+
+    /**
+     * Context entries captured by {@link #snapshot()}: primitive values are copied, lazy values
+     * are kept unresolved until {@link #resolve()} is called.
+     */
+    public static final class Snapshot {
+        private final Map<String, Object> values;
+        private Map<String, Object> resolved;
+
+        private Snapshot(Map<String, Object> contextMap) {
+            if (contextMap.isEmpty()) {
+                this.values = Collections.emptyMap();
+                return;
+            }
+            Map<String, Object> copy = new HashMap<>(contextMap.size() * 2);
+            for (Map.Entry<String, Object> entry : contextMap.entrySet()) {
+                Object value = entry.getValue();
+                copy.put(entry.getKey(), value instanceof LazyValue ? value : LogContext.resolve(value));
+            }
+            this.values = copy;
+        }
+
+        /**
+         * Resolves the lazy values (memoized, shared with the live context) and returns the
+         * entries in the form of {@link #getAllTyped()}. Must be called on the thread that took
+         * the snapshot.
+         *
+         * @return unmodifiable map of the typed entries
+         */
+        public Map<String, Object> resolve() {
+            Map<String, Object> result = resolved;
+            if (result == null) {
+                result = copyOf(values, false);
+                resolved = result;
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Per-scope state held by an SDK component, released when the scope ends.
+     */
+    @FunctionalInterface
+    public interface ScopeResource {
+
+        /**
+         * Releases the resource. Called on the thread that ends the scope.
+         */
+        void release();
+    }
+}
@@ -0,0 +1,190 @@
+package io.loghub.logger.converter;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import io.loghub.logger.filter.LoggerNameTrie;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Opt-in capture of the caller location (class, method, file, line) of selected events.
+ *
+ * <p>Only events at or above the configured level, or from the configured logger prefixes,
+ * are considered, optionally sampled. The location is found with a {@link StackWalker}
+ * limited to a bounded number of frames: frames are skipped up to and through the logging
+ * framework (Logback, SLF4J), and the first frame after it is the caller. If Logback already
+ * computed caller data for the event, it is reused instead.
+ *
+ * <p>Locations are never cached: the caller frame is always read from the current stack, so
+ * call sites sharing a logger and template each report their own location. Only the depth at
+ * which the last walk found the caller is remembered. The next walk jumps straight there and
+ * checks that the frame before it belongs to the logging framework and the frame itself does
+ * not; if the check fails (another logger method or appender chain), it scans as above.
+ */
+final class CallerCapture {
+
+    private static final int MAX_CACHED_LOGGERS = 4096;
+    private static final StackWalker WALKER = StackWalker.getInstance();
+
+    private final Level minimumLevel;
+    private final LoggerNameTrie<Boolean> loggers;
+    private final Map<String, Boolean> loggerCache = new ConcurrentHashMap<>();
+    private final double sampleRate;
+    private final int maxDepth;
+    private volatile int callerDepth;
+
+    /**
+     * Creates a caller capture.
+     *
+     * @param minimumLevel the lowest level captured (may be null)
+     * @param loggers      comma or semicolon separated logger prefixes always captured (may be null)
+     * @param sampleRate   the fraction of selected events captured, in [0, 1]
+     * @param maxDepth     the maximum number of stack frames walked
+     */
+    CallerCapture(Level minimumLevel, String loggers, double sampleRate, int maxDepth) {
+        this.minimumLevel = minimumLevel;
+        LoggerNameTrie.Builder<Boolean> builder = LoggerNameTrie.builder();
+        if (loggers != null) {
+            for (String prefix : loggers.split("[,;]")) {
+                if (!prefix.isBlank()) {
+                    builder.put(prefix.trim(), Boolean.TRUE);
+                }
+            }
+        }
+        this.loggers = builder.build();
+        this.sampleRate = sampleRate;
+        this.maxDepth = Math.max(1, maxDepth);
+    }
+
+    /**
+     * Checks whether anything would ever be captured.
+     *
+     * @return true if a level or a logger prefix is configured
+     */
+    boolean isEnabled() {
+        return (minimumLevel != null || !loggers.isEmpty()) && sampleRate > 0.0;
+    }
+
+    /**
+     * Captures the caller location of an event being appended on the logging thread.
+     *
+     * @param event the logging event
+     * @return the location, or null if not selected or not found
+     */
+    Location capture(ILoggingEvent event) {
+        if (!isSelected(event)) {
+            return null;
+        }
+        if (event.hasCallerData()) {
+            StackTraceElement[] callerData = event.getCallerData();
+            return callerData != null && callerData.length > 0 ? Location.of(callerData[0]) : null;
+        }
+        int depth = callerDepth;
+        if (depth > 0) {
+            StackWalker.StackFrame caller = WALKER.walk(frames -> {
+                List<StackWalker.StackFrame> exit = frames.skip(depth - 1).limit(2).toList();
+                return exit.size() == 2 && isLoggingFramework(exit.get(0).getClassName())
+                        && !isLoggingFramework(exit.get(1).getClassName()) ? exit.get(1) : null;
+            });
+            if (caller != null) {
+                return Location.of(caller);
+            }
+        }
+        return walk();
+    }
+
+    private boolean isSelected(ILoggingEvent event) {
+        Level level = event.getLevel();
+        boolean selected = (minimumLevel != null && level != null && level.isGreaterOrEqual(minimumLevel))
+                || isSelectedLogger(event.getLoggerName());
+        return selected && (sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    private boolean isSelectedLogger(String loggerName) {
+        if (loggers.isEmpty() || loggerName == null) {
+            return false;
+        }
+        Boolean cached = loggerCache.get(loggerName);
+        if (cached == null) {
+            cached = loggers.find(loggerName) != null;
+            if (loggerCache.size() < MAX_CACHED_LOGGERS) {
+                loggerCache.put(loggerName, cached);
+            }
+        }
+        return cached;
+    }
+
+    private Location walk() {
+        int[] examined = {0};
+        Optional<StackWalker.StackFrame> caller = WALKER.walk(frames -> {
+            boolean[] inFramework = {false};
+            return frames.limit(maxDepth)
+                    .filter(frame -> {
+                        examined[0]++;
+                        boolean framework = isLoggingFramework(frame.getClassName());
+                        if (framework) {
+                            inFramework[0] = true;
+                        }
+                        return inFramework[0] && !framework;
+                    })
+                    .findFirst();
+        });
+        if (caller.isEmpty()) {
+            return null;
+        }
+        // Index of the caller as seen from capture(), whose stack lacks this method's frame
+        callerDepth = examined[0] - 2;
+        return Location.of(caller.get());
+    }
+
+    private static boolean isLoggingFramework(String className) {
+        return className.startsWith("ch.qos.logback.") || className.startsWith("org.slf4j.");
+    }
+
+    /**
+     * Caller location of a call site.
+     */
+    static final class Location {
+        private final String className;
+        private final String methodName;
+        private final String fileName;
+        private final int lineNumber;
+
+        Location(String className, String methodName, String fileName, int lineNumber) {
+            this.className = className;
+            this.methodName = methodName;
+            this.fileName = fileName;
+            this.lineNumber = lineNumber;
+        }
+
+        static Location of(StackTraceElement element) {
+            return new Location(element.getClassName(), element.getMethodName(),
+                    element.getFileName(), element.getLineNumber());
+        }
+
+        static Location of(StackWalker.StackFrame frame) {
+            return new Location(frame.getClassName(), frame.getMethodName(),
+                    frame.getFileName(), frame.getLineNumber());
+        }
+
+        String className() {
+            return className;
+        }
+
+        String methodName() {
+            return methodName;
+        }
+
+        String fileName() {
+            return fileName;
+        }
+
+        int lineNumber() {
+            return lineNumber;
+        }
+    }
+}
@@ -8,26 +8,43 @@ import io.loghub.contract.LogLevel;
 import io.loghub.contract.SdkInfo;
 import io.loghub.logger.config.LogHubConfig;
 import io.loghub.logger.context.LogContext;
+import io.loghub.logger.jfr.LogHubMaskEvent;
+import io.loghub.logger.metrics.LogHubMetrics;
+import io.loghub.logger.queue.CompactLogEvent;
 import io.loghub.logger.util.SdkVersion;
 import io.loghub.logger.util.SensitiveDataMasker;
+import jdk.jfr.EventType;
 import org.slf4j.MDC;
+import org.slf4j.event.KeyValuePair;
 
-import java.time.Instant;
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
  * Converter that transforms Logback ILoggingEvent to LogHub LogEvent.
  * Handles log enrichment with application context, environment, and SDK info.
  * Automatically masks sensitive data in messages and metadata.
+ *
+ * <p>The merged and masked LogContext/MDC metadata is cached per thread and reused while
+ * both the MDC property map and the LogContext snapshot are the same instances as for the
+ * previous event. Logback's MDC map is copy-on-write and {@link LogContext#getAllTyped()}
+ * returns a cached snapshot, so identity only changes when the content changes.
  */
 public final class LogEventConverter {
 
     private static final String TRACE_ID_KEY = "traceId";
+    private static final String SAMPLE_RATE_KEY = "sample.rate";
+    private static final int MAX_CACHED_TEMPLATES = 2048;
+    private static final EventType MASK_EVENT = EventType.getEventType(LogHubMaskEvent.class);
 
     private final LogHubConfig config;
     private final SdkInfo sdkInfo;
     private final boolean maskSensitiveData;
+    private final MessageTemplates templates = new MessageTemplates(MAX_CACHED_TEMPLATES);
+    private final StackTraceCapture stackTraceCapture;
+    private final CallerCapture callerCapture;
+    private final LogHubMetrics metrics;
+    private final ThreadLocal<MetadataCache> metadataCache = ThreadLocal.withInitial(MetadataCache::new);
 
     /**
      * Creates a new converter with the given configuration.
@@ -46,8 +63,26 @@ public final class LogEventConverter {
      * @param maskSensitiveData whether to mask sensitive data
      */
     public LogEventConverter(LogHubConfig config, boolean maskSensitiveData) {
+        this(config, maskSensitiveData, null);
+    }
+
+    /**
+     * Creates a new converter that records the time spent masking messages and arguments.
+     *
+     * @param config            the LogHub configuration
+     * @param maskSensitiveData whether to mask sensitive data
+     * @param metrics           the metrics to record into (may be null)
+     */
+    public LogEventConverter(LogHubConfig config, boolean maskSensitiveData, LogHubMetrics metrics) {
         this.config = config;
         this.maskSensitiveData = maskSensitiveData;
+        this.metrics = metrics;
+        this.stackTraceCapture = new StackTraceCapture(
+                config.getMaxStackDepth(), config.getStackCacheWindowMs(), config.getStackCacheSize());
+        CallerCapture caller = new CallerCapture(
+                config.getCallerLevel() != null ? Level.toLevel(config.getCallerLevel(), null) : null,
+                config.getCallerLoggers(), config.getCallerSampleRate(), config.getCallerMaxDepth());
+        this.callerCapture = caller.isEnabled() ? caller : null;
         this.sdkInfo = SdkInfo.builder()
                 .language(SdkVersion.getLanguage())
                 .version(SdkVersion.getVersion())
@@ -62,23 +97,255 @@ public final class LogEventConverter {
      * @return the converted LogEvent
      */
     public LogEvent convert(ILoggingEvent loggingEvent) {
-        String message = loggingEvent.getFormattedMessage();
+        return convertCompact(loggingEvent).toLogEvent();
+    }
 
-        // Mask sensitive patterns in message if enabled
-        if (maskSensitiveData) {
-            message = SensitiveDataMasker.mask(message);
-        }
+    /**
+     * Converts a Logback event to the compact form held by {@link io.loghub.logger.queue.LogEventQueue}.
+     * Sensitive data is automatically masked if enabled.
+     *
+     * @param loggingEvent the Logback logging event
+     * @return the converted compact event
+     */
+    public CompactLogEvent convertCompact(ILoggingEvent loggingEvent) {
+        return convertCompact(loggingEvent, 1.0);
+    }
+
+    /**
+     * Converts a Logback event that was kept by sampling. When the rate is below 1, it is
+     * shipped as the {@code sample.rate} metadata so the backend can re-weight counts.
+     *
+     * @param loggingEvent the Logback logging event
+     * @param sampleRate   the rate the event was sampled at, in (0, 1]
+     * @return the converted compact event
+     */
+    public CompactLogEvent convertCompact(ILoggingEvent loggingEvent, double sampleRate) {
+        return convertCompact(loggingEvent, sampleRate, LogContext.getAllTyped(), true);
+    }
+
+    /**
+     * Converts an event that was buffered and is shipped later, using the LogContext snapshot
+     * taken when it was logged instead of the current context. Lazy values of the snapshot are
+     * resolved here, on the thread that took it.
+     *
+     * @param loggingEvent the Logback logging event
+     * @param context      the {@link LogContext#snapshot()} taken at logging time
+     * @return the converted compact event
+     */
+    public CompactLogEvent convertBuffered(ILoggingEvent loggingEvent, LogContext.Snapshot context) {
+        return convertCompact(loggingEvent, 1.0, context.resolve(), false);
+    }
 
-        return LogEvent.builder()
+    private CompactLogEvent convertCompact(ILoggingEvent loggingEvent, double sampleRate,
+                                           Map<String, Object> contextData, boolean onLoggingThread) {
+        CompactLogEvent.Builder builder = CompactLogEvent.builder()
                 .application(config.getApplication())
                 .environment(config.getEnvironment())
                 .level(convertLevel(loggingEvent.getLevel()))
-                .message(message)
-                .timestamp(Instant.ofEpochMilli(loggingEvent.getTimeStamp()))
+                .timestampMillis(loggingEvent.getTimeStamp())
                 .traceId(extractTraceId(loggingEvent))
-                .metadata(extractMetadata(loggingEvent))
-                .sdk(sdkInfo)
-                .build();
+                .sdk(sdkInfo);
+
+        if (config.isPreserveTemplate() && loggingEvent.getMessage() != null) {
+            applyTemplate(loggingEvent, builder);
+        } else {
+            String message = loggingEvent.getFormattedMessage();
+
+            // Mask sensitive patterns in message if enabled
+            if (maskSensitiveData) {
+                message = maskMessage(message);
+            }
+            builder.message(message);
+        }
+
+        extractMetadata(loggingEvent, contextData, builder);
+        if (sampleRate < 1.0) {
+            builder.metadata(SAMPLE_RATE_KEY, sampleRate);
+        }
+        // The stack only shows the caller while the event is appended on the logging thread
+        if (callerCapture != null && onLoggingThread) {
+            addCallerLocation(loggingEvent, builder);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Tells the converter that a converted event was dropped instead of enqueued, so the stack
+     * frames it carried are shipped with the next occurrence of the same exception rather than
+     * after the fingerprint window.
+     *
+     * @param event the event returned by one of the convert methods
+     */
+    public void discarded(CompactLogEvent event) {
+        if (event.getException() != null) {
+            stackTraceCapture.release(event.getException(), event.getTimestampMillis());
+        }
+    }
+
+    /**
+     * Masks a formatted message, recording the time spent in the metrics and as a
+     * {@link LogHubMaskEvent} JFR event. The JFR event is only created while it is enabled.
+     *
+     * @param message the message
+     * @return the masked message
+     */
+    private String maskMessage(String message) {
+        LogHubMaskEvent jfr = beginMaskEvent();
+        long maskStart = metrics != null ? System.nanoTime() : 0L;
+        String masked = SensitiveDataMasker.mask(message);
+        if (metrics != null) {
+            metrics.recordMask(System.nanoTime() - maskStart);
+        }
+        if (jfr != null && jfr.shouldCommit()) {
+            jfr.inputLength = message != null ? message.length() : 0;
+            jfr.masked = masked != null && !masked.equals(message);
+            jfr.commit();
+        }
+        return masked;
+    }
+
+    /**
+     * Creates an event generated by the SDK itself (e.g. summaries of suppressed events).
+     * The message is masked like any application message; metadata values are used as-is.
+     *
+     * @param level           the Logback level
+     * @param loggerName      the logger the event is attributed to
+     * @param message         the message
+     * @param timestampMillis the event time in epoch millis
+     * @param traceId         the trace ID (may be null)
+     * @param metadata        additional typed metadata (may be null)
+     * @return the compact event
+     */
+    public CompactLogEvent createSyntheticEvent(Level level, String loggerName, String message,
+                                                long timestampMillis, String traceId,
+                                                Map<String, ?> metadata) {
+        CompactLogEvent.Builder builder = CompactLogEvent.builder()
+                .application(config.getApplication())
+                .environment(config.getEnvironment())
+                .level(convertLevel(level))
+                .message(maskSensitiveData ? SensitiveDataMasker.mask(message) : message)
+                .timestampMillis(timestampMillis)
+                .traceId(traceId)
+                .sdk(sdkInfo);
+        if (metadata != null) {
+            for (Map.Entry<String, ?> entry : metadata.entrySet()) {
+                builder.metadata(entry.getKey(), entry.getValue());
+            }
+        }
+        builder.canonicalMetadata("logger", loggerName);
+        return builder.build();
+    }
+
+    /**
+     * Adds the caller location of a selected event as {@code caller.*} metadata.
+     *
+     * @param loggingEvent the logging event
+     * @param builder      the builder receiving the metadata
+     */
+    private void addCallerLocation(ILoggingEvent loggingEvent, CompactLogEvent.Builder builder) {
+        CallerCapture.Location location = callerCapture.capture(loggingEvent);
+        if (location != null) {
+            builder.canonicalMetadata("caller.class", location.className());
+            builder.canonicalMetadata("caller.method", location.methodName());
+            builder.canonicalMetadata("caller.file", location.fileName());
+            if (location.lineNumber() >= 0) {
+                builder.metadata("caller.line", (long) location.lineNumber());
+            }
+        }
+    }
+
+    /**
+     * Starts a {@link LogHubMaskEvent}, or returns null without allocating while the event is
+     * disabled (the default).
+     *
+     * @return the started event, or null
+     */
+    private static LogHubMaskEvent beginMaskEvent() {
+        if (!MASK_EVENT.isEnabled()) {
+            return null;
+        }
+        LogHubMaskEvent jfr = new LogHubMaskEvent();
+        jfr.begin();
+        return jfr;
+    }
+
+    /**
+     * Ships the raw message template, its stable ID and the arguments instead of the
+     * formatted message. The template's masking verdict is cached, so only argument
+     * values are masked per event. Without masking, arguments are only stringified when
+     * they are not already a {@link String}, {@link Number} or {@link Boolean}.
+     *
+     * @param loggingEvent the logging event
+     * @param builder      the builder receiving the message fields
+     */
+    private void applyTemplate(ILoggingEvent loggingEvent, CompactLogEvent.Builder builder) {
+        MessageTemplates.Template template = templates.lookup(loggingEvent.getMessage(), maskSensitiveData);
+        builder.message(template.text()).templateId(template.id());
+
+        Object[] arguments = loggingEvent.getArgumentArray();
+        if (arguments != null && arguments.length > 0) {
+            Object[] shipped = new Object[arguments.length];
+            if (!maskSensitiveData) {
+                for (int i = 0; i < arguments.length; i++) {
+                    shipped[i] = plainArgument(arguments[i]);
+                }
+                builder.arguments(shipped);
+                return;
+            }
+            LogHubMaskEvent jfr = beginMaskEvent();
+            long maskStart = metrics != null ? System.nanoTime() : 0L;
+            for (int i = 0; i < arguments.length; i++) {
+                shipped[i] = maskArgument(arguments[i], jfr);
+            }
+            if (metrics != null) {
+                metrics.recordMask(System.nanoTime() - maskStart);
+            }
+            if (jfr != null && jfr.shouldCommit()) {
+                jfr.commit();
+            }
+            builder.arguments(shipped);
+        }
+    }
+
+    /**
+     * Converts a template argument to a JSON-friendly value without masking.
+     *
+     * @param argument the argument
+     * @return a {@link String}, {@link Number} or {@link Boolean}, or null
+     */
+    private static Object plainArgument(Object argument) {
+        if (argument == null || argument instanceof String
+                || argument instanceof Number || argument instanceof Boolean) {
+            return argument;
+        }
+        return String.valueOf(argument);
+    }
+
+    /**
+     * Converts a template argument to a JSON-friendly value, masking its string form.
+     * Numbers and booleans keep their type unless masking changes them.
+     *
+     * @param argument the argument
+     * @param jfr      the mask event of the event's arguments, accumulating length and
+     *                 outcome, or null while the event is disabled
+     * @return a {@link String}, {@link Number} or {@link Boolean}, or null
+     */
+    private Object maskArgument(Object argument, LogHubMaskEvent jfr) {
+        if (argument == null || argument instanceof Boolean) {
+            return argument;
+        }
+        String text = String.valueOf(argument);
+        String masked = SensitiveDataMasker.mask(text);
+        if (jfr != null) {
+            jfr.inputLength += text.length();
+        }
+        if (masked.equals(text)) {
+            return argument instanceof Number ? argument : masked;
+        }
+        if (jfr != null) {
+            jfr.masked = true;
+        }
+        return masked;
     }
 
     /**
@@ -108,6 +375,17 @@ public final class LogEventConverter {
      * @return the trace ID or null
      */
     private String extractTraceId(ILoggingEvent loggingEvent) {
+        return traceIdOf(loggingEvent);
+    }
+
+    /**
+     * Extracts the trace ID of an event without converting it.
+     * Used by pre-conversion stages (deduplication, sampling) that key on the trace.
+     *
+     * @param loggingEvent the logging event
+     * @return the trace ID or null
+     */
+    public static String traceIdOf(ILoggingEvent loggingEvent) {
         Map<String, String> mdcMap = loggingEvent.getMDCPropertyMap();
         if (mdcMap != null && mdcMap.containsKey(TRACE_ID_KEY)) {
             return mdcMap.get(TRACE_ID_KEY);
@@ -117,30 +395,40 @@ public final class LogEventConverter {
     }
 
     /**
-     * Extracts additional metadata from MDC, LogContext, and exception info.
-     * All values are converted to strings and sensitive fields are masked.
+     * Gets the trace ID of the current thread's MDC, for stages that decide before a Logback
+     * event exists.
      *
-     * @param loggingEvent the logging event
-     * @return metadata map with string values
+     * @return the trace ID or null
+     */
+    public static String currentTraceId() {
+        return MDC.get(TRACE_ID_KEY);
+    }
+
+    /**
+     * Merges LogContext and MDC entries (MDC wins on key conflicts), masking sensitive fields.
+     * The traceId MDC entry is excluded since it is shipped as a top-level field.
+     *
+     * @param contextData the typed LogContext snapshot
+     * @param mdcMap      the MDC property map (may be null)
+     * @return a builder holding the merged entries
      */
-    private Map<String, String> extractMetadata(ILoggingEvent loggingEvent) {
-        Map<String, String> metadata = new HashMap<>();
+    private CompactLogEvent.Builder mergeContextMetadata(Map<String, Object> contextData,
+                                                         Map<String, String> mdcMap) {
+        CompactLogEvent.Builder merged = CompactLogEvent.builder();
 
-        // 1. Add LogContext entries (converted to strings, masked if sensitive)
-        Map<String, Object> contextData = LogContext.getAll();
+        // 1. Add LogContext entries (typed, masked if sensitive)
         for (Map.Entry<String, Object> entry : contextData.entrySet()) {
             String key = entry.getKey();
-            String value = String.valueOf(entry.getValue());
+            Object value = entry.getValue();
 
-            if (maskSensitiveData) {
-                value = SensitiveDataMasker.maskIfSensitive(key, value);
+            if (maskSensitiveData && SensitiveDataMasker.isSensitiveField(key)) {
+                value = SensitiveDataMasker.maskValue(String.valueOf(value));
             }
 
-            metadata.put(key, value);
+            merged.metadata(key, value);
         }
 
         // 2. Add MDC entries (excluding traceId, masked if sensitive)
-        Map<String, String> mdcMap = loggingEvent.getMDCPropertyMap();
         if (mdcMap != null && !mdcMap.isEmpty()) {
             for (Map.Entry<String, String> entry : mdcMap.entrySet()) {
                 String key = entry.getKey();
@@ -151,15 +439,80 @@ public final class LogEventConverter {
                         value = SensitiveDataMasker.maskIfSensitive(key, value);
                     }
 
-                    metadata.put(key, value);
+                    merged.metadata(key, value);
                 }
             }
         }
+        return merged;
+    }
+
+    /**
+     * Adds the event's SLF4J key-value pairs and any {@link KeyValuePair} arguments.
+     * Sensitive keys are masked; values other than strings, numbers and booleans are converted
+     * with {@link String#valueOf(Object)} here on the logging thread, so later changes to the
+     * object do not leak into the queued event.
+     *
+     * @param loggingEvent the logging event
+     * @param metadata     the builder receiving the entries
+     */
+    private void addKeyValuePairs(ILoggingEvent loggingEvent, CompactLogEvent.Builder metadata) {
+        List<KeyValuePair> keyValuePairs = loggingEvent.getKeyValuePairs();
+        if (keyValuePairs != null) {
+            for (int i = 0; i < keyValuePairs.size(); i++) {
+                addKeyValuePair(keyValuePairs.get(i), metadata);
+            }
+        }
+
+        Object[] arguments = loggingEvent.getArgumentArray();
+        if (arguments != null) {
+            for (Object argument : arguments) {
+                if (argument instanceof KeyValuePair keyValuePair) {
+                    addKeyValuePair(keyValuePair, metadata);
+                }
+            }
+        }
+    }
+
+    private void addKeyValuePair(KeyValuePair keyValuePair, CompactLogEvent.Builder metadata) {
+        if (keyValuePair == null || keyValuePair.key == null || keyValuePair.value == null) {
+            return;
+        }
+        Object value = keyValuePair.value;
+        if (maskSensitiveData && SensitiveDataMasker.isSensitiveField(keyValuePair.key)) {
+            value = SensitiveDataMasker.maskValue(String.valueOf(value));
+        } else if (!(value instanceof String || value instanceof Number || value instanceof Boolean)) {
+            value = String.valueOf(value);
+        }
+        metadata.metadata(keyValuePair.key, value);
+    }
+
+    /**
+     * Extracts additional metadata from MDC, LogContext, and exception info.
+     * Lazy LogContext values are resolved here, so only events that passed filtering pay for them.
+     * Numeric and boolean LogContext values keep their type; sensitive fields are masked
+     * (and therefore become strings).
+     *
+     * @param loggingEvent the logging event
+     * @param contextData  the typed LogContext snapshot
+     * @param metadata     the builder receiving string, number or boolean values
+     */
+    private void extractMetadata(ILoggingEvent loggingEvent, Map<String, Object> contextData,
+                                 CompactLogEvent.Builder metadata) {
+        // 1-2. Add LogContext and MDC entries, reusing the previous merge when neither changed
+        Map<String, String> mdcMap = loggingEvent.getMDCPropertyMap();
+        MetadataCache cache = metadataCache.get();
+        if (cache.contextData != contextData || cache.mdcMap != mdcMap) {
+            cache.update(contextData, mdcMap, mergeContextMetadata(contextData, mdcMap));
+        }
+        metadata.metadata(cache.keys, cache.values);
 
-        // 3. Add exception info if present (as simple string fields)
+        // 3. Add per-event key-value pairs (SLF4J 2 fluent API and KeyValuePair arguments)
+        addKeyValuePairs(loggingEvent, metadata);
+
+        // 4. Add exception info if present (as simple string fields)
         IThrowableProxy throwableProxy = loggingEvent.getThrowableProxy();
         if (throwableProxy != null) {
-            metadata.put("exception.class", throwableProxy.getClassName());
+            metadata.metadata("exception.class", throwableProxy.getClassName());
             String exceptionMessage = throwableProxy.getMessage();
 
             // Mask sensitive patterns in exception message
@@ -167,14 +520,35 @@ public final class LogEventConverter {
                 exceptionMessage = SensitiveDataMasker.mask(exceptionMessage);
             }
 
-            metadata.put("exception.message", exceptionMessage);
+            metadata.metadata("exception.message", exceptionMessage);
+
+            // Structured stack capture, with frames shipped once per fingerprint window
+            if (config.isCaptureStackTrace()) {
+                metadata.exception(stackTraceCapture.capture(
+                        throwableProxy, maskSensitiveData, loggingEvent.getTimeStamp()));
+            }
         }
 
-        // 4. Add logger context info
-        metadata.put("logger", loggingEvent.getLoggerName());
-        metadata.put("thread", loggingEvent.getThreadName());
+        // 5. Add logger context info
+        metadata.canonicalMetadata("logger", loggingEvent.getLoggerName());
+        metadata.canonicalMetadata("thread", loggingEvent.getThreadName());
+    }
 
-        return metadata;
+    /**
+     * Per-thread cache of the merged context metadata, keyed on the identities of its sources.
+     */
+    private static final class MetadataCache {
+        private Map<String, Object> contextData;
+        private Map<String, String> mdcMap;
+        private String[] keys = new String[0];
+        private Object[] values = new Object[0];
+
+        void update(Map<String, Object> contextData, Map<String, String> mdcMap,
+                    CompactLogEvent.Builder merged) {
+            this.contextData = contextData;
+            this.mdcMap = mdcMap;
+            this.keys = merged.metadataKeys();
+            this.values = merged.metadataValues();
+        }
     }
 }
-
@@ -0,0 +1,89 @@
+package io.loghub.logger.converter;
+
+import io.loghub.logger.util.Fnv1a;
+import io.loghub.logger.util.SensitiveDataMasker;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of per-template information used when messages are shipped unformatted.
+ *
+ * <p>For each distinct message template this class computes, once:
+ * <ul>
+ *   <li>A stable template ID (64-bit FNV-1a hash of the template, as 16 hex digits),
+ *       identical across JVMs and SDK instances</li>
+ *   <li>The masked template, i.e. the masking verdict for the constant part of the message</li>
+ * </ul>
+ *
+ * <p>The cache is bounded; once full, templates are processed without being cached so that
+ * high-cardinality messages (e.g. built by string concatenation) cannot grow it unbounded.
+ */
+final class MessageTemplates {
+
+    private final ConcurrentHashMap<String, Template> cache = new ConcurrentHashMap<>();
+    private final int maxSize;
+
+    /**
+     * Creates a template cache.
+     *
+     * @param maxSize the maximum number of cached templates
+     */
+    MessageTemplates(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Gets the cached information for the given template.
+     *
+     * @param template          the raw message template
+     * @param maskSensitiveData whether the template should be masked
+     * @return the template information
+     */
+    Template lookup(String template, boolean maskSensitiveData) {
+        Template cached = cache.get(template);
+        if (cached != null && cached.masked == maskSensitiveData) {
+            return cached;
+        }
+        Template computed = new Template(
+                templateId(template),
+                maskSensitiveData ? SensitiveDataMasker.mask(template) : template,
+                maskSensitiveData);
+        if (cache.size() < maxSize) {
+            cache.put(template, computed);
+        }
+        return computed;
+    }
+
+    /**
+     * Computes the stable ID of a template.
+     *
+     * @param template the template
+     * @return the 64-bit FNV-1a hash of the template's UTF-16 code units, as 16 hex digits
+     */
+    static String templateId(String template) {
+        return Fnv1a.toHex(Fnv1a.hash(Fnv1a.INITIAL, template));
+    }
+
+    /**
+     * Information computed once per template.
+     */
+    static final class Template {
+        private final String id;
+        private final String text;
+        private final boolean masked;
+
+        Template(String id, String text, boolean masked) {
+            this.id = id;
+            this.text = text;
+            this.masked = masked;
+        }
+
+        String id() {
+            return id;
+        }
+
+        String text() {
+            return text;
+        }
+    }
+}
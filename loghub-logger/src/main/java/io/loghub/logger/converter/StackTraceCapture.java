@@ -0,0 +1,222 @@
+package io.loghub.logger.converter;
+
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.StackTraceElementProxy;
+import io.loghub.contract.ExceptionInfo;
+import io.loghub.logger.util.Fnv1a;
+import io.loghub.logger.util.SensitiveDataMasker;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds structured {@link ExceptionInfo} from Logback throwable proxies.
+ *
+ * <p>Each exception chain gets a fingerprint computed from its stack shape: the exception
+ * classes and the (truncated) frames of every cause, but not the messages. The formatted
+ * frames are kept in a bounded LRU cache keyed by fingerprint, and a given fingerprint ships
+ * its frames at most once per window; later occurrences in the window carry only the
+ * fingerprint. A timeout thrown thousands of times a minute is therefore formatted once and
+ * serialized once per window.
+ *
+ * <p>Frames are formatted outside the cache lock, so concurrent first occurrences may format
+ * the same stack twice but never wait for each other. When the event carrying the frames is
+ * not enqueued, {@link #release} lets the next occurrence ship them instead.
+ */
+final class StackTraceCapture {
+
+    private static final int MAX_CAUSE_DEPTH = 8;
+
+    private final int maxDepth;
+    private final long windowMillis;
+    private final Map<String, CachedStack> cache;
+
+    /**
+     * Creates a stack trace capture.
+     *
+     * @param maxDepth     maximum number of frames kept per exception in the chain
+     * @param windowMillis minimum interval between two shipments of the same stack's frames
+     * @param cacheSize    maximum number of fingerprints remembered
+     */
+    StackTraceCapture(int maxDepth, long windowMillis, int cacheSize) {
+        this.maxDepth = Math.max(1, maxDepth);
+        this.windowMillis = windowMillis;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedStack> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Captures the given throwable proxy.
+     *
+     * @param proxy             the throwable proxy
+     * @param maskSensitiveData whether to mask exception messages
+     * @param nowMillis         the current time, used for the shipping window
+     * @return the structured exception
+     */
+    ExceptionInfo capture(IThrowableProxy proxy, boolean maskSensitiveData, long nowMillis) {
+        List<IThrowableProxy> chain = chainOf(proxy);
+        String fingerprint = fingerprint(chain);
+
+        CachedStack cached;
+        synchronized (cache) {
+            cached = cache.get(fingerprint);
+        }
+        CachedStack formatted = cached == null ? new CachedStack(formatFrames(chain)) : null;
+
+        boolean shipFrames;
+        synchronized (cache) {
+            if (formatted != null) {
+                cached = cache.putIfAbsent(fingerprint, formatted);
+                if (cached == null) {
+                    cached = formatted;
+                }
+            }
+            shipFrames = cached.lastShippedMillis == 0L || nowMillis - cached.lastShippedMillis >= windowMillis;
+            if (shipFrames) {
+                cached.lastShippedMillis = nowMillis;
+            }
+        }
+
+        ExceptionInfo info = null;
+        for (int i = chain.size() - 1; i >= 0; i--) {
+            IThrowableProxy current = chain.get(i);
+            String message = current.getMessage();
+            if (maskSensitiveData && message != null) {
+                message = SensitiveDataMasker.mask(message);
+            }
+            info = ExceptionInfo.builder()
+                    .className(current.getClassName())
+                    .message(message)
+                    .fingerprint(i == 0 ? fingerprint : null)
+                    .frames(shipFrames ? cached.frames.get(i) : null)
+                    .framesOmitted(shipFrames ? cached.omitted[i] : 0)
+                    .cause(info)
+                    .build();
+        }
+        return info;
+    }
+
+    /**
+     * Forgets that the frames of a captured exception were shipped, because the event carrying
+     * them was dropped before reaching the queue. The next occurrence of the same stack then
+     * ships its frames, unless another event has shipped them since.
+     *
+     * @param info          the exception returned by {@link #capture}
+     * @param shippedMillis the time passed to {@link #capture}
+     */
+    void release(ExceptionInfo info, long shippedMillis) {
+        if (info == null || info.getFingerprint() == null || info.getFrames() == null) {
+            return;
+        }
+        synchronized (cache) {
+            CachedStack cached = cache.get(info.getFingerprint());
+            if (cached != null && cached.lastShippedMillis == shippedMillis) {
+                cached.lastShippedMillis = 0L;
+            }
+        }
+    }
+
+    /**
+     * Gets the number of fingerprints currently cached.
+     *
+     * @return the cache size
+     */
+    int cachedStacks() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    private static List<IThrowableProxy> chainOf(IThrowableProxy proxy) {
+        List<IThrowableProxy> chain = new ArrayList<>(2);
+        IThrowableProxy current = proxy;
+        while (current != null && chain.size() < MAX_CAUSE_DEPTH) {
+            chain.add(current);
+            current = current.getCause();
+        }
+        return chain;
+    }
+
+    private String fingerprint(List<IThrowableProxy> chain) {
+        long hash = Fnv1a.INITIAL;
+        for (IThrowableProxy current : chain) {
+            hash = Fnv1a.hash(hash, current.getClassName());
+            StackTraceElementProxy[] frames = current.getStackTraceElementProxyArray();
+            int count = frameCount(current);
+            for (int i = 0; i < count; i++) {
+                StackTraceElement element = frames[i].getStackTraceElement();
+                // String hash codes are cached and specified, so this stays cheap and stable
+                hash = Fnv1a.mix(hash, element.getClassName().hashCode());
+                hash = Fnv1a.mix(hash, element.getMethodName().hashCode());
+                hash = Fnv1a.mix(hash, element.getLineNumber());
+            }
+        }
+        return Fnv1a.toHex(hash);
+    }
+
+    private CachedStackFrames formatFrames(List<IThrowableProxy> chain) {
+        CachedStackFrames formatted = new CachedStackFrames(chain.size());
+        for (IThrowableProxy current : chain) {
+            StackTraceElementProxy[] frames = current.getStackTraceElementProxyArray();
+            int available = frames != null ? frames.length - current.getCommonFrames() : 0;
+            int count = frameCount(current);
+            List<String> lines = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                lines.add(frames[i].getStackTraceElement().toString());
+            }
+            formatted.add(Collections.unmodifiableList(lines), Math.max(0, available - count));
+        }
+        return formatted;
+    }
+
+    /**
+     * Number of frames kept for one exception: its own frames (excluding those shared with the
+     * enclosing exception), truncated to the maximum depth.
+     */
+    private int frameCount(IThrowableProxy proxy) {
+        StackTraceElementProxy[] frames = proxy.getStackTraceElementProxyArray();
+        if (frames == null) {
+            return 0;
+        }
+        return Math.max(0, Math.min(maxDepth, frames.length - proxy.getCommonFrames()));
+    }
+
+    /**
+     * Formatted frames of every exception in a chain.
+     */
+    private static final class CachedStackFrames {
+        private final List<List<String>> frames;
+        private final int[] omitted;
+
+        CachedStackFrames(int size) {
+            this.frames = new ArrayList<>(size);
+            this.omitted = new int[size];
+        }
+
+        void add(List<String> lines, int omittedCount) {
+            omitted[frames.size()] = omittedCount;
+            frames.add(lines);
+        }
+    }
+
+    /**
+     * Cache entry: the formatted frames and when they were last shipped.
+     */
+    private static final class CachedStack {
+        private final List<List<String>> frames;
+        private final int[] omitted;
+        private long lastShippedMillis;
+
+        CachedStack(CachedStackFrames formatted) {
+            this.frames = formatted.frames;
+            this.omitted = formatted.omitted;
+        }
+    }
+}
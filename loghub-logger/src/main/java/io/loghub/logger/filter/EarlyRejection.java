@@ -0,0 +1,71 @@
+package io.loghub.logger.filter;
+
+import ch.qos.logback.classic.Level;
+import io.loghub.logger.converter.LogEventConverter;
+
+/**
+ * The appender's level, sampling and rate limit decisions, evaluated before a Logback event
+ * exists.
+ *
+ * <p>Published by {@code HttpLogAppender} in the Logback context (see
+ * {@link LogHubTurboFilter#DECISIONS_KEY}) and built from the same {@link LoggerOverrides},
+ * {@link TraceSampler} and {@link LoggerRateLimiter} instances the appender uses, so runtime
+ * override reloads apply to both. Only certain rejections are reported: a random sampling
+ * verdict for an event without trace ID is left to the appender, and the rate limit is only
+ * peeked (a rejection is counted, but a permit is taken by the appender alone).
+ */
+public final class EarlyRejection {
+
+    private final LoggerOverrides overrides;
+    private final TraceSampler sampler;
+    private final LoggerRateLimiter rateLimiter;
+    private final Level bufferLevel;
+
+    /**
+     * Creates the decisions.
+     *
+     * @param overrides   the per-logger level and sample rate overrides
+     * @param sampler     the per-level sampler (may be null)
+     * @param rateLimiter the per-logger rate limiter (may be null)
+     * @param bufferLevel the lowest level held by scope buffering (may be null)
+     */
+    public EarlyRejection(LoggerOverrides overrides, TraceSampler sampler,
+                          LoggerRateLimiter rateLimiter, Level bufferLevel) {
+        this.overrides = overrides;
+        this.sampler = sampler;
+        this.rateLimiter = rateLimiter;
+        this.bufferLevel = bufferLevel;
+    }
+
+    /**
+     * Checks whether the appender would drop an event of the given logger and level.
+     *
+     * @param loggerName the logger name
+     * @param level      the event level
+     * @param logCall    true for an actual log call, false for an {@code isXxxEnabled()} check
+     *                   (which only considers levels)
+     * @return true if the event is certain to be dropped
+     */
+    public boolean rejects(String loggerName, Level level, boolean logCall) {
+        LoggerOverrides.Policy policy = overrides.policyFor(loggerName);
+        if (!policy.isEnabled(level)) {
+            return bufferLevel == null || !level.isGreaterOrEqual(bufferLevel);
+        }
+        if (!logCall) {
+            return false;
+        }
+
+        double rate = policy.hasSampleRate() ? policy.getSampleRate()
+                : sampler != null ? sampler.rateFor(level) : 1.0;
+        if (rate <= 0.0) {
+            return true;
+        }
+        if (rate < 1.0) {
+            String traceId = LogEventConverter.currentTraceId();
+            if (traceId != null && !traceId.isEmpty() && TraceSampler.position(traceId) >= rate) {
+                return true;
+            }
+        }
+        return rateLimiter != null && rateLimiter.rejectIfExhausted(loggerName, System.nanoTime());
+    }
+}
@@ -0,0 +1,104 @@
+package io.loghub.logger.filter;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Companion {@link TurboFilter} that rejects events {@code HttpLogAppender} would drop before
+ * Logback builds them (no {@code LoggingEvent}, caller data, MDC copy or argument array).
+ *
+ * <p>Turbo filters apply to every appender of the context, so the filter only acts on the
+ * logger prefixes declared as LogHub-only in {@code loggers}; for every other logger it stays
+ * neutral. Decisions are read from the {@link EarlyRejection} published by the started
+ * appender; until then the filter is neutral as well.
+ *
+ * <p>Configuration example in logback.xml:
+ * <pre>{@code
+ * <turboFilter class="io.loghub.logger.filter.LogHubTurboFilter">
+ *     <loggers>com.example.audit, com.example.search</loggers>
+ * </turboFilter>
+ * }</pre>
+ */
+public class LogHubTurboFilter extends TurboFilter {
+
+    /**
+     * Logback context object key under which the appender publishes its decisions.
+     */
+    public static final String DECISIONS_KEY = "io.loghub.logger.earlyRejection";
+
+    private static final int MAX_CACHED_LOGGERS = 4096;
+
+    private String loggers;
+    private LoggerNameTrie<Boolean> exclusive;
+    private final Map<String, Boolean> exclusiveCache = new ConcurrentHashMap<>();
+
+    @Override
+    public void start() {
+        LoggerNameTrie.Builder<Boolean> builder = LoggerNameTrie.builder();
+        if (loggers != null) {
+            for (String prefix : loggers.split("[,;]")) {
+                if (!prefix.isBlank()) {
+                    builder.put(prefix.trim(), Boolean.TRUE);
+                }
+            }
+        }
+        exclusive = builder.build();
+        exclusiveCache.clear();
+        if (exclusive.isEmpty()) {
+            addWarn("No LogHub-only loggers configured - the LogHub turbo filter will stay neutral");
+        }
+        super.start();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format,
+                              Object[] params, Throwable t) {
+        if (!isStarted() || logger == null || level == null) {
+            return FilterReply.NEUTRAL;
+        }
+        try {
+            String loggerName = logger.getName();
+            if (!isExclusive(loggerName)) {
+                return FilterReply.NEUTRAL;
+            }
+            Object decisions = getContext().getObject(DECISIONS_KEY);
+            if (decisions instanceof EarlyRejection earlyRejection
+                    && earlyRejection.rejects(loggerName, level, format != null)) {
+                return FilterReply.DENY;
+            }
+        } catch (Exception e) {
+            // Never throw - leave the decision to Logback and the appender
+        }
+        return FilterReply.NEUTRAL;
+    }
+
+    private boolean isExclusive(String loggerName) {
+        Boolean cached = exclusiveCache.get(loggerName);
+        if (cached == null) {
+            cached = exclusive.find(loggerName) != null;
+            if (exclusiveCache.size() < MAX_CACHED_LOGGERS) {
+                exclusiveCache.put(loggerName, cached);
+            }
+        }
+        return cached;
+    }
+
+    /**
+     * Sets the logger name prefixes whose only sink is LogHub.
+     *
+     * @param loggers comma or semicolon separated prefixes
+     */
+    public void setLoggers(String loggers) {
+        this.loggers = loggers;
+    }
+
+    public String getLoggers() {
+        return loggers;
+    }
+}
@@ -0,0 +1,127 @@
+package io.loghub.logger.filter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable prefix trie over dot-separated logger name segments.
+ *
+ * <p>A rule registered for {@code com.example} matches {@code com.example} and every logger
+ * below it ({@code com.example.db.Pool}), but not {@code com.examples}. Lookups return the
+ * value of the longest matching prefix, or the root value registered under {@value #ROOT}.
+ *
+ * <p>Usage example:
+ * <pre>{@code
+ * LoggerNameTrie<Integer> trie = LoggerNameTrie.<Integer>builder()
+ *         .put("*", 1000)
+ *         .put("com.example.chatty", 10)
+ *         .build();
+ * trie.find("com.example.chatty.Worker"); // 10
+ * trie.find("org.other.Service");         // 1000
+ * }</pre>
+ *
+ * @param <T> the value type
+ */
+public final class LoggerNameTrie<T> {
+
+    /**
+     * Prefix matching every logger name.
+     */
+    public static final String ROOT = "*";
+
+    private final Node<T> root;
+
+    private LoggerNameTrie(Node<T> root) {
+        this.root = root;
+    }
+
+    /**
+     * Finds the value of the longest prefix matching the given logger name.
+     *
+     * @param loggerName the logger name
+     * @return the matching value, or null if no rule matches
+     */
+    public T find(String loggerName) {
+        Node<T> node = root;
+        T match = root.value;
+        if (loggerName == null) {
+            return match;
+        }
+        int start = 0;
+        int length = loggerName.length();
+        while (start <= length) {
+            int end = loggerName.indexOf('.', start);
+            if (end < 0) {
+                end = length;
+            }
+            node = node.children.get(loggerName.substring(start, end));
+            if (node == null) {
+                break;
+            }
+            if (node.value != null) {
+                match = node.value;
+            }
+            start = end + 1;
+        }
+        return match;
+    }
+
+    /**
+     * Checks if the trie has no rules.
+     *
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return root.value == null && root.children.isEmpty();
+    }
+
+    /**
+     * Creates a new Builder instance.
+     *
+     * @param <T> the value type
+     * @return a new Builder
+     */
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Builder for creating LoggerNameTrie instances.
+     *
+     * @param <T> the value type
+     */
+    public static final class Builder<T> {
+        private final Node<T> root = new Node<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Registers a value for a logger name prefix. A later registration of the same
+         * prefix replaces the earlier one.
+         *
+         * @param prefix the logger name prefix, or {@value #ROOT} for every logger
+         * @param value  the value
+         * @return this builder
+         */
+        public Builder<T> put(String prefix, T value) {
+            Node<T> node = root;
+            if (!ROOT.equals(prefix) && !prefix.isEmpty()) {
+                for (String segment : prefix.split("\\.")) {
+                    node = node.children.computeIfAbsent(segment, s -> new Node<>());
+                }
+            }
+            node.value = value;
+            return this;
+        }
+
+        public LoggerNameTrie<T> build() {
+            return new LoggerNameTrie<>(root);
+        }
+    }
+
+    private static final class Node<T> {
+        private final Map<String, Node<T>> children = new HashMap<>();
+        private T value;
+    }
+}
@@ -0,0 +1,182 @@
+package io.loghub.logger.filter;
+
+import ch.qos.logback.classic.Level;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-logger minimum level and sample rate overrides.
+ *
+ * <p>Overrides are configured per logger name prefix and compiled into a
+ * {@link LoggerNameTrie}; the resolved {@link Policy} of each logger name is cached, so the
+ * steady-state lookup is a single {@code ConcurrentHashMap} probe (and no probe at all when
+ * nothing is overridden). Loggers without a matching prefix get the default level and no
+ * sample rate override.
+ *
+ * <p>{@link #reload(String)} and {@link #setDefaultLevel(Level)} swap the compiled trie, the
+ * default policy and the cache atomically, so overrides and the default level can change at
+ * runtime while other threads keep logging.
+ *
+ * <p>Specification format: comma or semicolon separated {@code prefix=[LEVEL][@rate]}
+ * entries, where rate is a fraction or a percentage that applies to every level of the
+ * matching loggers (replacing the per-level {@code sampleRates}):
+ * <pre>{@code
+ * org.hibernate=WARN, com.example.payments=DEBUG, com.example.search=INFO@10%
+ * }</pre>
+ */
+public final class LoggerOverrides {
+
+    private static final int MAX_CACHED_LOGGERS = 4096;
+
+    private volatile Compiled compiled;
+
+    /**
+     * Creates the overrides.
+     *
+     * @param defaultLevel the minimum level of loggers without override
+     * @param spec         the override specification (may be null)
+     * @throws IllegalArgumentException if an entry is malformed
+     */
+    public LoggerOverrides(Level defaultLevel, String spec) {
+        this.compiled = compile(defaultLevel, spec);
+    }
+
+    /**
+     * Replaces the overrides. On a malformed specification the current overrides are kept.
+     *
+     * @param spec the new override specification (may be null)
+     * @throws IllegalArgumentException if an entry is malformed
+     */
+    public synchronized void reload(String spec) {
+        this.compiled = compile(compiled.defaultPolicy.minimumLevel, spec);
+    }
+
+    /**
+     * Replaces the minimum level of loggers without override, and of overrides that only
+     * set a sample rate.
+     *
+     * @param defaultLevel the new default minimum level
+     */
+    public synchronized void setDefaultLevel(Level defaultLevel) {
+        this.compiled = compile(defaultLevel, compiled.spec);
+    }
+
+    /**
+     * Gets the policy of a logger.
+     *
+     * @param loggerName the logger name
+     * @return the policy, never null
+     */
+    public Policy policyFor(String loggerName) {
+        Compiled current = compiled;
+        if (current.rules.isEmpty()) {
+            return current.defaultPolicy;
+        }
+        String key = loggerName != null ? loggerName : "";
+        Policy policy = current.cache.get(key);
+        if (policy == null) {
+            policy = current.rules.find(key);
+            if (policy == null) {
+                policy = current.defaultPolicy;
+            }
+            if (current.cache.size() < MAX_CACHED_LOGGERS) {
+                current.cache.put(key, policy);
+            }
+        }
+        return policy;
+    }
+
+    private static Compiled compile(Level defaultLevel, String spec) {
+        LoggerNameTrie.Builder<Policy> builder = LoggerNameTrie.builder();
+        if (spec != null) {
+            for (String entry : spec.split("[,;]")) {
+                String trimmed = entry.trim();
+                if (trimmed.isEmpty()) {
+                    continue;
+                }
+                int eq = trimmed.indexOf('=');
+                if (eq <= 0) {
+                    throw new IllegalArgumentException("Invalid logger override entry: " + trimmed);
+                }
+                String prefix = trimmed.substring(0, eq).trim();
+                String value = trimmed.substring(eq + 1).trim();
+                int at = value.indexOf('@');
+                String levelName = (at < 0 ? value : value.substring(0, at)).trim();
+
+                Level level = defaultLevel;
+                if (!levelName.isEmpty()) {
+                    level = Level.toLevel(levelName, null);
+                    if (level == null) {
+                        throw new IllegalArgumentException("Invalid logger override level: " + trimmed);
+                    }
+                }
+                double rate = at < 0 ? Double.NaN : TraceSampler.parseRate(value.substring(at + 1).trim(), trimmed);
+                builder.put(prefix, new Policy(level, rate));
+            }
+        }
+        return new Compiled(new Policy(defaultLevel, Double.NaN), builder.build(), spec);
+    }
+
+    /**
+     * Resolved level and sampling policy of a logger.
+     */
+    public static final class Policy {
+        private final Level minimumLevel;
+        private final double sampleRate;
+
+        Policy(Level minimumLevel, double sampleRate) {
+            this.minimumLevel = minimumLevel;
+            this.sampleRate = sampleRate;
+        }
+
+        /**
+         * Checks if events of the given level pass the logger's minimum level.
+         *
+         * @param level the event level
+         * @return true if enabled
+         */
+        public boolean isEnabled(Level level) {
+            return level != null && level.isGreaterOrEqual(minimumLevel);
+        }
+
+        public Level getMinimumLevel() {
+            return minimumLevel;
+        }
+
+        /**
+         * Checks if the logger overrides the per-level sample rates.
+         *
+         * @return true if {@link #getSampleRate()} applies
+         */
+        public boolean hasSampleRate() {
+            return !Double.isNaN(sampleRate);
+        }
+
+        /**
+         * Gets the sample rate override.
+         *
+         * @return the rate in [0, 1], or NaN if not overridden
+         */
+        public double getSampleRate() {
+            return sampleRate;
+        }
+    }
+
+    /**
+     * Default policy, compiled rules and the policy cache built from them; replaced as a whole
+     * on reload.
+     */
+    private static final class Compiled {
+        private final Policy defaultPolicy;
+        private final LoggerNameTrie<Policy> rules;
+        private final String spec;
+        private final Map<String, Policy> cache = new ConcurrentHashMap<>();
+
+        Compiled(Policy defaultPolicy, LoggerNameTrie<Policy> rules, String spec) {
+            this.defaultPolicy = defaultPolicy;
+            this.rules = rules;
+            this.spec = spec;
+        }
+    }
+}
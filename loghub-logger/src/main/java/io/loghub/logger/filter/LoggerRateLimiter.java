@@ -0,0 +1,231 @@
+package io.loghub.logger.filter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Logger rate limiter backed by lock-free {@link TokenBucket}s.
+ *
+ * <p>Limits are configured per logger name prefix (see {@link LoggerNameTrie}). By default all
+ * loggers matching a rule share one bucket, so the rule's rate caps the whole prefix however
+ * many classes log under it. With per-logger buckets, every matching logger gets its own
+ * bucket with the rule's rate instead, so one chatty class cannot use up the budget of its
+ * siblings, at the cost of N loggers being allowed N times the rate. Loggers matching no rule
+ * are never limited.
+ *
+ * <p>The bucket (or the "unlimited" marker) of each logger name is resolved once and cached,
+ * so the steady-state check is one {@code ConcurrentHashMap} lookup plus, for limited loggers,
+ * one CAS. The cache is bounded for limited and unlimited loggers alike; loggers beyond the
+ * bound are resolved through the trie on every event, and with per-logger buckets they fall
+ * back to the rule's shared bucket.
+ *
+ * <p>Specification format: comma or semicolon separated {@code prefix=rate[/burst]} entries,
+ * where rate is events per second and burst defaults to one second worth of events:
+ * <pre>{@code
+ * com.example.chatty=100, com.example.batch=50/500, *=2000
+ * }</pre>
+ */
+public final class LoggerRateLimiter {
+
+    static final int MAX_CACHED_LOGGERS = 4096;
+    private static final Object UNLIMITED = new Object();
+
+    private final LoggerNameTrie<Rule> rules;
+    private final List<Rule> allRules;
+    private final boolean perLogger;
+    private final Map<String, Object> buckets = new ConcurrentHashMap<>();
+
+    private LoggerRateLimiter(LoggerNameTrie<Rule> rules, List<Rule> allRules, boolean perLogger) {
+        this.rules = rules;
+        this.allRules = allRules;
+        this.perLogger = perLogger;
+    }
+
+    /**
+     * Parses a rate limit specification, with one bucket shared by all loggers of a rule.
+     *
+     * @param spec the specification
+     * @return the rate limiter
+     * @throws IllegalArgumentException if an entry is malformed
+     */
+    public static LoggerRateLimiter parse(String spec) {
+        return parse(spec, false);
+    }
+
+    /**
+     * Parses a rate limit specification.
+     *
+     * @param spec      the specification
+     * @param perLogger true to give every logger matching a rule its own bucket, false to
+     *                  share one bucket per rule
+     * @return the rate limiter
+     * @throws IllegalArgumentException if an entry is malformed
+     */
+    public static LoggerRateLimiter parse(String spec, boolean perLogger) {
+        LoggerNameTrie.Builder<Rule> builder = LoggerNameTrie.builder();
+        List<Rule> allRules = new ArrayList<>();
+        if (spec != null) {
+            for (String entry : spec.split("[,;]")) {
+                String trimmed = entry.trim();
+                if (trimmed.isEmpty()) {
+                    continue;
+                }
+                int eq = trimmed.indexOf('=');
+                if (eq <= 0) {
+                    throw new IllegalArgumentException("Invalid rate limit entry: " + trimmed);
+                }
+                String prefix = trimmed.substring(0, eq).trim();
+                String value = trimmed.substring(eq + 1).trim();
+                int slash = value.indexOf('/');
+                try {
+                    double rate = Double.parseDouble(slash < 0 ? value : value.substring(0, slash).trim());
+                    int burst = slash < 0
+                            ? (int) Math.max(1, Math.ceil(rate))
+                            : Integer.parseInt(value.substring(slash + 1).trim());
+                    Rule rule = new Rule(prefix, rate, burst);
+                    builder.put(prefix, rule);
+                    allRules.add(rule);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid rate limit entry: " + trimmed, e);
+                }
+            }
+        }
+        return new LoggerRateLimiter(builder.build(), allRules, perLogger);
+    }
+
+    /**
+     * Tries to take a permit for an event of the given logger.
+     *
+     * @param loggerName the logger name
+     * @param nowNanos   the current {@link System#nanoTime()}
+     * @return true if the event may proceed, false if it exceeds the logger's rate
+     */
+    public boolean tryAcquire(String loggerName, long nowNanos) {
+        Object bucket = bucketFor(loggerName);
+        return bucket == UNLIMITED || ((TokenBucket) bucket).tryAcquire(nowNanos);
+    }
+
+    /**
+     * Checks whether an event of the given logger would currently be allowed, without taking
+     * a permit or counting a rejection.
+     *
+     * @param loggerName the logger name
+     * @param nowNanos   the current {@link System#nanoTime()}
+     * @return true if {@link #tryAcquire(String, long)} would currently succeed
+     */
+    public boolean hasPermit(String loggerName, long nowNanos) {
+        Object bucket = bucketFor(loggerName);
+        return bucket == UNLIMITED || ((TokenBucket) bucket).hasPermit(nowNanos);
+    }
+
+    /**
+     * Counts a rejection if the logger's bucket is exhausted, without taking a permit
+     * otherwise.
+     *
+     * @param loggerName the logger name
+     * @param nowNanos   the current {@link System#nanoTime()}
+     * @return true if the event would be rejected (and the rejection was counted)
+     */
+    public boolean rejectIfExhausted(String loggerName, long nowNanos) {
+        Object bucket = bucketFor(loggerName);
+        return bucket != UNLIMITED && ((TokenBucket) bucket).rejectIfExhausted(nowNanos);
+    }
+
+    /**
+     * Gets and resets the rejection counts. Rejections of a shared bucket are reported under
+     * the rule prefix; with per-logger buckets, every logger with rejections is reported under
+     * its own name.
+     *
+     * @param sink receives the logger name (or rule prefix), rejected count and configured rate
+     */
+    public void drainRejected(RejectionSink sink) {
+        if (perLogger) {
+            for (Map.Entry<String, Object> entry : buckets.entrySet()) {
+                if (entry.getValue() != UNLIMITED) {
+                    report(sink, entry.getKey(), (TokenBucket) entry.getValue());
+                }
+            }
+        }
+        for (Rule rule : allRules) {
+            report(sink, rule.prefix, rule.shared);
+        }
+    }
+
+    /**
+     * Checks if no rule is configured.
+     *
+     * @return true if nothing is ever limited
+     */
+    public boolean isEmpty() {
+        return rules.isEmpty();
+    }
+
+    /**
+     * Gets the number of logger names whose bucket is cached.
+     *
+     * @return the cache size
+     */
+    int cachedLoggers() {
+        return buckets.size();
+    }
+
+    private static void report(RejectionSink sink, String name, TokenBucket bucket) {
+        long rejected = bucket.drainRejected();
+        if (rejected > 0) {
+            try {
+                sink.rejected(name, rejected, bucket.getRatePerSecond());
+            } catch (Exception e) {
+                // Never throw - the report is best effort
+            }
+        }
+    }
+
+    private Object bucketFor(String loggerName) {
+        String key = loggerName != null ? loggerName : "";
+        Object bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        Rule rule = rules.find(key);
+        boolean full = buckets.size() >= MAX_CACHED_LOGGERS;
+        if (rule == null) {
+            bucket = UNLIMITED;
+        } else if (!perLogger || full) {
+            bucket = rule.shared;
+        } else {
+            bucket = new TokenBucket(rule.ratePerSecond, rule.burst);
+        }
+        if (full) {
+            return bucket;
+        }
+        Object existing = buckets.putIfAbsent(key, bucket);
+        return existing != null ? existing : bucket;
+    }
+
+    /**
+     * Receives rejection counts from {@link #drainRejected(RejectionSink)}.
+     */
+    @FunctionalInterface
+    public interface RejectionSink {
+        void rejected(String loggerName, long count, double ratePerSecond);
+    }
+
+    /**
+     * A configured limit for one logger name prefix.
+     */
+    private static final class Rule {
+        private final String prefix;
+        private final double ratePerSecond;
+        private final int burst;
+        private final TokenBucket shared;
+
+        Rule(String prefix, double ratePerSecond, int burst) {
+            this.prefix = prefix;
+            this.ratePerSecond = ratePerSecond;
+            this.burst = burst;
+            this.shared = new TokenBucket(ratePerSecond, burst);
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package io.loghub.logger.filter;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import io.loghub.logger.converter.LogEventConverter;
+import io.loghub.logger.util.Fnv1a;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Collapses repeated log messages ("last message repeated N times").
+ *
+ * <p>Events are keyed on logger name, level and message template (the unformatted message).
+ * The first occurrence of a key is forwarded immediately and opens a window; further
+ * occurrences within the window are suppressed and only counted. When the window is over
+ * (detected by the next occurrence or by {@link #flushExpired(long)}), a {@link Summary} with
+ * the count, first/last timestamps and a few sampled trace IDs is passed to the summary sink.
+ *
+ * <p>Windows live in a fixed-size, direct-mapped table updated with CAS, so the check costs a
+ * few hash lookups on cached {@code String} hash codes and never blocks. When two keys collide
+ * on a slot with an open window, the newcomer is simply forwarded. Counts are approximate under
+ * heavy contention around window boundaries.
+ */
+public final class RepeatedMessageFilter {
+
+    private static final int MAX_SAMPLED_TRACE_IDS = 3;
+
+    private final AtomicReferenceArray<Window> table;
+    private final int mask;
+    private final long windowMillis;
+    private final Consumer<Summary> summarySink;
+
+    /**
+     * Creates a repeated message filter.
+     *
+     * @param windowMillis the suppression window in milliseconds
+     * @param tableSize    the number of tracked keys (rounded up to a power of two)
+     * @param summarySink  receives a summary for every window that suppressed events
+     */
+    public RepeatedMessageFilter(long windowMillis, int tableSize, Consumer<Summary> summarySink) {
+        int size = Integer.highestOneBit(Math.max(2, tableSize - 1)) << 1;
+        this.table = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.windowMillis = windowMillis;
+        this.summarySink = summarySink;
+    }
+
+    /**
+     * Decides whether an event should be forwarded.
+     *
+     * @param event the logging event
+     * @return true if the event should be forwarded, false if it was suppressed as a repeat
+     */
+    public boolean accept(ILoggingEvent event) {
+        String loggerName = event.getLoggerName();
+        Level level = event.getLevel();
+        String template = event.getMessage();
+        long now = event.getTimeStamp();
+
+        long hash = Fnv1a.INITIAL;
+        hash = Fnv1a.mix(hash, loggerName != null ? loggerName.hashCode() : 0);
+        hash = Fnv1a.mix(hash, level != null ? level.toInt() : 0);
+        hash = Fnv1a.mix(hash, template != null ? template.hashCode() : 0);
+        int index = (int) (hash ^ (hash >>> 32)) & mask;
+
+        Window current = table.get(index);
+        if (current != null && now - current.firstTimestamp < windowMillis) {
+            if (current.matches(hash, loggerName, level, template)) {
+                current.suppress(now, LogEventConverter.traceIdOf(event));
+                return false;
+            }
+            // Collision with another open window - forward without tracking
+            return true;
+        }
+
+        Window opened = new Window(hash, loggerName, level, template, now);
+        if (table.compareAndSet(index, current, opened) && current != null) {
+            emitIfSuppressed(current);
+        }
+        return true;
+    }
+
+    /**
+     * Closes every window that expired before {@code nowMillis}, emitting their summaries.
+     * Call periodically so that the last burst of a key is reported even if it never repeats.
+     *
+     * @param nowMillis the current time in milliseconds
+     */
+    public void flushExpired(long nowMillis) {
+        for (int i = 0; i < table.length(); i++) {
+            Window window = table.get(i);
+            if (window != null && nowMillis - window.firstTimestamp >= windowMillis
+                    && table.compareAndSet(i, window, null)) {
+                emitIfSuppressed(window);
+            }
+        }
+    }
+
+    /**
+     * Closes every open window regardless of age, emitting their summaries (used on stop).
+     */
+    public void flushAll() {
+        flushExpired(Long.MAX_VALUE);
+    }
+
+    private void emitIfSuppressed(Window window) {
+        long count = window.suppressed.get();
+        if (count > 0) {
+            try {
+                summarySink.accept(window.toSummary(count));
+            } catch (Exception e) {
+                // Never throw - the summary is best effort
+            }
+        }
+    }
+
+    /**
+     * Summary of the events suppressed during one window.
+     */
+    public static final class Summary {
+        private final String loggerName;
+        private final Level level;
+        private final String template;
+        private final long count;
+        private final long firstTimestamp;
+        private final long lastTimestamp;
+        private final List<String> traceIds;
+
+        Summary(String loggerName, Level level, String template, long count,
+                long firstTimestamp, long lastTimestamp, List<String> traceIds) {
+            this.loggerName = loggerName;
+            this.level = level;
+            this.template = template;
+            this.count = count;
+            this.firstTimestamp = firstTimestamp;
+            this.lastTimestamp = lastTimestamp;
+            this.traceIds = traceIds;
+        }
+
+        public String getLoggerName() {
+            return loggerName;
+        }
+
+        public Level getLevel() {
+            return level;
+        }
+
+        public String getTemplate() {
+            return template;
+        }
+
+        /**
+         * Gets the number of suppressed events (excluding the forwarded first occurrence).
+         *
+         * @return the suppressed count
+         */
+        public long getCount() {
+            return count;
+        }
+
+        public long getFirstTimestamp() {
+            return firstTimestamp;
+        }
+
+        public long getLastTimestamp() {
+            return lastTimestamp;
+        }
+
+        public List<String> getTraceIds() {
+            return traceIds;
+        }
+    }
+
+    /**
+     * Open suppression window for one key.
+     */
+    private static final class Window {
+        private final long hash;
+        private final String loggerName;
+        private final Level level;
+        private final String template;
+        private final long firstTimestamp;
+        private final AtomicLong suppressed = new AtomicLong();
+        private final AtomicReferenceArray<String> traceIds = new AtomicReferenceArray<>(MAX_SAMPLED_TRACE_IDS);
+        private volatile long lastTimestamp;
+
+        Window(long hash, String loggerName, Level level, String template, long firstTimestamp) {
+            this.hash = hash;
+            this.loggerName = loggerName;
+            this.level = level;
+            this.template = template;
+            this.firstTimestamp = firstTimestamp;
+            this.lastTimestamp = firstTimestamp;
+        }
+
+        boolean matches(long otherHash, String otherLogger, Level otherLevel, String otherTemplate) {
+            return hash == otherHash
+                    && level == otherLevel
+                    && Objects.equals(loggerName, otherLogger)
+                    && Objects.equals(template, otherTemplate);
+        }
+
+        void suppress(long timestamp, String traceId) {
+            long count = suppressed.incrementAndGet();
+            if (timestamp > lastTimestamp) {
+                lastTimestamp = timestamp;
+            }
+            if (traceId != null && count <= MAX_SAMPLED_TRACE_IDS) {
+                traceIds.compareAndSet((int) count - 1, null, traceId);
+            }
+        }
+
+        Summary toSummary(long count) {
+            List<String> sampled = new ArrayList<>(MAX_SAMPLED_TRACE_IDS);
+            for (int i = 0; i < MAX_SAMPLED_TRACE_IDS; i++) {
+                String traceId = traceIds.get(i);
+                if (traceId != null) {
+                    sampled.add(traceId);
+                }
+            }
+            return new Summary(loggerName, level, template, count, firstTimestamp, lastTimestamp,
+                    Collections.unmodifiableList(sampled));
+        }
+    }
+}
@@ -0,0 +1,442 @@
+package io.loghub.logger.filter;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.LoggerContextVO;
+import io.loghub.logger.context.LogContext;
+import org.slf4j.Marker;
+import org.slf4j.event.KeyValuePair;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * "Fingers crossed" buffer holding low-level events of the current {@link LogContext} scope.
+ *
+ * <p>Events are kept unconverted, together with the unresolved {@link LogContext#snapshot()}
+ * of the moment they were logged. If an error occurs in the same scope, {@link #drain()} hands
+ * them over for conversion and shipping; if the scope ends cleanly ({@link LogContext#clear()}
+ * or {@link LogContext#removeContext()}), they are discarded without ever being converted, and
+ * lazy context values they captured are never resolved.
+ *
+ * <p>What the application may still change is frozen when an event is buffered: the formatted
+ * message, thread name and MDC, and the arguments and key-value pairs, whose values other than
+ * strings, numbers and booleans are replaced by their string form (as the converter would ship
+ * them). A buffered event therefore shows the values of the moment it was logged.
+ *
+ * <p>A scope only ends with {@link LogContext#clear()} or {@link LogContext#removeContext()}.
+ * A thread that starts its next unit of work (e.g. a pooled request thread) without clearing
+ * the context keeps the previous unit's events in the same scope, and an error there ships
+ * them too, until they reach the maximum age. Clear the context in a {@code finally} block.
+ *
+ * <p>Memory is capped per scope (the oldest events are evicted first, so the detail leading
+ * up to an error is kept) and globally (new events are dropped while the cap is reached).
+ * Event sizes are estimated from the message template and argument count.
+ *
+ * <p>Events older than the maximum age are evicted as well, both when the scope buffers a new
+ * event and by {@link #evictExpired(long)}, which the appender runs periodically. A thread that
+ * never clears its context, or that dies with a scope open, therefore cannot hold its share of
+ * the global cap (and the events it references) for longer than that age.
+ *
+ * <p>A scope belongs to one thread, which is the only one adding and draining its events;
+ * non-empty scopes are also registered here so that the periodic eviction can reach them,
+ * which is why each scope guards its events with its own (uncontended) lock.
+ */
+public final class ScopeBuffer {
+
+    private static final int EVENT_OVERHEAD_BYTES = 256;
+    private static final int ARGUMENT_BYTES = 64;
+    private static final int THROWABLE_BYTES = 2048;
+
+    /**
+     * Default maximum age of a buffered event.
+     */
+    public static final long DEFAULT_MAX_AGE_MILLIS = 60_000L;
+
+    private final long maxBytesPerScope;
+    private final long maxBytesTotal;
+    private final long maxAgeMillis;
+    private final AtomicLong totalBytes = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private final Set<Scope> scopes = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Creates a scope buffer whose events expire after {@link #DEFAULT_MAX_AGE_MILLIS}.
+     *
+     * @param maxBytesPerScope the estimated bytes one scope may hold
+     * @param maxBytesTotal    the estimated bytes all scopes together may hold
+     */
+    public ScopeBuffer(long maxBytesPerScope, long maxBytesTotal) {
+        this(maxBytesPerScope, maxBytesTotal, DEFAULT_MAX_AGE_MILLIS);
+    }
+
+    /**
+     * Creates a scope buffer.
+     *
+     * @param maxBytesPerScope the estimated bytes one scope may hold
+     * @param maxBytesTotal    the estimated bytes all scopes together may hold
+     * @param maxAgeMillis     the age after which a buffered event is evicted
+     */
+    public ScopeBuffer(long maxBytesPerScope, long maxBytesTotal, long maxAgeMillis) {
+        this.maxBytesPerScope = maxBytesPerScope;
+        this.maxBytesTotal = maxBytesTotal;
+        this.maxAgeMillis = maxAgeMillis;
+    }
+
+    /**
+     * Buffers an event in the current thread's scope.
+     *
+     * @param event the logging event
+     * @return true if buffered, false if dropped by a byte cap
+     */
+    public boolean buffer(ILoggingEvent event) {
+        long size = estimateSize(event);
+        if (size > maxBytesPerScope) {
+            dropped.increment();
+            return false;
+        }
+        Scope scope = (Scope) LogContext.getScopeResource(this);
+        if (scope == null) {
+            scope = new Scope();
+            LogContext.bindScopeResource(this, scope);
+        }
+        long timestamp = event.getTimeStamp();
+        scope.evictOlderThan(timestamp - maxAgeMillis);
+        dropped.add(scope.evictToFit(maxBytesPerScope - size));
+        if (!reserve(size)) {
+            dropped.increment();
+            return false;
+        }
+
+        scope.add(new Buffered(new FrozenEvent(event), LogContext.snapshot(), timestamp, size));
+        return true;
+    }
+
+    /**
+     * Removes the events buffered in the current thread's scope.
+     *
+     * @return the buffered events in logging order (empty if none)
+     */
+    public List<Buffered> drain() {
+        Scope scope = (Scope) LogContext.getScopeResource(this);
+        return scope != null ? scope.drain() : Collections.emptyList();
+    }
+
+    /**
+     * Evicts the events older than the maximum age from every scope, including scopes of
+     * threads that never end them.
+     *
+     * @param nowMillis the current time in epoch millis
+     * @return the number of events evicted
+     */
+    public int evictExpired(long nowMillis) {
+        int evicted = 0;
+        for (Scope scope : scopes) {
+            evicted += scope.evictOlderThan(nowMillis - maxAgeMillis);
+        }
+        return evicted;
+    }
+
+    /**
+     * Gets the number of scopes currently holding events.
+     *
+     * @return the scope count
+     */
+    public int getScopeCount() {
+        return scopes.size();
+    }
+
+    /**
+     * Gets the estimated bytes currently buffered across all scopes.
+     *
+     * @return the buffered bytes
+     */
+    public long getBufferedBytes() {
+        return totalBytes.get();
+    }
+
+    /**
+     * Gets and resets the number of events dropped or evicted by the byte caps.
+     *
+     * @return the dropped count since the previous call
+     */
+    public long drainDropped() {
+        return dropped.sumThenReset();
+    }
+
+    private boolean reserve(long size) {
+        while (true) {
+            long current = totalBytes.get();
+            if (current + size > maxBytesTotal) {
+                return false;
+            }
+            if (totalBytes.compareAndSet(current, current + size)) {
+                return true;
+            }
+        }
+    }
+
+    private static long estimateSize(ILoggingEvent event) {
+        String message = event.getMessage();
+        Object[] arguments = event.getArgumentArray();
+        long size = EVENT_OVERHEAD_BYTES;
+        size += message != null ? 2L * message.length() : 0;
+        size += arguments != null ? (long) ARGUMENT_BYTES * arguments.length : 0;
+        size += event.getThrowableProxy() != null ? THROWABLE_BYTES : 0;
+        return size;
+    }
+
+    /**
+     * A buffered event and the LogContext snapshot taken when it was logged.
+     */
+    public static final class Buffered {
+        private final ILoggingEvent event;
+        private final LogContext.Snapshot context;
+        private final long timestamp;
+        private final long size;
+
+        Buffered(ILoggingEvent event, LogContext.Snapshot context, long timestamp, long size) {
+            this.event = event;
+            this.context = context;
+            this.timestamp = timestamp;
+            this.size = size;
+        }
+
+        public ILoggingEvent getEvent() {
+            return event;
+        }
+
+        public LogContext.Snapshot getContext() {
+            return context;
+        }
+    }
+
+    /**
+     * Copy of a logging event taken on the logging thread, so that arguments, key-value pairs
+     * and MDC changed after the log call do not leak into the shipped event.
+     */
+    private static final class FrozenEvent implements ILoggingEvent {
+        private final ILoggingEvent event;
+        private final String threadName;
+        private final String formattedMessage;
+        private final Map<String, String> mdc;
+        private final Object[] arguments;
+        private final List<KeyValuePair> keyValuePairs;
+
+        FrozenEvent(ILoggingEvent event) {
+            this.event = event;
+            this.threadName = event.getThreadName();
+            this.formattedMessage = event.getFormattedMessage();
+            this.mdc = event.getMDCPropertyMap();
+            this.arguments = freeze(event.getArgumentArray());
+            this.keyValuePairs = freeze(event.getKeyValuePairs());
+        }
+
+        private static Object[] freeze(Object[] arguments) {
+            if (arguments == null) {
+                return null;
+            }
+            Object[] frozen = new Object[arguments.length];
+            for (int i = 0; i < arguments.length; i++) {
+                frozen[i] = arguments[i] instanceof KeyValuePair keyValuePair
+                        ? freeze(keyValuePair)
+                        : freeze(arguments[i]);
+            }
+            return frozen;
+        }
+
+        private static List<KeyValuePair> freeze(List<KeyValuePair> keyValuePairs) {
+            if (keyValuePairs == null || keyValuePairs.isEmpty()) {
+                return keyValuePairs;
+            }
+            List<KeyValuePair> frozen = new ArrayList<>(keyValuePairs.size());
+            for (KeyValuePair keyValuePair : keyValuePairs) {
+                frozen.add(freeze(keyValuePair));
+            }
+            return frozen;
+        }
+
+        private static KeyValuePair freeze(KeyValuePair keyValuePair) {
+            return keyValuePair != null ? new KeyValuePair(keyValuePair.key, freeze(keyValuePair.value)) : null;
+        }
+
+        private static Object freeze(Object value) {
+            if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean) {
+                return value;
+            }
+            return String.valueOf(value);
+        }
+
+        @Override
+        public String getThreadName() {
+            return threadName;
+        }
+
+        @Override
+        public Level getLevel() {
+            return event.getLevel();
+        }
+
+        @Override
+        public String getMessage() {
+            return event.getMessage();
+        }
+
+        @Override
+        public Object[] getArgumentArray() {
+            return arguments;
+        }
+
+        @Override
+        public String getFormattedMessage() {
+            return formattedMessage;
+        }
+
+        @Override
+        public String getLoggerName() {
+            return event.getLoggerName();
+        }
+
+        @Override
+        public LoggerContextVO getLoggerContextVO() {
+            return event.getLoggerContextVO();
+        }
+
+        @Override
+        public IThrowableProxy getThrowableProxy() {
+            return event.getThrowableProxy();
+        }
+
+        @Override
+        public StackTraceElement[] getCallerData() {
+            return event.getCallerData();
+        }
+
+        @Override
+        public boolean hasCallerData() {
+            return event.hasCallerData();
+        }
+
+        @Override
+        public List<Marker> getMarkerList() {
+            return event.getMarkerList();
+        }
+
+        @Override
+        public Map<String, String> getMDCPropertyMap() {
+            return mdc;
+        }
+
+        @Override
+        @SuppressWarnings("deprecation")
+        public Map<String, String> getMdc() {
+            return mdc;
+        }
+
+        @Override
+        public long getTimeStamp() {
+            return event.getTimeStamp();
+        }
+
+        @Override
+        public int getNanoseconds() {
+            return event.getNanoseconds();
+        }
+
+        @Override
+        public long getSequenceNumber() {
+            return event.getSequenceNumber();
+        }
+
+        @Override
+        public List<KeyValuePair> getKeyValuePairs() {
+            return keyValuePairs;
+        }
+
+        @Override
+        public void prepareForDeferredProcessing() {
+            // Already frozen
+        }
+    }
+
+    /**
+     * Events of one scope; released (and uncounted) when the scope ends, is drained or its
+     * events expire. It is registered in {@link #scopes} exactly while it holds events.
+     */
+    private final class Scope implements LogContext.ScopeResource {
+        private final ArrayDeque<Buffered> events = new ArrayDeque<>();
+        private long bytes;
+
+        synchronized void add(Buffered buffered) {
+            if (events.isEmpty()) {
+                scopes.add(this);
+            }
+            events.addLast(buffered);
+            bytes += buffered.size;
+        }
+
+        /**
+         * Evicts the oldest events until at most {@code limit} bytes are held.
+         *
+         * @return the number of events evicted
+         */
+        synchronized int evictToFit(long limit) {
+            int evicted = 0;
+            while (bytes > limit && !events.isEmpty()) {
+                evictOldest();
+                evicted++;
+            }
+            return evicted;
+        }
+
+        /**
+         * Evicts the events logged before the cutoff.
+         *
+         * @return the number of events evicted
+         */
+        synchronized int evictOlderThan(long cutoffMillis) {
+            int evicted = 0;
+            while (!events.isEmpty() && events.peekFirst().timestamp < cutoffMillis) {
+                evictOldest();
+                evicted++;
+            }
+            return evicted;
+        }
+
+        synchronized List<Buffered> drain() {
+            if (events.isEmpty()) {
+                return Collections.emptyList();
+            }
+            List<Buffered> drained = new ArrayList<>(events);
+            release();
+            return drained;
+        }
+
+        private void evictOldest() {
+            Buffered oldest = events.pollFirst();
+            bytes -= oldest.size;
+            totalBytes.addAndGet(-oldest.size);
+            if (events.isEmpty()) {
+                scopes.remove(this);
+            }
+        }
+
+        @Override
+        public synchronized void release() {
+            if (bytes > 0) {
+                totalBytes.addAndGet(-bytes);
+            }
+            events.clear();
+            bytes = 0;
+            scopes.remove(this);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package io.loghub.logger.filter;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free token bucket, implemented as a generic cell rate algorithm (GCRA).
+ *
+ * <p>The whole bucket state is one {@link AtomicLong} holding the theoretical arrival time
+ * of the next event. Acquiring a permit is a read, some arithmetic and a single CAS, so the
+ * check is cheap enough to run on every append.
+ */
+public final class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final double ratePerSecond;
+    private final AtomicLong theoreticalArrival;
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Creates a token bucket.
+     *
+     * @param ratePerSecond the sustained number of permits per second
+     * @param burst         the maximum number of permits available at once (at least 1)
+     */
+    public TokenBucket(double ratePerSecond, int burst) {
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("Rate must be positive: " + ratePerSecond);
+        }
+        this.ratePerSecond = ratePerSecond;
+        this.emissionIntervalNanos = Math.max(1L, (long) (1_000_000_000L / ratePerSecond));
+        this.burstToleranceNanos = emissionIntervalNanos * (Math.max(1, burst) - 1);
+        this.theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+    }
+
+    /**
+     * Tries to take one permit. Rejections are counted.
+     *
+     * @param nowNanos the current {@link System#nanoTime()}
+     * @return true if a permit was available
+     */
+    public boolean tryAcquire(long nowNanos) {
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long base = tat == Long.MIN_VALUE || tat - nowNanos < 0 ? nowNanos : tat;
+            if (base - nowNanos > burstToleranceNanos) {
+                rejected.increment();
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(tat, base + emissionIntervalNanos)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Checks whether a permit is available, without taking it.
+     *
+     * @param nowNanos the current {@link System#nanoTime()}
+     * @return true if {@link #tryAcquire(long)} would currently succeed
+     */
+    public boolean hasPermit(long nowNanos) {
+        long tat = theoreticalArrival.get();
+        return tat == Long.MIN_VALUE || tat - nowNanos <= burstToleranceNanos;
+    }
+
+    /**
+     * Counts a rejection if no permit is available, without taking one otherwise.
+     * Used by callers that reject early and leave the actual acquisition to a later stage.
+     *
+     * @param nowNanos the current {@link System#nanoTime()}
+     * @return true if no permit was available (and a rejection was counted)
+     */
+    public boolean rejectIfExhausted(long nowNanos) {
+        if (hasPermit(nowNanos)) {
+            return false;
+        }
+        rejected.increment();
+        return true;
+    }
+
+    /**
+     * Gets and resets the number of rejected acquisitions.
+     *
+     * @return the rejections since the previous call
+     */
+    public long drainRejected() {
+        return rejected.sumThenReset();
+    }
+
+    /**
+     * Gets the configured sustained rate.
+     *
+     * @return the permits per second
+     */
+    public double getRatePerSecond() {
+        return ratePerSecond;
+    }
+}
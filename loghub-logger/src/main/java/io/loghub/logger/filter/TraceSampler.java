@@ -0,0 +1,172 @@
+package io.loghub.logger.filter;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import io.loghub.logger.converter.LogEventConverter;
+import io.loghub.logger.util.Fnv1a;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Trace-consistent, per-level event sampler.
+ *
+ * <p>The keep/drop decision hashes the event's trace ID into {@code [0, 1)} and keeps the
+ * event if the position is below the rate of its level:
+ * <pre>{@code
+ * position = (Fnv1a.hash(Fnv1a.INITIAL, traceId) >>> 11) * 2^-53
+ * }</pre>
+ * Every event of a trace therefore gets the same verdict, and since the position does not
+ * depend on the level, a trace kept at a low rate (INFO) is also kept at every higher rate
+ * (WARN, ERROR). Events without a trace ID are sampled independently at random.
+ *
+ * <p>Levels at 100% are decided without even looking up the trace ID.
+ *
+ * <p>Specification format: comma or semicolon separated {@code LEVEL=rate} entries, where
+ * rate is a fraction or a percentage; unlisted levels are kept:
+ * <pre>{@code
+ * ERROR=100%, WARN=50%, INFO=5%
+ * }</pre>
+ */
+public final class TraceSampler {
+
+    /**
+     * Verdict for dropped events.
+     */
+    public static final double DROP = 0.0;
+
+    private static final double UNIT = 0x1.0p-53;
+
+    private final double trace;
+    private final double debug;
+    private final double info;
+    private final double warn;
+    private final double error;
+
+    private TraceSampler(double trace, double debug, double info, double warn, double error) {
+        this.trace = trace;
+        this.debug = debug;
+        this.info = info;
+        this.warn = warn;
+        this.error = error;
+    }
+
+    /**
+     * Parses a sampling specification.
+     *
+     * @param spec the specification
+     * @return the sampler
+     * @throws IllegalArgumentException if an entry is malformed or a rate is outside [0, 1]
+     */
+    public static TraceSampler parse(String spec) {
+        double[] rates = {1.0, 1.0, 1.0, 1.0, 1.0};
+        if (spec != null) {
+            for (String entry : spec.split("[,;]")) {
+                String trimmed = entry.trim();
+                if (trimmed.isEmpty()) {
+                    continue;
+                }
+                int eq = trimmed.indexOf('=');
+                if (eq <= 0) {
+                    throw new IllegalArgumentException("Invalid sample rate entry: " + trimmed);
+                }
+                Level level = Level.toLevel(trimmed.substring(0, eq).trim(), null);
+                if (level == null || level.toInt() < Level.TRACE_INT || level.toInt() > Level.ERROR_INT) {
+                    throw new IllegalArgumentException("Invalid sample rate level: " + trimmed);
+                }
+                rates[indexOf(level)] = parseRate(trimmed.substring(eq + 1).trim(), trimmed);
+            }
+        }
+        return new TraceSampler(rates[0], rates[1], rates[2], rates[3], rates[4]);
+    }
+
+    /**
+     * Decides whether an event is shipped.
+     *
+     * @param event the logging event
+     * @return the rate the event was kept at (in {@code (0, 1]}), or {@link #DROP}
+     */
+    public double sample(ILoggingEvent event) {
+        return sample(event, rateFor(event.getLevel()));
+    }
+
+    /**
+     * Decides whether an event is shipped at a given rate, with the same trace-consistent
+     * positions as the per-level rates.
+     *
+     * @param event the logging event
+     * @param rate  the rate in [0, 1]
+     * @return the rate the event was kept at (in {@code (0, 1]}), or {@link #DROP}
+     */
+    public static double sample(ILoggingEvent event, double rate) {
+        if (rate >= 1.0) {
+            return 1.0;
+        }
+        if (rate <= 0.0) {
+            return DROP;
+        }
+        return position(LogEventConverter.traceIdOf(event)) < rate ? rate : DROP;
+    }
+
+    /**
+     * Gets the configured rate of a level.
+     *
+     * @param level the level
+     * @return the rate in [0, 1]
+     */
+    public double rateFor(Level level) {
+        if (level == null) {
+            return info;
+        }
+        return switch (level.toInt()) {
+            case Level.TRACE_INT -> trace;
+            case Level.DEBUG_INT -> debug;
+            case Level.WARN_INT -> warn;
+            case Level.ERROR_INT -> error;
+            default -> info;
+        };
+    }
+
+    /**
+     * Maps a trace ID to its sampling position.
+     *
+     * @param traceId the trace ID, or null for a random position
+     * @return the position in [0, 1)
+     */
+    static double position(String traceId) {
+        if (traceId == null || traceId.isEmpty()) {
+            return ThreadLocalRandom.current().nextDouble();
+        }
+        return (Fnv1a.hash(Fnv1a.INITIAL, traceId) >>> 11) * UNIT;
+    }
+
+    private static int indexOf(Level level) {
+        return switch (level.toInt()) {
+            case Level.TRACE_INT -> 0;
+            case Level.DEBUG_INT -> 1;
+            case Level.WARN_INT -> 3;
+            case Level.ERROR_INT -> 4;
+            default -> 2;
+        };
+    }
+
+    /**
+     * Parses a rate given as a fraction or a percentage.
+     *
+     * @param value the rate text
+     * @param entry the whole entry, for error messages
+     * @return the rate in [0, 1]
+     */
+    static double parseRate(String value, String entry) {
+        try {
+            double rate = value.endsWith("%")
+                    ? Double.parseDouble(value.substring(0, value.length() - 1).trim()) / 100.0
+                    : Double.parseDouble(value);
+            if (rate < 0.0 || rate > 1.0 || Double.isNaN(rate)) {
+                throw new IllegalArgumentException("Sample rate out of range: " + entry);
+            }
+            return rate;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid sample rate entry: " + entry, e);
+        }
+    }
+}
@@ -6,6 +6,9 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import io.loghub.contract.LogEvent;
 import io.loghub.logger.config.LogHubConfig;
+import io.loghub.logger.jfr.LogHubHttpSendEvent;
+import io.loghub.logger.metrics.DropReason;
+import io.loghub.logger.metrics.LogHubMetrics;
 
 import java.net.URI;
 import java.net.http.HttpClient;
@@ -13,20 +16,38 @@ import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * HTTP client for sending log events to the LogHub API.
  * Uses Java's native HttpClient for async communication.
+ *
+ * <p>Response status codes, round-trip and serialization times and body sizes are recorded in
+ * the {@link LogHubMetrics} given at construction; they are never surfaced as errors. Requests
+ * are also emitted as {@link LogHubHttpSendEvent} JFR events when enabled in a recording.
  */
 public class LogHubHttpClient {
 
     private static final String CONTENT_TYPE_JSON = "application/json";
 
+    /**
+     * Status a send completes with when no HTTP response came back.
+     */
+    public static final int NO_RESPONSE = 0;
+
+    /**
+     * Status {@link #sendWithStatus} completes with when a subclass' {@link #sendAsync} completed
+     * normally: the request is done, but whether the server accepted it is not known.
+     */
+    public static final int UNKNOWN_STATUS = -1;
+
     private final HttpClient httpClient;
     private final ObjectMapper objectMapper;
     private final String endpoint;
     private final String apiKey;
     private final Duration timeout;
+    private final LogHubMetrics metrics;
+    private final boolean sendAsyncOverridden;
 
     /**
      * Creates a new HTTP client.
@@ -46,7 +67,21 @@ public class LogHubHttpClient {
      * @param apiKey    the API key for authentication (can be null)
      */
     public LogHubHttpClient(String endpoint, int timeoutMs, String apiKey) {
+        this(endpoint, timeoutMs, apiKey, new LogHubMetrics());
+    }
+
+    /**
+     * Creates a new HTTP client recording into the given metrics.
+     *
+     * @param endpoint  the LogHub API endpoint URL
+     * @param timeoutMs the request timeout in milliseconds
+     * @param apiKey    the API key for authentication (can be null)
+     * @param metrics   the metrics to record into
+     */
+    public LogHubHttpClient(String endpoint, int timeoutMs, String apiKey, LogHubMetrics metrics) {
         this.endpoint = endpoint;
+        this.metrics = metrics;
+        this.sendAsyncOverridden = overridesSendAsync(getClass());
         this.timeout = Duration.ofMillis(timeoutMs);
         this.apiKey = apiKey;
 
@@ -66,8 +101,38 @@ public class LogHubHttpClient {
      * @return a CompletableFuture that completes when the request is done
      */
     public CompletableFuture<Void> sendAsync(LogEvent logEvent) {
+        // An override calling super.sendAsync must not be routed back to itself
+        return (sendAsyncOverridden ? send(logEvent) : sendWithStatus(logEvent)).thenApply(status -> null);
+    }
+
+    /**
+     * Sends a log event and reports the HTTP status. The queue uses it to tell acknowledged
+     * events apart; this is the method to override for a transport that knows its status.
+     *
+     * <p>Subclasses that only override {@link #sendAsync} keep receiving every event, but their
+     * status is not known: a future completing normally reports {@link #UNKNOWN_STATUS}, one
+     * completing exceptionally {@link #NO_RESPONSE}. Such events are settled without counting
+     * as acknowledged.
+     *
+     * @param logEvent the log event to send
+     * @return a CompletableFuture that completes when the request is done, with the HTTP status,
+     *         {@link #NO_RESPONSE} or {@link #UNKNOWN_STATUS}; it never completes exceptionally
+     */
+    public CompletableFuture<Integer> sendWithStatus(LogEvent logEvent) {
+        if (sendAsyncOverridden) {
+            return sendAsync(logEvent).handle((result, error) -> error == null ? UNKNOWN_STATUS : NO_RESPONSE);
+        }
+        return send(logEvent);
+    }
+
+    private CompletableFuture<Integer> send(LogEvent logEvent) {
         try {
-            String json = objectMapper.writeValueAsString(logEvent);
+            long serializeStart = System.nanoTime();
+            byte[] body = objectMapper.writeValueAsBytes(logEvent);
+            long sentAt = System.nanoTime();
+            metrics.recordSerialized(body.length, sentAt - serializeStart);
+            LogHubHttpSendEvent jfr = new LogHubHttpSendEvent();
+            jfr.begin();
 
             HttpRequest.Builder requestBuilder = HttpRequest.newBuilder()
                     .uri(URI.create(endpoint))
@@ -80,22 +145,42 @@ public class LogHubHttpClient {
             }
 
             HttpRequest request = requestBuilder
-                    .POST(HttpRequest.BodyPublishers.ofString(json))
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(body))
                     .build();
 
             return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
-                    .thenAccept(response -> {
-                        // Log response status for debugging (non-blocking)
+                    .handle((response, throwable) -> {
                         // We don't throw on error status to avoid impacting the application
-                    })
-                    .exceptionally(throwable -> {
-                        // Silently handle exceptions - we never want to impact the application
-                        return null;
+                        long elapsed = System.nanoTime() - sentAt;
+                        if (response != null) {
+                            metrics.recordResponse(response.statusCode(), elapsed);
+                        } else {
+                            metrics.recordTransportFailure(elapsed);
+                            metrics.recordFailureCause(throwable instanceof CompletionException && throwable.getCause() != null
+                                    ? throwable.getCause() : throwable);
+                        }
+                        int status = response != null ? response.statusCode() : NO_RESPONSE;
+                        if (jfr.shouldCommit()) {
+                            jfr.status = status;
+                            jfr.bytes = body.length;
+                            jfr.commit();
+                        }
+                        return status;
                     });
 
         } catch (JsonProcessingException e) {
             // Return completed future on serialization error
-            return CompletableFuture.completedFuture(null);
+            metrics.recordDropped(DropReason.SERIALIZATION, logEvent.getLevel());
+            metrics.recordFailureCause(e);
+            return CompletableFuture.completedFuture(NO_RESPONSE);
+        }
+    }
+
+    private static boolean overridesSendAsync(Class<?> type) {
+        try {
+            return type.getMethod("sendAsync", LogEvent.class).getDeclaringClass() != LogHubHttpClient.class;
+        } catch (NoSuchMethodException e) {
+            return false;
         }
     }
 
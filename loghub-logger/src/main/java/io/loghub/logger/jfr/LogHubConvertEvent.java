@@ -0,0 +1,29 @@
+package io.loghub.logger.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event for the conversion of a Logback event on the logging thread.
+ */
+@Name("io.loghub.Convert")
+@Label("LogHub Convert")
+@Category("LogHub")
+@Description("Conversion of a Logback event to a LogHub event")
+@Enabled(false)
+@StackTrace(false)
+@Threshold("100 us")
+public final class LogHubConvertEvent extends Event {
+
+    @Label("Logger")
+    public String logger;
+
+    @Label("Level")
+    public String level;
+}
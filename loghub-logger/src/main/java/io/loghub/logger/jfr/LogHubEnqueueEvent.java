@@ -0,0 +1,31 @@
+package io.loghub.logger.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for an event offered to {@code LogEventQueue}, accepted or dropped.
+ */
+@Name("io.loghub.Enqueue")
+@Label("LogHub Enqueue")
+@Category("LogHub")
+@Description("An event offered to the LogHub queue")
+@Enabled(false)
+@StackTrace(false)
+public final class LogHubEnqueueEvent extends Event {
+
+    @Label("Level")
+    public String level;
+
+    @Label("Dropped")
+    @Description("True if both queue lanes were full")
+    public boolean dropped;
+
+    @Label("Queue Depth")
+    public int queueDepth;
+}
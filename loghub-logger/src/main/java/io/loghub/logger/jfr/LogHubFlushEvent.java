@@ -0,0 +1,36 @@
+package io.loghub.logger.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event spanning a flush of the queue, from the request until the accepted events are
+ * acknowledged or the timeout elapses.
+ */
+@Name("io.loghub.Flush")
+@Label("LogHub Flush")
+@Category("LogHub")
+@Description("Flush or draining stop of the LogHub queue")
+@Enabled(false)
+@StackTrace(false)
+@Threshold("0 ms")
+public final class LogHubFlushEvent extends Event {
+
+    @Label("Reason")
+    @Description("flush or stop")
+    public String reason;
+
+    @Label("Events")
+    @Description("Events pending when the flush was requested")
+    public long events;
+
+    @Label("Completed")
+    @Description("False if the timeout elapsed first")
+    public boolean completed;
+}
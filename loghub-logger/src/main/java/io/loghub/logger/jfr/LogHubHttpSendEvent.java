@@ -0,0 +1,32 @@
+package io.loghub.logger.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event spanning one HTTP request, from sending until the response or failure.
+ */
+@Name("io.loghub.HttpSend")
+@Label("LogHub HTTP Send")
+@Category("LogHub")
+@Description("HTTP request carrying a LogHub event")
+@Enabled(false)
+@StackTrace(false)
+@Threshold("20 ms")
+public final class LogHubHttpSendEvent extends Event {
+
+    @Label("Status")
+    @Description("HTTP status, or 0 if no response came back")
+    public int status;
+
+    @Label("Body Size")
+    @DataAmount(DataAmount.BYTES)
+    public int bytes;
+}
@@ -0,0 +1,32 @@
+package io.loghub.logger.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event for the sensitive data masking of a message, or of all template arguments of
+ * one event when templates are preserved.
+ */
+@Name("io.loghub.Mask")
+@Label("LogHub Mask")
+@Category("LogHub")
+@Description("Sensitive data masking of a message or its arguments")
+@Enabled(false)
+@StackTrace(false)
+@Threshold("50 us")
+public final class LogHubMaskEvent extends Event {
+
+    @Label("Input Length")
+    @Description("Characters scanned (message, or the string forms of all arguments)")
+    public int inputLength;
+
+    @Label("Masked")
+    @Description("True if any sensitive pattern matched")
+    public boolean masked;
+}
@@ -0,0 +1,42 @@
+package io.loghub.logger.metrics;
+
+/**
+ * Why an event accepted by the appender's level check was not shipped.
+ */
+public enum DropReason {
+
+    /**
+     * Not kept by trace sampling.
+     */
+    SAMPLED,
+
+    /**
+     * Over its logger's rate limit.
+     */
+    RATE_LIMITED,
+
+    /**
+     * Collapsed into a repeated-message summary.
+     */
+    DUPLICATE,
+
+    /**
+     * Both queue lanes were full.
+     */
+    QUEUE_FULL,
+
+    /**
+     * The event could not be serialized to JSON.
+     */
+    SERIALIZATION,
+
+    /**
+     * Still queued when the drain deadline of a stop passed.
+     */
+    SHUTDOWN,
+
+    /**
+     * Conversion or sending failed unexpectedly.
+     */
+    ERROR
+}
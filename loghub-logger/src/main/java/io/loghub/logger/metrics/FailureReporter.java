@@ -0,0 +1,107 @@
+package io.loghub.logger.metrics;
+
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Builds the appender's periodic status summary of events lost and requests failed since
+ * the previous summary, from the counters the pipeline keeps anyway, so reporting adds no
+ * work to the failure paths themselves.
+ *
+ * <p>Drops caused by configured policies (sampling, rate limits, deduplication) are listed
+ * alongside but do not trigger a summary on their own; queue overflow, serialization
+ * errors, other errors and failed requests do. The latest failure cause recorded in the
+ * metrics is included when it is new since the previous summary.
+ *
+ * <p>Not thread-safe: meant to be called from a single scheduler thread.
+ */
+public final class FailureReporter {
+
+    private static final Set<DropReason> LOSSES = EnumSet.of(
+            DropReason.QUEUE_FULL, DropReason.SERIALIZATION, DropReason.ERROR);
+
+    private final LogHubMetrics metrics;
+    private final long[] dropped = new long[DropReason.values().length];
+    private Map<String, Long> failedByStatus = Map.of();
+    private Throwable reportedCause;
+    private long lastReportNanos = System.nanoTime();
+
+    /**
+     * Creates a reporter whose first interval starts now.
+     *
+     * @param metrics the metrics to summarize
+     */
+    public FailureReporter(LogHubMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Summarizes the interval since the previous call and starts the next one.
+     *
+     * @return the summary, or null if no event was lost and no request failed
+     */
+    public String summarize() {
+        long now = System.nanoTime();
+        long seconds = Math.max(1L, Math.round((now - lastReportNanos) / 1e9));
+        lastReportNanos = now;
+
+        StringBuilder losses = new StringBuilder();
+        StringBuilder policies = new StringBuilder();
+        long lost = 0;
+        for (DropReason reason : DropReason.values()) {
+            long current = metrics.getDropped(reason);
+            long delta = current - dropped[reason.ordinal()];
+            dropped[reason.ordinal()] = current;
+            if (delta == 0) {
+                continue;
+            }
+            if (LOSSES.contains(reason)) {
+                lost += delta;
+                append(losses, reason.name(), delta);
+            } else {
+                append(policies, reason.name(), delta);
+            }
+        }
+
+        Map<String, Long> currentFailedByStatus = metrics.getFailedByStatus();
+        StringBuilder failures = new StringBuilder();
+        long failed = 0;
+        for (Map.Entry<String, Long> entry : currentFailedByStatus.entrySet()) {
+            long delta = entry.getValue() - failedByStatus.getOrDefault(entry.getKey(), 0L);
+            if (delta > 0) {
+                failed += delta;
+                append(failures, entry.getKey(), delta);
+            }
+        }
+        failedByStatus = currentFailedByStatus;
+
+        if (lost == 0 && failed == 0) {
+            return null;
+        }
+
+        StringBuilder summary = new StringBuilder("LogHub in the last ").append(seconds).append(" s: ");
+        if (lost > 0) {
+            summary.append("lost ").append(lost).append(" events (").append(losses).append(')');
+        }
+        if (failed > 0) {
+            summary.append(lost > 0 ? "; " : "").append(failed).append(" requests failed (").append(failures).append(')');
+        }
+        if (policies.length() > 0) {
+            summary.append("; dropped by policy (").append(policies).append(')');
+        }
+        Throwable cause = metrics.getLastFailureCause();
+        if (cause != null && cause != reportedCause) {
+            summary.append("; last cause: ").append(cause);
+            reportedCause = cause;
+        }
+        return summary.toString();
+    }
+
+    private static void append(StringBuilder list, String key, long count) {
+        if (list.length() > 0) {
+            list.append(", ");
+        }
+        list.append(key).append('=').append(count);
+    }
+}
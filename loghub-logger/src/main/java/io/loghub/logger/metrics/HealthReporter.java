@@ -0,0 +1,112 @@
+package io.loghub.logger.metrics;
+
+import io.loghub.logger.util.SdkVersion;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Summarizes a {@link LogHubMetrics} into the metadata of a health event, covering the
+ * interval since the previous summary, so the appender can ship its own health through the
+ * pipeline and drops can be found centrally without reaching each instance over JMX.
+ *
+ * <p>Keys, all prefixed with {@code health.}: {@code sdkVersion}, {@code intervalMs},
+ * {@code queueDepth}, {@code inFlight}; the interval's {@code received}, {@code enqueued},
+ * {@code sent}, {@code failed} and {@code dropped} counts, {@code dropped.<REASON>} per
+ * {@link DropReason} and {@code failed.<status>} per failure status; {@code errorRate}
+ * (failed over completed requests); {@code deliveryP99Ms} and {@code httpP99Ms} over the
+ * interval; and {@code droppedTotal} since start.
+ *
+ * <p>Not thread-safe: meant to be called from a single scheduler thread.
+ */
+public final class HealthReporter {
+
+    private static final String PREFIX = "health.";
+
+    private final LogHubMetrics metrics;
+    private long lastReportNanos = System.nanoTime();
+    private long received;
+    private long enqueued;
+    private long sent;
+    private long failed;
+    private final long[] dropped = new long[DropReason.values().length];
+    private Map<String, Long> failedByStatus = Map.of();
+    private LatencyHistogram.Snapshot enqueueToAck = LatencyHistogram.Snapshot.EMPTY;
+    private LatencyHistogram.Snapshot httpRoundTrip = LatencyHistogram.Snapshot.EMPTY;
+
+    /**
+     * Creates a reporter whose first interval starts now.
+     *
+     * @param metrics the metrics to summarize
+     */
+    public HealthReporter(LogHubMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Summarizes the interval since the previous call (or since construction) and starts
+     * the next one.
+     *
+     * @return the health metadata, in a stable key order
+     */
+    public Map<String, Object> report() {
+        long now = System.nanoTime();
+        Map<String, Object> health = new LinkedHashMap<>();
+        health.put(PREFIX + "sdkVersion", SdkVersion.getVersion());
+        health.put(PREFIX + "intervalMs", (now - lastReportNanos) / 1_000_000L);
+        health.put(PREFIX + "queueDepth", metrics.getQueueDepth());
+        health.put(PREFIX + "inFlight", metrics.getInFlightRequests());
+
+        long currentReceived = metrics.getReceived();
+        long currentEnqueued = metrics.getEnqueued();
+        long currentSent = metrics.getSent();
+        long currentFailed = metrics.getFailed();
+        health.put(PREFIX + "received", currentReceived - received);
+        health.put(PREFIX + "enqueued", currentEnqueued - enqueued);
+        health.put(PREFIX + "sent", currentSent - sent);
+        health.put(PREFIX + "failed", currentFailed - failed);
+
+        Map<String, Object> droppedByReason = new LinkedHashMap<>();
+        long droppedInInterval = 0;
+        for (DropReason reason : DropReason.values()) {
+            long current = metrics.getDropped(reason);
+            long delta = current - dropped[reason.ordinal()];
+            dropped[reason.ordinal()] = current;
+            droppedInInterval += delta;
+            droppedByReason.put(PREFIX + "dropped." + reason.name(), delta);
+        }
+        health.put(PREFIX + "dropped", droppedInInterval);
+        health.putAll(droppedByReason);
+
+        Map<String, Long> currentFailedByStatus = metrics.getFailedByStatus();
+        currentFailedByStatus.forEach((status, count) -> {
+            long delta = count - failedByStatus.getOrDefault(status, 0L);
+            if (delta > 0) {
+                health.put(PREFIX + "failed." + status, delta);
+            }
+        });
+
+        long completed = (currentSent - sent) + (currentFailed - failed);
+        health.put(PREFIX + "errorRate", completed > 0 ? (double) (currentFailed - failed) / completed : 0.0);
+
+        LatencyHistogram.Snapshot currentEnqueueToAck = metrics.getEnqueueToAckHistogram().snapshot();
+        LatencyHistogram.Snapshot currentHttpRoundTrip = metrics.getHttpRoundTripHistogram().snapshot();
+        health.put(PREFIX + "deliveryP99Ms", p99Millis(currentEnqueueToAck.since(enqueueToAck)));
+        health.put(PREFIX + "httpP99Ms", p99Millis(currentHttpRoundTrip.since(httpRoundTrip)));
+        health.put(PREFIX + "droppedTotal", metrics.getDropped());
+
+        lastReportNanos = now;
+        received = currentReceived;
+        enqueued = currentEnqueued;
+        sent = currentSent;
+        failed = currentFailed;
+        failedByStatus = currentFailedByStatus;
+        enqueueToAck = currentEnqueueToAck;
+        httpRoundTrip = currentHttpRoundTrip;
+        return health;
+    }
+
+    private static double p99Millis(LatencyHistogram.Snapshot snapshot) {
+        return snapshot.getCount() == 0 ? 0.0 : Math.round(snapshot.getValueAtQuantile(0.99) / 10_000.0) / 100.0;
+    }
+}
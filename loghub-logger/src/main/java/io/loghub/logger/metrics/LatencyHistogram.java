@@ -0,0 +1,176 @@
+package io.loghub.logger.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with log-linear buckets, in nanoseconds.
+ *
+ * <p>Each power of two is split into 8 linear sub-buckets, so a recorded value is resolved
+ * to within 12.5% of itself. Values up to 2^41 ns (about 36 minutes) are tracked; larger ones
+ * land in the last bucket. Recording is one array index computation and one atomic add,
+ * without locks or allocation; reading takes a {@link Snapshot} of all the buckets. Snapshots
+ * are cumulative; the difference of two (see {@link Snapshot#since(Snapshot)}) describes the
+ * interval between them.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 40;
+    private static final long MAX_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+
+    /**
+     * Number of buckets.
+     */
+    static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder totalNanos = new LongAdder();
+
+    /**
+     * Records one duration.
+     *
+     * @param nanos the duration in nanoseconds; negative values are recorded as 0
+     */
+    public void record(long nanos) {
+        long value = Math.max(0L, nanos);
+        counts.getAndIncrement(indexOf(value));
+        totalNanos.add(value);
+    }
+
+    /**
+     * Takes a snapshot of the recorded durations. Concurrent recordings may or may not be
+     * included.
+     *
+     * @return the snapshot
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+            count += copy[i];
+        }
+        return new Snapshot(copy, count, totalNanos.sum());
+    }
+
+    static int indexOf(long value) {
+        long clamped = Math.min(value, MAX_VALUE);
+        if (clamped < SUB_BUCKETS) {
+            return (int) clamped;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(clamped);
+        int subBucket = (int) (clamped >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long lowerBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int subBucket = index % SUB_BUCKETS;
+        return (long) (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+    }
+
+    static long upperBound(int index) {
+        return index + 1 < BUCKETS ? lowerBound(index + 1) - 1 : MAX_VALUE;
+    }
+
+    /**
+     * Point-in-time view of a {@link LatencyHistogram}.
+     */
+    public static final class Snapshot {
+
+        /**
+         * Snapshot of a histogram with nothing recorded.
+         */
+        public static final Snapshot EMPTY = new Snapshot(new long[BUCKETS], 0, 0);
+
+        private final long[] counts;
+        private final long count;
+        private final long totalNanos;
+
+        Snapshot(long[] counts, long count, long totalNanos) {
+            this.counts = counts;
+            this.count = count;
+            this.totalNanos = totalNanos;
+        }
+
+        /**
+         * Gets the durations recorded after an earlier snapshot of the same histogram.
+         *
+         * @param earlier the earlier snapshot
+         * @return the snapshot of the interval between both
+         */
+        public Snapshot since(Snapshot earlier) {
+            long[] delta = new long[counts.length];
+            long deltaCount = 0;
+            for (int i = 0; i < counts.length; i++) {
+                delta[i] = Math.max(0L, counts[i] - earlier.counts[i]);
+                deltaCount += delta[i];
+            }
+            return new Snapshot(delta, deltaCount, Math.max(0L, totalNanos - earlier.totalNanos));
+        }
+
+        /**
+         * Gets the number of recorded durations.
+         *
+         * @return the count
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Gets the mean duration.
+         *
+         * @return the mean in nanoseconds, or 0 if nothing was recorded
+         */
+        public double getMean() {
+            return count == 0 ? 0.0 : (double) totalNanos / count;
+        }
+
+        /**
+         * Gets the duration below which the given fraction of recordings fall, as the midpoint
+         * of the bucket holding it.
+         *
+         * @param quantile the fraction, in [0, 1]
+         * @return the duration in nanoseconds, or 0 if nothing was recorded
+         */
+        public long getValueAtQuantile(double quantile) {
+            if (count == 0) {
+                return 0L;
+            }
+            long rank = Math.max(1L, (long) Math.ceil(Math.min(1.0, Math.max(0.0, quantile)) * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return midpoint(i);
+                }
+            }
+            return midpoint(counts.length - 1);
+        }
+
+        /**
+         * Gets the largest recorded duration, as the upper bound of its bucket.
+         *
+         * @return the duration in nanoseconds, or 0 if nothing was recorded
+         */
+        public long getMax() {
+            for (int i = counts.length - 1; i >= 0; i--) {
+                if (counts[i] > 0) {
+                    return upperBound(i);
+                }
+            }
+            return 0L;
+        }
+
+        private static long midpoint(int index) {
+            long low = lowerBound(index);
+            return low + (upperBound(index) - low) / 2;
+        }
+    }
+}
@@ -0,0 +1,404 @@
+package io.loghub.logger.metrics;
+
+import ch.qos.logback.classic.Level;
+import io.loghub.contract.LogLevel;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Counters, gauges and latency histograms of one appender's pipeline.
+ *
+ * <p>Counters are {@link LongAdder}s and histograms are {@link LatencyHistogram}s, so
+ * recording from many logging threads never blocks and stays cheap enough to leave on.
+ * Gauges are read from the queue on demand. Every recording method is safe to call from
+ * any thread and never throws.
+ *
+ * <p>Pipeline stages, in order: an event is received, filtered when below its logger's
+ * level, dropped for a {@link DropReason}, or enqueued; an enqueued event is then sent
+ * (2xx response) or failed. Events released later by scope buffering are enqueued without
+ * being received again.
+ *
+ * <p>Besides the cumulative histograms, the enqueue-to-ack latency (the time from the queue
+ * accepting an event to the server acknowledging it) is summarized over rolling windows:
+ * each {@link #rollDeliveryLatency()} closes the current window.
+ */
+public final class LogHubMetrics implements LogHubMetricsMXBean {
+
+    /**
+     * JMX domain of the appender MBeans.
+     */
+    public static final String JMX_DOMAIN = "io.loghub";
+
+    private static final LogLevel[] LEVELS = LogLevel.values();
+    private static final DropReason[] REASONS = DropReason.values();
+    private static final int TRANSPORT_FAILURE = 0;
+    private static final int STATUS_SLOTS = 600;
+
+    private final LongAdder received = new LongAdder();
+    private final LongAdder filtered = new LongAdder();
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder[] dropped = new LongAdder[REASONS.length * LEVELS.length];
+    private final LongAdder sent = new LongAdder();
+    // Indexed by status so that counting a failure never boxes it; other statuses use the map
+    private final AtomicReferenceArray<LongAdder> failed = new AtomicReferenceArray<>(STATUS_SLOTS);
+    private final Map<Integer, LongAdder> failedOutOfRange = new ConcurrentHashMap<>();
+    private final LongAdder bytesSerialized = new LongAdder();
+
+    private final LatencyHistogram enqueueToAck = new LatencyHistogram();
+    private final LatencyHistogram httpRoundTrip = new LatencyHistogram();
+    private final LatencyHistogram convert = new LatencyHistogram();
+    private final LatencyHistogram mask = new LatencyHistogram();
+    private final LatencyHistogram serialize = new LatencyHistogram();
+
+    private LatencyHistogram.Snapshot windowStart = LatencyHistogram.Snapshot.EMPTY;
+    private volatile LatencyHistogram.Snapshot recentDeliveryLatency = LatencyHistogram.Snapshot.EMPTY;
+
+    private volatile Throwable lastFailureCause;
+    private volatile IntSupplier queueDepth = () -> 0;
+    private volatile IntSupplier inFlightRequests = () -> 0;
+
+    public LogHubMetrics() {
+        for (int i = 0; i < dropped.length; i++) {
+            dropped[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Binds the gauges to the queue currently in use.
+     *
+     * @param queueDepth       supplies the number of queued events
+     * @param inFlightRequests supplies the number of in-flight requests
+     */
+    public void bindGauges(IntSupplier queueDepth, IntSupplier inFlightRequests) {
+        this.queueDepth = queueDepth;
+        this.inFlightRequests = inFlightRequests;
+    }
+
+    // ========== Recording ==========
+
+    public void recordReceived() {
+        received.increment();
+    }
+
+    public void recordFiltered() {
+        filtered.increment();
+    }
+
+    public void recordEnqueued() {
+        enqueued.increment();
+    }
+
+    public void recordDropped(DropReason reason, LogLevel level) {
+        int levelIndex = level != null ? level.ordinal() : LogLevel.INFO.ordinal();
+        dropped[reason.ordinal() * LEVELS.length + levelIndex].increment();
+    }
+
+    public void recordDropped(DropReason reason, Level level) {
+        recordDropped(reason, toLogLevel(level));
+    }
+
+    /**
+     * Records the response to an event's request.
+     *
+     * @param status         the HTTP status
+     * @param roundTripNanos the time from sending the request to receiving the response
+     */
+    public void recordResponse(int status, long roundTripNanos) {
+        httpRoundTrip.record(roundTripNanos);
+        if (status >= 200 && status < 300) {
+            sent.increment();
+        } else {
+            failedCounter(status).increment();
+        }
+    }
+
+    /**
+     * Records a request that completed without a response (connection error, timeout).
+     *
+     * @param elapsedNanos the time from sending the request to the failure
+     */
+    public void recordTransportFailure(long elapsedNanos) {
+        httpRoundTrip.record(elapsedNanos);
+        failedCounter(TRANSPORT_FAILURE).increment();
+    }
+
+    private LongAdder failedCounter(int status) {
+        if (status < 0 || status >= STATUS_SLOTS) {
+            return failedOutOfRange.computeIfAbsent(status, s -> new LongAdder());
+        }
+        LongAdder counter = failed.get(status);
+        if (counter == null) {
+            failed.compareAndSet(status, null, new LongAdder());
+            counter = failed.get(status);
+        }
+        return counter;
+    }
+
+    public void recordSerialized(int bytes, long nanos) {
+        bytesSerialized.add(bytes);
+        serialize.record(nanos);
+    }
+
+    /**
+     * Keeps the exception behind the latest dropped event or failed request, for the
+     * appender's status summaries. Only the reference is stored.
+     *
+     * @param cause the exception
+     */
+    public void recordFailureCause(Throwable cause) {
+        lastFailureCause = cause;
+    }
+
+    public void recordConvert(long nanos) {
+        convert.record(nanos);
+    }
+
+    public void recordMask(long nanos) {
+        mask.record(nanos);
+    }
+
+    public void recordEnqueueToAck(long nanos) {
+        enqueueToAck.record(nanos);
+    }
+
+    // ========== Histograms ==========
+
+    public LatencyHistogram getEnqueueToAckHistogram() {
+        return enqueueToAck;
+    }
+
+    public LatencyHistogram getHttpRoundTripHistogram() {
+        return httpRoundTrip;
+    }
+
+    public LatencyHistogram getConvertHistogram() {
+        return convert;
+    }
+
+    public LatencyHistogram getMaskHistogram() {
+        return mask;
+    }
+
+    public LatencyHistogram getSerializeHistogram() {
+        return serialize;
+    }
+
+    /**
+     * Closes the current delivery latency window and starts a new one.
+     *
+     * @return the enqueue-to-ack latencies recorded during the closed window
+     */
+    public synchronized LatencyHistogram.Snapshot rollDeliveryLatency() {
+        LatencyHistogram.Snapshot now = enqueueToAck.snapshot();
+        recentDeliveryLatency = now.since(windowStart);
+        windowStart = now;
+        return recentDeliveryLatency;
+    }
+
+    // ========== MXBean ==========
+
+    /**
+     * Gets the exception behind the latest dropped event or failed request.
+     *
+     * @return the exception, or null if none was recorded
+     */
+    public Throwable getLastFailureCause() {
+        return lastFailureCause;
+    }
+
+    @Override
+    public long getReceived() {
+        return received.sum();
+    }
+
+    @Override
+    public long getFiltered() {
+        return filtered.sum();
+    }
+
+    @Override
+    public long getEnqueued() {
+        return enqueued.sum();
+    }
+
+    @Override
+    public long getDropped() {
+        long total = 0;
+        for (LongAdder adder : dropped) {
+            total += adder.sum();
+        }
+        return total;
+    }
+
+    /**
+     * Gets the number of events dropped for a reason, across levels.
+     *
+     * @param reason the reason
+     * @return the count
+     */
+    public long getDropped(DropReason reason) {
+        long total = 0;
+        for (int i = 0; i < LEVELS.length; i++) {
+            total += dropped[reason.ordinal() * LEVELS.length + i].sum();
+        }
+        return total;
+    }
+
+    @Override
+    public Map<String, Long> getDroppedByReasonAndLevel() {
+        Map<String, Long> counts = new TreeMap<>();
+        for (DropReason reason : REASONS) {
+            for (LogLevel level : LEVELS) {
+                long count = dropped[reason.ordinal() * LEVELS.length + level.ordinal()].sum();
+                if (count > 0) {
+                    counts.put(reason.name() + "." + level.name(), count);
+                }
+            }
+        }
+        return counts;
+    }
+
+    @Override
+    public long getSent() {
+        return sent.sum();
+    }
+
+    @Override
+    public long getFailed() {
+        long total = 0;
+        for (int status = 0; status < STATUS_SLOTS; status++) {
+            LongAdder adder = failed.get(status);
+            if (adder != null) {
+                total += adder.sum();
+            }
+        }
+        for (LongAdder adder : failedOutOfRange.values()) {
+            total += adder.sum();
+        }
+        return total;
+    }
+
+    @Override
+    public Map<String, Long> getFailedByStatus() {
+        Map<String, Long> counts = new TreeMap<>();
+        for (int status = 0; status < STATUS_SLOTS; status++) {
+            LongAdder adder = failed.get(status);
+            if (adder != null) {
+                counts.put(status == TRANSPORT_FAILURE ? "transport" : String.valueOf(status), adder.sum());
+            }
+        }
+        failedOutOfRange.forEach((status, adder) -> counts.put(String.valueOf(status), adder.sum()));
+        return counts;
+    }
+
+    @Override
+    public long getBytesSerialized() {
+        return bytesSerialized.sum();
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return queueDepth.getAsInt();
+    }
+
+    @Override
+    public int getInFlightRequests() {
+        return inFlightRequests.getAsInt();
+    }
+
+    @Override
+    public Map<String, Double> getLatencyMillis() {
+        Map<String, Double> latencies = new TreeMap<>();
+        putLatency(latencies, "enqueueToAck", enqueueToAck);
+        putLatency(latencies, "httpRoundTrip", httpRoundTrip);
+        putLatency(latencies, "convert", convert);
+        putLatency(latencies, "mask", mask);
+        putLatency(latencies, "serialize", serialize);
+        return latencies;
+    }
+
+    @Override
+    public Map<String, Double> getRecentDeliveryLatencyMillis() {
+        LatencyHistogram.Snapshot snapshot = recentDeliveryLatency;
+        Map<String, Double> latencies = new TreeMap<>();
+        latencies.put("count", (double) snapshot.getCount());
+        latencies.put("p50", snapshot.getValueAtQuantile(0.50) / 1_000_000.0);
+        latencies.put("p99", snapshot.getValueAtQuantile(0.99) / 1_000_000.0);
+        latencies.put("p999", snapshot.getValueAtQuantile(0.999) / 1_000_000.0);
+        return latencies;
+    }
+
+    private static void putLatency(Map<String, Double> latencies, String stage, LatencyHistogram histogram) {
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        latencies.put(stage + ".mean", snapshot.getMean() / 1_000_000.0);
+        latencies.put(stage + ".p50", snapshot.getValueAtQuantile(0.50) / 1_000_000.0);
+        latencies.put(stage + ".p99", snapshot.getValueAtQuantile(0.99) / 1_000_000.0);
+        latencies.put(stage + ".p999", snapshot.getValueAtQuantile(0.999) / 1_000_000.0);
+        latencies.put(stage + ".max", snapshot.getMax() / 1_000_000.0);
+    }
+
+    // ========== JMX registration ==========
+
+    /**
+     * Registers these metrics with the platform MBean server.
+     *
+     * @param appenderName the appender name used as the {@code name} key
+     * @return the registered object name
+     * @throws JMException if the name is taken or registration fails
+     */
+    public ObjectName register(String appenderName) throws JMException {
+        ObjectName name = objectName(appenderName);
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+        return name;
+    }
+
+    /**
+     * Unregisters an MBean registered by {@link #register(String)}, if still registered.
+     *
+     * @param name the object name
+     */
+    public static void unregister(ObjectName name) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (JMException e) {
+            // Never throw - the MBean is gone either way
+        }
+    }
+
+    /**
+     * Builds the object name of an appender's metrics.
+     *
+     * @param appenderName the appender name (may be null)
+     * @return the object name
+     * @throws JMException if the name cannot be built
+     */
+    public static ObjectName objectName(String appenderName) throws JMException {
+        String name = appenderName != null && !appenderName.isBlank() ? appenderName : "default";
+        return new ObjectName(JMX_DOMAIN + ":type=HttpLogAppender,name=" + ObjectName.quote(name));
+    }
+
+    private static LogLevel toLogLevel(Level level) {
+        if (level == null) {
+            return LogLevel.INFO;
+        }
+        return switch (level.toInt()) {
+            case Level.ERROR_INT -> LogLevel.ERROR;
+            case Level.WARN_INT -> LogLevel.WARN;
+            case Level.DEBUG_INT -> LogLevel.DEBUG;
+            case Level.TRACE_INT -> LogLevel.TRACE;
+            default -> LogLevel.INFO;
+        };
+    }
+}
@@ -0,0 +1,77 @@
+package io.loghub.logger.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of an appender's {@link LogHubMetrics}, registered as
+ * {@code io.loghub:type=HttpLogAppender,name=<appender name>}.
+ */
+public interface LogHubMetricsMXBean {
+
+    /**
+     * @return the events that reached the appender
+     */
+    long getReceived();
+
+    /**
+     * @return the events below their logger's minimum level
+     */
+    long getFiltered();
+
+    /**
+     * @return the events accepted by the queue
+     */
+    long getEnqueued();
+
+    /**
+     * @return the events dropped for any {@link DropReason}
+     */
+    long getDropped();
+
+    /**
+     * @return the dropped counts keyed by {@code REASON.LEVEL}, e.g. {@code QUEUE_FULL.INFO}
+     */
+    Map<String, Long> getDroppedByReasonAndLevel();
+
+    /**
+     * @return the events acknowledged with a 2xx status
+     */
+    long getSent();
+
+    /**
+     * @return the events whose request failed
+     */
+    long getFailed();
+
+    /**
+     * @return the failed counts keyed by HTTP status, or {@code transport} when no response came back
+     */
+    Map<String, Long> getFailedByStatus();
+
+    /**
+     * @return the serialized request body bytes
+     */
+    long getBytesSerialized();
+
+    /**
+     * @return the events waiting in the queue
+     */
+    int getQueueDepth();
+
+    /**
+     * @return the HTTP requests sent but not yet completed
+     */
+    int getInFlightRequests();
+
+    /**
+     * @return latency statistics in milliseconds keyed by {@code stage.statistic}, e.g.
+     *         {@code enqueueToAck.p99}
+     */
+    Map<String, Double> getLatencyMillis();
+
+    /**
+     * @return the enqueue-to-ack latency of the last closed window in milliseconds, keyed by
+     *         {@code p50}, {@code p99}, {@code p999}, plus the event {@code count}
+     */
+    Map<String, Double> getRecentDeliveryLatencyMillis();
+}
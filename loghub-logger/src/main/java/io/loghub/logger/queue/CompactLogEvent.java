@@ -0,0 +1,442 @@
+package io.loghub.logger.queue;
+
+import io.loghub.contract.ExceptionInfo;
+import io.loghub.contract.LogEvent;
+import io.loghub.contract.LogLevel;
+import io.loghub.contract.SdkInfo;
+import io.loghub.logger.util.StringCanonicalizer;
+
+import java.time.Instant;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Memory-compact representation of a log event while it waits in {@link LogEventQueue}.
+ *
+ * <p>Compared to a {@link LogEvent} with a {@code HashMap} metadata, this class:
+ * <ul>
+ *   <li>Stores metadata as flat parallel key/value arrays, taken over from the builder without
+ *       copying; events whose metadata comes from the same cached context share one key array</li>
+ *   <li>Stores the timestamp as primitive epoch millis</li>
+ *   <li>Shares canonical instances of metadata keys and logger/thread names</li>
+ *   <li>References the application, environment and SDK info instead of copying them</li>
+ * </ul>
+ *
+ * <p>{@link #toLogEvent()} materializes the public {@link LogEvent} view on the sender side;
+ * its metadata map is a read-only view over the arrays, so no hash table is built.
+ */
+public final class CompactLogEvent {
+
+    private static final String[] NO_KEYS = new String[0];
+    private static final Object[] NO_VALUES = new Object[0];
+
+    private final String application;
+    private final String environment;
+    private final LogLevel level;
+    private final String message;
+    private final long timestampMillis;
+    private final String traceId;
+    private final String templateId;
+    private final Object[] arguments;
+    private final ExceptionInfo exception;
+    private final String[] keys;
+    private final Object[] values;
+    private final int metadataSize;
+    private final SdkInfo sdk;
+
+    /**
+     * {@link System#nanoTime()} when the queue accepted the event, for enqueue-to-ack latency.
+     */
+    long enqueuedNanos;
+
+    /**
+     * Order in which the queue accepted the event, for {@link LogEventQueue#flush}.
+     */
+    long sequence;
+
+    private CompactLogEvent(Builder builder) {
+        this.application = builder.application;
+        this.environment = builder.environment;
+        this.level = builder.level;
+        this.message = builder.message;
+        this.timestampMillis = builder.timestampMillis;
+        this.traceId = builder.traceId;
+        this.templateId = builder.templateId;
+        this.arguments = builder.arguments;
+        this.exception = builder.exception;
+        this.sdk = builder.sdk;
+        this.metadataSize = builder.size;
+        if (builder.keys.length - builder.size <= Builder.SHARED_HEADROOM) {
+            // The builder hands its arrays over; it copies them before any later write
+            this.keys = builder.keys;
+            this.values = builder.values;
+            builder.shared = true;
+        } else {
+            this.keys = Arrays.copyOf(builder.keys, builder.size);
+            this.values = Arrays.copyOf(builder.values, builder.size);
+        }
+    }
+
+    /**
+     * Creates a compact copy of the given public event.
+     *
+     * @param logEvent the event to compact
+     * @return the compact event
+     */
+    public static CompactLogEvent from(LogEvent logEvent) {
+        Builder builder = builder()
+                .application(logEvent.getApplication())
+                .environment(logEvent.getEnvironment())
+                .level(logEvent.getLevel())
+                .message(logEvent.getMessage())
+                .timestampMillis(logEvent.getTimestamp() != null ? logEvent.getTimestamp().toEpochMilli() : 0L)
+                .traceId(logEvent.getTraceId())
+                .templateId(logEvent.getTemplateId())
+                .arguments(logEvent.getArguments() != null ? logEvent.getArguments().toArray() : null)
+                .exception(logEvent.getException())
+                .sdk(logEvent.getSdk());
+        Map<String, Object> metadata = logEvent.getTypedMetadata();
+        if (metadata != null) {
+            for (Map.Entry<String, Object> entry : metadata.entrySet()) {
+                builder.metadata(entry.getKey(), entry.getValue());
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Materializes the public {@link LogEvent} view of this event.
+     *
+     * @return the log event
+     */
+    public LogEvent toLogEvent() {
+        return LogEvent.builder()
+                .application(application)
+                .environment(environment)
+                .level(level)
+                .message(message)
+                .timestamp(timestampMillis != 0L ? Instant.ofEpochMilli(timestampMillis) : null)
+                .traceId(traceId)
+                .templateId(templateId)
+                .arguments(arguments != null ? Arrays.asList(arguments) : null)
+                .exception(exception)
+                .typedMetadata(metadataSize > 0 ? new ArrayMap(keys, values, metadataSize) : null)
+                .sdk(sdk)
+                .build();
+    }
+
+    public LogLevel getLevel() {
+        return level;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public String getTemplateId() {
+        return templateId;
+    }
+
+    public ExceptionInfo getException() {
+        return exception;
+    }
+
+    /**
+     * Gets the number of metadata entries.
+     *
+     * @return the metadata size
+     */
+    public int getMetadataSize() {
+        return metadataSize;
+    }
+
+    /**
+     * Gets a metadata value by key.
+     *
+     * @param key the key
+     * @return the value, or null if not present
+     */
+    public Object getMetadataValue(String key) {
+        for (int i = 0; i < metadataSize; i++) {
+            if (keys[i].equals(key)) {
+                return values[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Creates a new Builder instance.
+     *
+     * @return a new Builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder for creating CompactLogEvent instances.
+     * Metadata keys are canonicalized; a repeated key replaces the earlier value.
+     */
+    public static final class Builder {
+        private static final int INITIAL_CAPACITY = 8;
+        private static final int SHARED_HEADROOM = 4;
+
+        private final StringCanonicalizer canonicalizer = StringCanonicalizer.shared();
+
+        private String application;
+        private String environment;
+        private LogLevel level;
+        private String message;
+        private long timestampMillis;
+        private String traceId;
+        private String templateId;
+        private Object[] arguments;
+        private ExceptionInfo exception;
+        private SdkInfo sdk;
+        private String[] keys = NO_KEYS;
+        private Object[] values = NO_VALUES;
+        private int size;
+        // True while the arrays are also referenced by a cache or a built event
+        private boolean shared;
+
+        private Builder() {
+        }
+
+        public Builder application(String application) {
+            this.application = application;
+            return this;
+        }
+
+        public Builder environment(String environment) {
+            this.environment = environment;
+            return this;
+        }
+
+        public Builder level(LogLevel level) {
+            this.level = level;
+            return this;
+        }
+
+        public Builder message(String message) {
+            this.message = message;
+            return this;
+        }
+
+        public Builder timestampMillis(long timestampMillis) {
+            this.timestampMillis = timestampMillis;
+            return this;
+        }
+
+        public Builder traceId(String traceId) {
+            this.traceId = traceId;
+            return this;
+        }
+
+        public Builder templateId(String templateId) {
+            this.templateId = templateId;
+            return this;
+        }
+
+        /**
+         * Sets the template arguments. The array is referenced, not copied.
+         *
+         * @param arguments the masked {@link String}, {@link Number} or {@link Boolean} arguments
+         * @return this builder
+         */
+        public Builder arguments(Object[] arguments) {
+            this.arguments = arguments;
+            return this;
+        }
+
+        public Builder exception(ExceptionInfo exception) {
+            this.exception = exception;
+            return this;
+        }
+
+        public Builder sdk(SdkInfo sdk) {
+            this.sdk = sdk;
+            return this;
+        }
+
+        /**
+         * Adds a metadata entry. Null keys or values are ignored.
+         *
+         * @param key   the key
+         * @param value a {@link String}, {@link Number} or {@link Boolean} value
+         * @return this builder
+         */
+        public Builder metadata(String key, Object value) {
+            if (key == null || value == null) {
+                return this;
+            }
+            for (int i = 0; i < size; i++) {
+                if (keys[i].equals(key)) {
+                    ensureWritable(size);
+                    values[i] = value;
+                    return this;
+                }
+            }
+            ensureWritable(size + 1);
+            keys[size] = canonicalizer.canonicalize(key);
+            values[size] = value;
+            size++;
+            return this;
+        }
+
+        /**
+         * Adds all entries from parallel key/value arrays, as returned by
+         * {@link #metadataKeys()} and {@link #metadataValues()}. Into an empty builder, the
+         * arrays are shared rather than copied, so the caller must not modify them afterwards.
+         *
+         * @param keys   the keys
+         * @param values the values
+         * @return this builder
+         */
+        public Builder metadata(String[] keys, Object[] values) {
+            if (size == 0 && keys.length > 0) {
+                // Fast path: the arrays are already free of duplicates, copied only on a later write
+                this.keys = keys;
+                this.values = values;
+                this.size = keys.length;
+                this.shared = true;
+                return this;
+            }
+            for (int i = 0; i < keys.length; i++) {
+                metadata(keys[i], values[i]);
+            }
+            return this;
+        }
+
+        /**
+         * Gets a copy of the metadata keys added so far.
+         *
+         * @return the keys
+         */
+        public String[] metadataKeys() {
+            return Arrays.copyOf(keys, size);
+        }
+
+        /**
+         * Gets a copy of the metadata values added so far, parallel to {@link #metadataKeys()}.
+         *
+         * @return the values
+         */
+        public Object[] metadataValues() {
+            return Arrays.copyOf(values, size);
+        }
+
+        /**
+         * Adds a metadata entry whose string value repeats across events
+         * (e.g. logger or thread name), storing its canonical instance.
+         *
+         * @param key   the key
+         * @param value the value to canonicalize
+         * @return this builder
+         */
+        public Builder canonicalMetadata(String key, String value) {
+            return metadata(key, canonicalizer.canonicalize(value));
+        }
+
+        public CompactLogEvent build() {
+            return new CompactLogEvent(this);
+        }
+
+        /**
+         * Makes the arrays private to this builder with room for {@code capacity} entries,
+         * copying them if they are shared or too small. Shared arrays get a little room for the
+         * per-event entries that follow the cached ones, since the event keeps the arrays as-is.
+         */
+        private void ensureWritable(int capacity) {
+            if (shared) {
+                keys = Arrays.copyOf(keys, Math.max(capacity, size + SHARED_HEADROOM));
+                values = Arrays.copyOf(values, keys.length);
+                shared = false;
+            } else if (capacity > keys.length) {
+                int length = Math.max(INITIAL_CAPACITY, Math.max(capacity, size * 2));
+                keys = Arrays.copyOf(keys, length);
+                values = Arrays.copyOf(values, length);
+            }
+        }
+    }
+
+    /**
+     * Read-only map view over the parallel key/value arrays.
+     */
+    private static final class ArrayMap extends AbstractMap<String, Object> {
+        private final String[] keys;
+        private final Object[] values;
+        private final int size;
+
+        ArrayMap(String[] keys, Object[] values, int size) {
+            this.keys = keys;
+            this.values = values;
+            this.size = size;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Object get(Object key) {
+            for (int i = 0; i < size; i++) {
+                if (keys[i].equals(key)) {
+                    return values[i];
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, Object>> iterator() {
+                    return new Iterator<>() {
+                        private int index;
+
+                        @Override
+                        public boolean hasNext() {
+                            return index < size;
+                        }
+
+                        @Override
+                        public Entry<String, Object> next() {
+                            if (index >= size) {
+                                throw new NoSuchElementException();
+                            }
+                            Entry<String, Object> entry = new SimpleImmutableEntry<>(keys[index], values[index]);
+                            index++;
+                            return entry;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+    }
+}
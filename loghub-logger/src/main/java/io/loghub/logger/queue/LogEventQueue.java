@@ -1,22 +1,80 @@
 package io.loghub.logger.queue;
 
 import io.loghub.contract.LogEvent;
+import io.loghub.contract.LogLevel;
 import io.loghub.logger.http.LogHubHttpClient;
+import io.loghub.logger.jfr.LogHubEnqueueEvent;
+import io.loghub.logger.jfr.LogHubFlushEvent;
+import io.loghub.logger.metrics.DropReason;
+import io.loghub.logger.metrics.LogHubMetrics;
 
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Asynchronous queue manager for log events.
  * Handles buffering and async dispatch of logs to avoid blocking the application.
+ *
+ * <p>Events are held as {@link CompactLogEvent} instances to keep the heap footprint of a
+ * large queue low; the public {@link LogEvent} view is materialized only when sending.
+ *
+ * <p>WARN and ERROR events go to a small priority lane with its own capacity, which the
+ * worker always drains first, so a flood of INFO events can neither delay nor crowd out
+ * alerts. When the priority lane is full, its events fall back to the regular lane. The worker
+ * waits on a semaphore released once per accepted event of any lane, so every lane wakes it up
+ * without taking capacity from another.
+ *
+ * <p>Events the SDK reports about itself (health summaries) use {@link #enqueueReserved}: a
+ * lane of {@link #RESERVED_CAPACITY} events, drained before the others, that application
+ * events never fill. When it is full, its oldest event is replaced.
+ *
+ * <p>Every accepted event gets a sequence number and stays pending until its HTTP request
+ * completes (successfully or not), which backs {@link #flush(Duration)} and the draining
+ * {@link #stop(Duration)}. Since lanes overtake each other and requests complete in any order,
+ * a flush waits for the low-watermark (the lowest pending sequence) to pass the sequence of
+ * the last event accepted before it, not for a count of acknowledgements.
+ *
+ * <p>Enqueued and dropped events, the queue depth, in-flight requests and the enqueue-to-ack
+ * latency are recorded in the {@link LogHubMetrics} given at construction. Offers and
+ * flushes are also emitted as JFR events ({@link LogHubEnqueueEvent}, {@link LogHubFlushEvent})
+ * when enabled in a recording.
  */
 public final class LogEventQueue {
 
-    private final BlockingQueue<LogEvent> queue;
+    /**
+     * Default capacity of the priority lane.
+     */
+    public static final int DEFAULT_PRIORITY_CAPACITY = 100;
+
+    /**
+     * Capacity of the lane reserved for the SDK's own events.
+     */
+    public static final int RESERVED_CAPACITY = 4;
+
+    /**
+     * Drain deadline used by {@link #stop()}.
+     */
+    public static final Duration DEFAULT_DRAIN_TIMEOUT = Duration.ofSeconds(2);
+
+    private final BlockingQueue<CompactLogEvent> queue;
+    private final BlockingQueue<CompactLogEvent> priorityQueue;
+    private final BlockingQueue<CompactLogEvent> reservedQueue = new LinkedBlockingQueue<>(RESERVED_CAPACITY);
+    private final Semaphore available = new Semaphore(0);
     private final ExecutorService executorService;
     private final LogHubHttpClient httpClient;
     private final AtomicBoolean running;
     private final AtomicBoolean started;
+    private final AtomicLong sequence = new AtomicLong();
+    private final ConcurrentSkipListSet<CompactLogEvent> pending =
+            new ConcurrentSkipListSet<>(Comparator.comparingLong(event -> event.sequence));
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ConcurrentLinkedQueue<FlushWaiter> flushWaiters = new ConcurrentLinkedQueue<>();
+    private final LogHubMetrics metrics;
 
     /**
      * Creates a new log event queue.
@@ -26,8 +84,37 @@ public final class LogEventQueue {
      * @param workerThreads the number of worker threads
      */
     public LogEventQueue(LogHubHttpClient httpClient, int queueCapacity, int workerThreads) {
+        this(httpClient, queueCapacity, DEFAULT_PRIORITY_CAPACITY, workerThreads);
+    }
+
+    /**
+     * Creates a new log event queue with an explicit priority lane capacity.
+     *
+     * @param httpClient       the HTTP client for sending logs
+     * @param queueCapacity    the maximum capacity of the regular lane
+     * @param priorityCapacity the maximum capacity of the WARN/ERROR lane
+     * @param workerThreads    the number of worker threads
+     */
+    public LogEventQueue(LogHubHttpClient httpClient, int queueCapacity, int priorityCapacity, int workerThreads) {
+        this(httpClient, queueCapacity, priorityCapacity, workerThreads, new LogHubMetrics());
+    }
+
+    /**
+     * Creates a new log event queue recording into the given metrics.
+     *
+     * @param httpClient       the HTTP client for sending logs
+     * @param queueCapacity    the maximum capacity of the regular lane
+     * @param priorityCapacity the maximum capacity of the WARN/ERROR lane
+     * @param workerThreads    the number of worker threads
+     * @param metrics          the metrics to record into
+     */
+    public LogEventQueue(LogHubHttpClient httpClient, int queueCapacity, int priorityCapacity, int workerThreads,
+                         LogHubMetrics metrics) {
         this.httpClient = httpClient;
+        this.metrics = metrics;
+        metrics.bindGauges(this::getQueueSize, this::getInFlightCount);
         this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.priorityQueue = new LinkedBlockingQueue<>(Math.max(1, priorityCapacity));
         this.running = new AtomicBoolean(false);
         this.started = new AtomicBoolean(false);
 
@@ -62,9 +149,159 @@ public final class LogEventQueue {
         if (!running.get()) {
             return false;
         }
+        return enqueue(CompactLogEvent.from(logEvent));
+    }
+
+    /**
+     * Enqueues a compact log event for async sending.
+     * If the queue is full, the event is silently dropped to avoid blocking.
+     *
+     * @param event the compact event to enqueue
+     * @return true if the event was enqueued, false if dropped
+     */
+    public boolean enqueue(CompactLogEvent event) {
+        if (!running.get()) {
+            return false;
+        }
+
+        // Pending first so that a concurrent flush never misses an event the worker already took
+        accept(event);
+        boolean enqueued = offer(event);
+        if (enqueued) {
+            available.release();
+            metrics.recordEnqueued();
+        } else {
+            metrics.recordDropped(DropReason.QUEUE_FULL, event.getLevel());
+            settle(event);
+        }
+
+        LogHubEnqueueEvent jfr = new LogHubEnqueueEvent();
+        if (jfr.shouldCommit()) {
+            jfr.level = String.valueOf(event.getLevel());
+            jfr.dropped = !enqueued;
+            jfr.queueDepth = getQueueSize();
+            jfr.commit();
+        }
+        return enqueued;
+    }
+
+    private void accept(CompactLogEvent event) {
+        event.sequence = sequence.getAndIncrement();
+        event.enqueuedNanos = System.nanoTime();
+        pending.add(event);
+    }
+
+    private boolean offer(CompactLogEvent event) {
+        if (isPriority(event.getLevel()) && priorityQueue.offer(event)) {
+            return true;
+        }
 
         // Non-blocking offer - drop if queue is full
-        return queue.offer(logEvent);
+        return queue.offer(event);
+    }
+
+    /**
+     * Enqueues an event of the SDK's own on the reserved lane, so it gets through even when
+     * application events fill the other lanes. When the reserved lane is full, its oldest
+     * event is dropped to make room.
+     *
+     * @param event the compact event to enqueue
+     * @return true if the event was enqueued, false if the queue is not running
+     */
+    public boolean enqueueReserved(CompactLogEvent event) {
+        if (!running.get()) {
+            return false;
+        }
+
+        accept(event);
+        while (!reservedQueue.offer(event)) {
+            CompactLogEvent evicted = reservedQueue.poll();
+            if (evicted != null) {
+                metrics.recordDropped(DropReason.QUEUE_FULL, evicted.getLevel());
+                settle(evicted);
+            }
+        }
+        available.release();
+        metrics.recordEnqueued();
+        return true;
+    }
+
+    /**
+     * Requests a flush of every event accepted so far.
+     *
+     * @param timeout the maximum time to wait
+     * @return a future completing with true once those events are acknowledged by the HTTP
+     *         layer, or with false if the timeout elapsed first
+     */
+    public CompletableFuture<Boolean> flush(Duration timeout) {
+        return flush(timeout, "flush");
+    }
+
+    private CompletableFuture<Boolean> flush(Duration timeout, String reason) {
+        LogHubFlushEvent jfr = new LogHubFlushEvent();
+        jfr.begin();
+        long target = sequence.get();
+        int events = jfr.isEnabled() ? pending.size() : 0;
+        CompletableFuture<Boolean> result;
+        if (lowWatermark() >= target) {
+            result = CompletableFuture.completedFuture(Boolean.TRUE);
+        } else {
+            FlushWaiter waiter = new FlushWaiter(target);
+            flushWaiters.add(waiter);
+            // Re-check in case the last acknowledgement raced with the registration
+            completeFlushWaiters();
+            result = waiter.future
+                    .completeOnTimeout(Boolean.FALSE, Math.max(0L, timeout.toMillis()), TimeUnit.MILLISECONDS)
+                    .whenComplete((drained, error) -> flushWaiters.remove(waiter));
+        }
+        if (!jfr.isEnabled()) {
+            return result;
+        }
+        return result.whenComplete((drained, error) -> {
+            if (jfr.shouldCommit()) {
+                jfr.reason = reason;
+                jfr.events = events;
+                jfr.completed = Boolean.TRUE.equals(drained);
+                jfr.commit();
+            }
+        });
+    }
+
+    /**
+     * Marks an event as no longer pending and releases the flushes it was holding back.
+     */
+    private void settle(CompactLogEvent event) {
+        pending.remove(event);
+        completeFlushWaiters();
+    }
+
+    /**
+     * Gets the lowest sequence still pending; every event accepted with a lower sequence has
+     * settled.
+     */
+    private long lowWatermark() {
+        // Read the next sequence first: an event accepted after that read cannot lower the result
+        long next = sequence.get();
+        Iterator<CompactLogEvent> it = pending.iterator();
+        return it.hasNext() ? Math.min(next, it.next().sequence) : next;
+    }
+
+    private void completeFlushWaiters() {
+        if (flushWaiters.isEmpty()) {
+            return;
+        }
+        long watermark = lowWatermark();
+        for (Iterator<FlushWaiter> it = flushWaiters.iterator(); it.hasNext(); ) {
+            FlushWaiter waiter = it.next();
+            if (watermark >= waiter.target) {
+                it.remove();
+                waiter.future.complete(Boolean.TRUE);
+            }
+        }
+    }
+
+    private static boolean isPriority(LogLevel level) {
+        return level == LogLevel.ERROR || level == LogLevel.WARN;
     }
 
     /**
@@ -72,18 +309,53 @@ public final class LogEventQueue {
      * Attempts to process remaining events with a timeout.
      */
     public void stop() {
+        stop(DEFAULT_DRAIN_TIMEOUT);
+    }
+
+    /**
+     * Stops accepting events, sends the remaining ones and waits until their HTTP requests
+     * complete or the drain deadline passes. The remaining events are sent without waiting
+     * for each other, so their requests run in parallel. Events still queued when the deadline
+     * passes are discarded and counted as {@link DropReason#SHUTDOWN}, which also settles the
+     * flushes waiting for them.
+     *
+     * @param drainTimeout the maximum time to wait for the remaining events
+     */
+    public void stop(Duration drainTimeout) {
+        long deadline = System.nanoTime() + drainTimeout.toNanos();
+        CompletableFuture<Boolean> drained = flush(drainTimeout, "stop");
         running.set(false);
         started.set(false);
 
         executorService.shutdown();
         try {
-            // Wait briefly for in-flight events
-            if (!executorService.awaitTermination(2, TimeUnit.SECONDS)) {
+            drained.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            if (!executorService.awaitTermination(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
                 executorService.shutdownNow();
             }
         } catch (InterruptedException e) {
             executorService.shutdownNow();
             Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            executorService.shutdownNow();
+        }
+        discardRemaining();
+    }
+
+    /**
+     * Counts and settles the events left in every lane once the drain deadline passed.
+     */
+    private void discardRemaining() {
+        discard(reservedQueue);
+        discard(priorityQueue);
+        discard(queue);
+    }
+
+    private void discard(BlockingQueue<CompactLogEvent> lane) {
+        CompactLogEvent event;
+        while ((event = lane.poll()) != null) {
+            metrics.recordDropped(DropReason.SHUTDOWN, event.getLevel());
+            settle(event);
         }
     }
 
@@ -91,9 +363,19 @@ public final class LogEventQueue {
      * Worker method that continuously processes the queue.
      */
     private void processQueue() {
-        while (running.get() || !queue.isEmpty()) {
+        while (running.get() || !queue.isEmpty() || !priorityQueue.isEmpty() || !reservedQueue.isEmpty()) {
             try {
-                LogEvent event = queue.poll(100, TimeUnit.MILLISECONDS);
+                // Permits may outnumber events (evicted reserved events), never the reverse
+                if (!available.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+                    continue;
+                }
+                CompactLogEvent event = reservedQueue.poll();
+                if (event == null) {
+                    event = priorityQueue.poll();
+                }
+                if (event == null) {
+                    event = queue.poll();
+                }
                 if (event != null) {
                     sendEvent(event);
                 }
@@ -112,21 +394,60 @@ public final class LogEventQueue {
      *
      * @param event the event to send
      */
-    private void sendEvent(LogEvent event) {
+    private void sendEvent(CompactLogEvent event) {
+        inFlight.incrementAndGet();
         try {
-            httpClient.sendAsync(event);
+            httpClient.sendWithStatus(event.toLogEvent()).whenComplete((status, error) ->
+                    acknowledge(event, status != null ? status : LogHubHttpClient.NO_RESPONSE));
         } catch (Exception e) {
-            // Silently ignore - we never want to impact the application
+            // Never throw - counted for the appender's status summary
+            metrics.recordDropped(DropReason.ERROR, event.getLevel());
+            metrics.recordFailureCause(e);
+            acknowledge(event, LogHubHttpClient.NO_RESPONSE);
+        }
+    }
+
+    /**
+     * Records the completion of one event's request and releases satisfied flushes.
+     * Only events the server acknowledged (2xx) count towards the enqueue-to-ack latency.
+     *
+     * @param event  the event whose request completed
+     * @param status the HTTP status, {@link LogHubHttpClient#NO_RESPONSE} or
+     *               {@link LogHubHttpClient#UNKNOWN_STATUS}
+     */
+    private void acknowledge(CompactLogEvent event, int status) {
+        if (status >= 200 && status < 300) {
+            metrics.recordEnqueueToAck(System.nanoTime() - event.enqueuedNanos);
         }
+        inFlight.decrementAndGet();
+        settle(event);
     }
 
     /**
      * Gets the current queue size.
      *
-     * @return the number of events in the queue
+     * @return the number of events in all lanes
      */
     public int getQueueSize() {
-        return queue.size();
+        return queue.size() + priorityQueue.size() + reservedQueue.size();
+    }
+
+    /**
+     * Gets the current size of the WARN/ERROR lane.
+     *
+     * @return the number of events in the priority lane
+     */
+    public int getPriorityQueueSize() {
+        return priorityQueue.size();
+    }
+
+    /**
+     * Gets the number of HTTP requests sent but not yet completed.
+     *
+     * @return the in-flight request count
+     */
+    public int getInFlightCount() {
+        return inFlight.get();
     }
 
     /**
@@ -137,5 +458,17 @@ public final class LogEventQueue {
     public boolean isRunning() {
         return running.get();
     }
-}
 
+    /**
+     * Pending {@link #flush(Duration)} request, released once the low-watermark reaches its target
+     * (the next sequence when the flush was requested).
+     */
+    private static final class FlushWaiter {
+        private final long target;
+        private final CompletableFuture<Boolean> future = new CompletableFuture<>();
+
+        FlushWaiter(long target) {
+            this.target = target;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package io.loghub.logger.util;
+
+/**
+ * 64-bit FNV-1a hashing helpers for stable, JVM-independent IDs
+ * (message template IDs, stack trace fingerprints).
+ *
+ * <p>Usage example:
+ * <pre>{@code
+ * long hash = Fnv1a.hash(Fnv1a.INITIAL, "Order {} processed");
+ * String id = Fnv1a.toHex(hash); // 16 hex digits
+ * }</pre>
+ */
+public final class Fnv1a {
+
+    /**
+     * Initial hash value (FNV offset basis).
+     */
+    public static final long INITIAL = 0xcbf29ce484222325L;
+
+    private static final long PRIME = 0x100000001b3L;
+
+    private Fnv1a() {
+        // Utility class
+    }
+
+    /**
+     * Mixes the UTF-16 code units of the given text into the hash.
+     *
+     * @param hash the current hash
+     * @param text the text to mix in (null is treated as empty)
+     * @return the updated hash
+     */
+    public static long hash(long hash, CharSequence text) {
+        if (text == null) {
+            return hash;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            hash ^= (c & 0xff);
+            hash *= PRIME;
+            hash ^= (c >>> 8);
+            hash *= PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Mixes the four bytes of an int into the hash.
+     *
+     * @param hash  the current hash
+     * @param value the value to mix in
+     * @return the updated hash
+     */
+    public static long mix(long hash, int value) {
+        for (int shift = 0; shift < 32; shift += 8) {
+            hash ^= (value >>> shift) & 0xff;
+            hash *= PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Formats a hash as 16 lowercase hex digits.
+     *
+     * @param hash the hash
+     * @return the zero-padded hex string
+     */
+    public static String toHex(long hash) {
+        String hex = Long.toHexString(hash);
+        return hex.length() == 16 ? hex : "0".repeat(16 - hex.length()) + hex;
+    }
+}
@@ -0,0 +1,69 @@
+package io.loghub.logger.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded canonicalization table for strings that repeat across many log events,
+ * such as logger names, thread names and metadata keys.
+ *
+ * <p>Unlike {@link String#intern()}, the table is private to the SDK and bounded:
+ * once {@code maxSize} distinct strings have been seen, new strings are returned as-is
+ * so that high-cardinality input (e.g. generated thread names) cannot grow it unbounded.
+ */
+public final class StringCanonicalizer {
+
+    private static final int DEFAULT_MAX_SIZE = 4096;
+    private static final StringCanonicalizer SHARED = new StringCanonicalizer(DEFAULT_MAX_SIZE);
+
+    private final ConcurrentHashMap<String, String> table;
+    private final int maxSize;
+
+    /**
+     * Creates a canonicalizer holding at most {@code maxSize} strings.
+     *
+     * @param maxSize the maximum number of canonical strings
+     */
+    public StringCanonicalizer(int maxSize) {
+        this.maxSize = maxSize;
+        this.table = new ConcurrentHashMap<>(Math.min(maxSize, 256));
+    }
+
+    /**
+     * Gets the canonicalizer shared by the SDK components.
+     *
+     * @return the shared instance
+     */
+    public static StringCanonicalizer shared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the canonical instance of the given string.
+     *
+     * @param value the string to canonicalize
+     * @return the canonical instance, or {@code value} itself if the table is full
+     */
+    public String canonicalize(String value) {
+        if (value == null) {
+            return null;
+        }
+        String canonical = table.get(value);
+        if (canonical != null) {
+            return canonical;
+        }
+        if (table.size() >= maxSize) {
+            return value;
+        }
+        canonical = table.putIfAbsent(value, value);
+        return canonical != null ? canonical : value;
+    }
+
+    /**
+     * Gets the number of canonical strings held.
+     *
+     * @return the table size
+     */
+    public int size() {
+        return table.size();
+    }
+}
@@ -0,0 +1,169 @@
+package io.loghub.logger.appender;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import com.sun.management.HotSpotDiagnosticMXBean;
+import io.loghub.testkit.IngestServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Allocation-budget tests for the HttpLogAppender append path.
+ *
+ * <p>Each scenario logs through a Logback logger (as an application would) and measures the
+ * bytes allocated on the calling thread with {@code ThreadMXBean}, after enough warmup for the
+ * JIT to settle. Allocation on the sender threads is not counted. The budgets are recorded in
+ * {@code allocation-budgets.properties}; a change that exceeds one fails here.
+ *
+ * <p>Object sizes depend on the JDK and on compressed oops, so the tests are skipped on a JVM
+ * other than the one the budgets were measured on (recorded in the same file).
+ */
+class HttpLogAppenderAllocationTest {
+
+    private static final int WARMUP_CALLS = 10_000;
+    private static final int MEASURED_CALLS = 2_000;
+    private static final int ROUNDS = 3;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final Properties BUDGETS = new Properties();
+
+    private IngestServer server;
+    private LoggerContext loggerContext;
+    private HttpLogAppender appender;
+    private Logger logger;
+
+    @BeforeAll
+    static void loadBudgets() throws IOException {
+        try (InputStream in = HttpLogAppenderAllocationTest.class.getResourceAsStream("/allocation-budgets.properties")) {
+            assertNotNull(in, "allocation-budgets.properties not found");
+            BUDGETS.load(in);
+        }
+    }
+
+    /**
+     * Checks that this JVM matches the one the budgets were measured on.
+     */
+    private static boolean isMeasuredJvm() {
+        if (Runtime.version().feature() != Integer.parseInt(BUDGETS.getProperty("measured.jdk"))) {
+            return false;
+        }
+        HotSpotDiagnosticMXBean hotSpot = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+        return hotSpot != null && BUDGETS.getProperty("measured.compressedOops")
+                .equals(hotSpot.getVMOption("UseCompressedOops").getValue());
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        assumeTrue(THREADS.isThreadAllocatedMemorySupported(), "Thread allocation accounting not supported");
+        assumeTrue(isMeasuredJvm(), "Budgets were measured on JDK " + BUDGETS.getProperty("measured.jdk")
+                + " with compressed oops " + BUDGETS.getProperty("measured.compressedOops"));
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+
+        server = IngestServer.builder().retainEvents(false).start();
+        loggerContext = new LoggerContext();
+        loggerContext.setMDCAdapter(new LogbackMDCAdapter());
+
+        appender = new HttpLogAppender();
+        appender.setContext(loggerContext);
+        appender.setEndpoint(server.endpoint());
+        appender.setApplication("test-app");
+        appender.setEnvironment("test");
+        appender.setJmxEnabled(false);
+        // Room for every call, so none takes the drop path
+        int calls = WARMUP_CALLS + ROUNDS * MEASURED_CALLS;
+        appender.setQueueCapacity(calls);
+        appender.setPriorityQueueCapacity(calls);
+        appender.setDrainTimeoutMs(100);
+        appender.start();
+
+        logger = loggerContext.getLogger("com.example.orders.OrderService");
+        logger.setAdditive(false);
+        logger.setLevel(Level.DEBUG);
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (appender != null) {
+            appender.stop();
+            loggerContext.getMDCAdapter().clear();
+            server.close();
+        }
+    }
+
+    @Test
+    void shouldStayWithinBudgetWhenFilteredByLevel() {
+        // DEBUG passes the logger but not the appender's minimumLevel (INFO)
+        assertWithinBudget("filteredByLevel", () -> logger.debug("Cache lookup for {} took {} us", "order-42", 17));
+    }
+
+    @Test
+    void shouldStayWithinBudgetWithoutMdc() {
+        assertWithinBudget("noMdc", () -> logger.info("Order {} processed in {} ms", "order-42", 35));
+    }
+
+    @Test
+    void shouldStayWithinBudgetWithTypicalMdc() {
+        loggerContext.getMDCAdapter().put("traceId", "4bf92f3577b34da6a3ce929d0e0e4736");
+        loggerContext.getMDCAdapter().put("spanId", "00f067aa0ba902b7");
+        loggerContext.getMDCAdapter().put("requestId", "req-8f14e45f");
+        loggerContext.getMDCAdapter().put("userId", "user-456");
+        loggerContext.getMDCAdapter().put("tenant", "acme");
+        loggerContext.getMDCAdapter().put("route", "POST /orders");
+
+        assertWithinBudget("typicalMdc", () -> logger.info("Order {} processed in {} ms", "order-42", 35));
+    }
+
+    @Test
+    void shouldStayWithinBudgetWithPii() {
+        assertWithinBudget("pii", () -> logger.info("Payment {} for {} failed", "4111-1111-1111-1111", "john.doe@example.com"));
+    }
+
+    @Test
+    void shouldStayWithinBudgetWithException() {
+        IllegalStateException exception = new IllegalStateException("Order already shipped",
+                new IOException("Connection reset by peer"));
+
+        assertWithinBudget("exception", () -> logger.error("Could not cancel order {}", "order-42", exception));
+    }
+
+    private void assertWithinBudget(String scenario, Runnable call) {
+        long budget = Long.parseLong(BUDGETS.getProperty(scenario));
+        long measured = bytesPerCall(call);
+        assertTrue(measured <= budget, scenario + " allocated " + measured
+                + " bytes per call, over its budget of " + budget
+                + " (allocation-budgets.properties)");
+    }
+
+    /**
+     * Bytes per call on this thread; the lowest of a few rounds, to ignore one-off
+     * allocations such as a map resize or a lazily initialized cache.
+     */
+    private static long bytesPerCall(Runnable call) {
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            call.run();
+        }
+        long lowest = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long before = THREADS.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < MEASURED_CALLS; i++) {
+                call.run();
+            }
+            lowest = Math.min(lowest, (THREADS.getCurrentThreadAllocatedBytes() - before) / MEASURED_CALLS);
+        }
+        return lowest;
+    }
+}
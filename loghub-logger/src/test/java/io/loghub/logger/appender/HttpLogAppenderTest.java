@@ -3,10 +3,23 @@ package io.loghub.logger.appender;
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.status.Status;
+import io.loghub.contract.LogEvent;
+import io.loghub.contract.LogLevel;
+import io.loghub.logger.metrics.DropReason;
+import io.loghub.logger.metrics.LogHubMetrics;
+import io.loghub.testkit.IngestServer;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.List;
+import javax.management.ObjectName;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -96,6 +109,155 @@ class HttpLogAppenderTest {
         assertEquals(2, appender.getWorkerThreads());
     }
 
+    @Test
+    void shouldReloadLoggerOverridesWhileStarted() {
+        loggerContext.setMDCAdapter(new LogbackMDCAdapter());
+        appender.setEndpoint("http://localhost:8080/logs");
+        appender.setJmxEnabled(false);
+        appender.setDrainTimeoutMs(100);
+        appender.setLoggerOverrides("org.hibernate=WARN");
+        appender.start();
+        LogHubMetrics metrics = appender.getMetrics();
+
+        appender.doAppend(event("org.hibernate.SQL", Level.WARN));
+        assertEquals(0, metrics.getFiltered());
+
+        appender.setLoggerOverrides("org.hibernate=ERROR");
+        assertEquals("org.hibernate=ERROR", appender.getLoggerOverrides());
+        appender.doAppend(event("org.hibernate.SQL", Level.WARN));
+        assertEquals(1, metrics.getFiltered());
+
+        appender.setLoggerOverrides("org.hibernate=LOUD");
+        assertEquals("org.hibernate=ERROR", appender.getLoggerOverrides());
+        appender.doAppend(event("org.hibernate.SQL", Level.WARN));
+        assertEquals(2, metrics.getFiltered());
+    }
+
+    @Test
+    void shouldApplyMinimumLevelChangedWhileStarted() {
+        loggerContext.setMDCAdapter(new LogbackMDCAdapter());
+        appender.setEndpoint("http://localhost:8080/logs");
+        appender.setJmxEnabled(false);
+        appender.setDrainTimeoutMs(100);
+        appender.setLoggerOverrides("com.example.payments=DEBUG");
+        appender.start();
+        LogHubMetrics metrics = appender.getMetrics();
+
+        appender.doAppend(event("com.example.Orders", Level.INFO));
+        assertEquals(0, metrics.getFiltered());
+
+        appender.setMinimumLevel("WARN");
+        appender.doAppend(event("com.example.Orders", Level.INFO));
+        appender.doAppend(event("com.example.payments.Charges", Level.INFO));
+
+        assertEquals(1, metrics.getFiltered());
+        assertEquals(3, metrics.getReceived());
+    }
+
+    @Test
+    void shouldFlushAndStopWithShutdownHook() throws Exception {
+        appender.setEndpoint("http://localhost:8080/logs");
+        appender.setShutdownHook(true);
+        appender.setDrainTimeoutMs(100);
+        appender.start();
+
+        assertTrue(appender.flush(java.time.Duration.ofMillis(100)).get());
+
+        appender.stop();
+        assertFalse(appender.isStarted());
+    }
+
+    @Test
+    void shouldPublishMetricsMBeanWhileStarted() throws Exception {
+        loggerContext.setMDCAdapter(new LogbackMDCAdapter());
+        appender.setName("LOGHUB-METRICS");
+        appender.setEndpoint("http://localhost:8080/logs");
+        appender.setDrainTimeoutMs(100);
+        appender.start();
+        ObjectName name = LogHubMetrics.objectName("LOGHUB-METRICS");
+        assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+
+        Logger logger = loggerContext.getLogger("com.example.Metrics");
+        appender.doAppend(new LoggingEvent("test", logger, Level.INFO, "kept", null, null));
+        appender.doAppend(new LoggingEvent("test", logger, Level.DEBUG, "filtered", null, null));
+
+        assertEquals(2, appender.getMetrics().getReceived());
+        assertEquals(1, appender.getMetrics().getFiltered());
+        assertEquals(1, appender.getMetrics().getConvertHistogram().snapshot().getCount());
+
+        appender.stop();
+        assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+    }
+
+    @Test
+    void shouldWarnWhenDeliveryLatencyCrossesThreshold() {
+        appender.setEndpoint("http://localhost:8080/logs");
+        appender.setJmxEnabled(false);
+        appender.setLatencyWarnThresholdMs(100);
+        appender.start();
+
+        appender.getMetrics().recordEnqueueToAck(250_000_000L);
+        appender.checkDeliveryLatency();
+        assertTrue(hasStatus(Status.WARN, "delivery latency p99"));
+        assertEquals(1.0, appender.getMetrics().getRecentDeliveryLatencyMillis().get("count"));
+
+        appender.getMetrics().recordEnqueueToAck(10_000_000L);
+        appender.checkDeliveryLatency();
+        assertTrue(hasStatus(Status.INFO, "delivery latency p99 back to"));
+    }
+
+    @Test
+    void shouldShipHealthEventOnReservedLane() throws Exception {
+        try (IngestServer server = IngestServer.builder().start()) {
+            appender.setEndpoint(server.endpoint());
+            appender.setJmxEnabled(false);
+            appender.setQueueCapacity(1);
+            appender.setHealthIntervalMs(3_600_000);
+            appender.setDrainTimeoutMs(100);
+            appender.start();
+            appender.getMetrics().recordDropped(DropReason.QUEUE_FULL, LogLevel.INFO);
+
+            appender.reportHealth();
+
+            List<LogEvent> events = server.awaitEvents(1, Duration.ofSeconds(2));
+            LogEvent health = events.get(0);
+            assertEquals(LogLevel.WARN, health.getLevel());
+            assertEquals(HttpLogAppender.HEALTH_LOGGER, health.getMetadata().get("logger"));
+            assertEquals("1", health.getMetadata().get("health.dropped.QUEUE_FULL"));
+            assertTrue(health.getMessage().startsWith("LogHub SDK health"));
+        }
+    }
+
+    @Test
+    void shouldSummarizeLossesInStatusManager() {
+        appender.setEndpoint("http://localhost:8080/logs");
+        appender.setJmxEnabled(false);
+        appender.setDrainTimeoutMs(100);
+        appender.start();
+        assertEquals(30_000L, appender.getStatusReportIntervalMs());
+
+        appender.getMetrics().recordDropped(DropReason.QUEUE_FULL, LogLevel.INFO);
+        appender.getMetrics().recordResponse(503, 1_000_000);
+        appender.reportFailures();
+
+        assertTrue(hasStatus(Status.WARN, "lost 1 events (QUEUE_FULL=1); 1 requests failed (503=1)"));
+    }
+
+    private LoggingEvent event(String loggerName, Level level) {
+        return new LoggingEvent(HttpLogAppenderTest.class.getName(),
+                loggerContext.getLogger(loggerName), level, "message", null, null);
+    }
+
+    private boolean hasStatus(int level, String text) {
+        return loggerContext.getStatusManager().getCopyOfStatusList().stream()
+                .anyMatch(status -> status.getLevel() == level && status.getMessage().contains(text));
+    }
+
+    @Test
+    void shouldNotFlushBeforeStart() throws Exception {
+        assertFalse(appender.flush(java.time.Duration.ofMillis(10)).get());
+    }
+
     @Test
     void shouldMaskApiKeyInGetter() {
         appender.setApiKey("my-secret-api-key");
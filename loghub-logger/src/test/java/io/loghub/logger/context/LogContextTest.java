@@ -5,6 +5,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -48,6 +49,73 @@ class LogContextTest {
         assertEquals("false", LogContext.get("deleted"));
     }
 
+    @Test
+    void shouldKeepTypedValues() {
+        LogContext.put("count", 42);
+        LogContext.put("price", 19.99);
+        LogContext.put("active", true);
+        LogContext.put("amount", new java.math.BigDecimal("10.50"));
+
+        Map<String, Object> typed = LogContext.getAllTyped();
+
+        assertEquals(42L, typed.get("count"));
+        assertEquals(19.99, typed.get("price"));
+        assertEquals(Boolean.TRUE, typed.get("active"));
+        assertEquals("10.50", typed.get("amount"));
+        assertEquals(42L, LogContext.getTyped("count"));
+    }
+
+    @Test
+    void shouldUpdatePrimitiveValueInPlace() {
+        LogContext.put("attempt", 1L);
+        LogContext.put("attempt", 2L);
+        LogContext.put("attempt", 2.5);
+
+        assertEquals(2.5, LogContext.getTyped("attempt"));
+        assertEquals("2.5", LogContext.getAll().get("attempt"));
+    }
+
+    @Test
+    void shouldKeepDecimalFormOfFloatValues() {
+        LogContext.put("ratio", 1.1f);
+        LogContext.put("share", Float.valueOf(0.3f));
+
+        assertEquals("1.1", LogContext.getAll().get("ratio"));
+        assertEquals(1.1, LogContext.getTyped("ratio"));
+        assertEquals("0.3", LogContext.getAll().get("share"));
+    }
+
+    @Test
+    void shouldReturnSameTypedSnapshotUntilModified() {
+        LogContext.put("key", "value");
+        LogContext.put("count", 1L);
+
+        Map<String, Object> first = LogContext.getAllTyped();
+        assertSame(first, LogContext.getAllTyped());
+
+        LogContext.put("count", 2L);
+        Map<String, Object> second = LogContext.getAllTyped();
+
+        assertNotSame(first, second);
+        assertEquals(2L, second.get("count"));
+    }
+
+    @Test
+    void shouldCaptureSnapshotWithoutResolvingLazyValues() {
+        AtomicInteger calls = new AtomicInteger();
+        LogContext.put("count", 1L);
+        LogContext.putLazy("principal", () -> "user-" + calls.incrementAndGet());
+
+        LogContext.Snapshot snapshot = LogContext.snapshot();
+        assertSame(snapshot, LogContext.snapshot());
+        LogContext.put("count", 2L);
+
+        assertEquals(0, calls.get());
+        assertEquals(1L, snapshot.resolve().get("count"));
+        assertEquals("user-1", snapshot.resolve().get("principal"));
+        assertEquals(1, calls.get());
+    }
+
     @Test
     void shouldPutAllFromMap() {
         Map<String, String> values = Map.of(
@@ -123,6 +191,81 @@ class LogContextTest {
         assertTrue(LogContext.isEmpty());
     }
 
+    @Test
+    void shouldNotEvaluateLazyValueOnPut() {
+        AtomicInteger calls = new AtomicInteger();
+
+        LogContext.putLazy("principal", () -> {
+            calls.incrementAndGet();
+            return "user-1";
+        });
+
+        assertEquals(0, calls.get());
+        assertFalse(LogContext.isEmpty());
+    }
+
+    @Test
+    void shouldMemoizeLazyValue() {
+        AtomicInteger calls = new AtomicInteger();
+        LogContext.putLazy("principal", () -> "user-" + calls.incrementAndGet());
+
+        assertEquals("user-1", LogContext.getAll().get("principal"));
+        assertEquals("user-1", LogContext.getAll().get("principal"));
+        assertEquals("user-1", LogContext.get("principal"));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void shouldReevaluateLazyValueAfterReplace() {
+        AtomicInteger calls = new AtomicInteger();
+        LogContext.putLazy("principal", () -> "user-" + calls.incrementAndGet());
+        LogContext.getAll();
+
+        LogContext.putLazy("principal", () -> "user-" + calls.incrementAndGet());
+
+        assertEquals("user-2", LogContext.get("principal"));
+    }
+
+    @Test
+    void shouldOmitLazyValueWhenSupplierFails() {
+        LogContext.putLazy("broken", () -> {
+            throw new IllegalStateException("boom");
+        });
+        LogContext.putLazy("empty", () -> null);
+        LogContext.put("key", "value");
+
+        Map<String, Object> all = LogContext.getAll();
+
+        assertEquals(1, all.size());
+        assertEquals("value", all.get("key"));
+    }
+
+    @Test
+    void shouldReleaseScopeResourcesWhenScopeEnds() {
+        Object owner = new Object();
+        int[] released = new int[1];
+        LogContext.bindScopeResource(owner, () -> released[0]++);
+
+        assertNotNull(LogContext.getScopeResource(owner));
+        LogContext.clear();
+        assertEquals(1, released[0]);
+        assertNull(LogContext.getScopeResource(owner));
+
+        LogContext.bindScopeResource(owner, () -> released[0]++);
+        LogContext.removeContext();
+        assertEquals(2, released[0]);
+    }
+
+    @Test
+    void shouldReleaseReplacedScopeResource() {
+        Object owner = new Object();
+        int[] released = new int[1];
+        LogContext.bindScopeResource(owner, () -> released[0]++);
+        LogContext.bindScopeResource(owner, () -> { });
+
+        assertEquals(1, released[0]);
+    }
+
     @Test
     void shouldBeThreadSafe() throws InterruptedException {
         // Main thread sets a value
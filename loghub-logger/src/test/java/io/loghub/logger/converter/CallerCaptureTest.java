@@ -0,0 +1,148 @@
+package io.loghub.logger.converter;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.AppenderBase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CallerCapture.
+ */
+class CallerCaptureTest {
+
+    private LoggerContext loggerContext;
+
+    @BeforeEach
+    void setUp() {
+        loggerContext = new LoggerContext();
+        loggerContext.setMDCAdapter(new LogbackMDCAdapter());
+    }
+
+    @Test
+    void shouldLocateCallerOfLoggingFramework() {
+        CapturingAppender appender = attach("io.loghub.test", new CallerCapture(Level.WARN, null, 1.0, 32));
+
+        loggerContext.getLogger("io.loghub.test").warn("Something odd");
+
+        CallerCapture.Location location = appender.locations.get(0);
+        assertNotNull(location);
+        assertEquals(CallerCaptureTest.class.getName(), location.className());
+        assertEquals("shouldLocateCallerOfLoggingFramework", location.methodName());
+        assertEquals("CallerCaptureTest.java", location.fileName());
+        assertTrue(location.lineNumber() > 0);
+    }
+
+    @Test
+    void shouldSkipLevelsBelowThresholdUnlessLoggerIsSelected() {
+        CapturingAppender appender = attach("io.loghub", new CallerCapture(Level.WARN, "io.loghub.audit", 1.0, 32));
+
+        loggerContext.getLogger("io.loghub.test").info("Routine");
+        loggerContext.getLogger("io.loghub.audit.Trail").info("Audited");
+
+        assertNull(appender.locations.get(0));
+        assertNotNull(appender.locations.get(1));
+    }
+
+    @Test
+    void shouldLocateEachCallSiteSharingTemplate() {
+        CapturingAppender appender = attach("io.loghub.test", new CallerCapture(Level.DEBUG, null, 1.0, 32));
+        Logger logger = loggerContext.getLogger("io.loghub.test");
+
+        logRetry(logger);
+        logRetryAgain(logger);
+        logger.error("Retrying");
+        logger.error("Retrying");
+
+        assertEquals("logRetry", appender.locations.get(0).methodName());
+        assertEquals("logRetryAgain", appender.locations.get(1).methodName());
+        assertEquals("shouldLocateEachCallSiteSharingTemplate", appender.locations.get(2).methodName());
+        assertNotEquals(appender.locations.get(2).lineNumber(), appender.locations.get(3).lineNumber());
+    }
+
+    @Test
+    void shouldLocateCallersThroughDifferentLoggerMethods() {
+        CapturingAppender appender = attach("io.loghub.test", new CallerCapture(Level.DEBUG, null, 1.0, 32));
+        Logger logger = loggerContext.getLogger("io.loghub.test");
+
+        logger.info("Plain");
+        logger.atInfo().setMessage("Fluent {}").addArgument(1).log();
+        logger.info("Plain again");
+
+        for (CallerCapture.Location location : appender.locations) {
+            assertEquals(CallerCaptureTest.class.getName(), location.className());
+            assertEquals("shouldLocateCallersThroughDifferentLoggerMethods", location.methodName());
+        }
+    }
+
+    @Test
+    void shouldGiveUpWithinMaxDepth() {
+        CapturingAppender appender = attach("io.loghub.test", new CallerCapture(Level.WARN, null, 1.0, 2));
+
+        loggerContext.getLogger("io.loghub.test").warn("Deep");
+
+        assertNull(appender.locations.get(0));
+    }
+
+    @Test
+    void shouldReuseCallerDataAlreadyComputedByLogback() {
+        CallerCapture capture = new CallerCapture(Level.WARN, null, 1.0, 32);
+        LoggingEvent event = new LoggingEvent(CallerCaptureTest.class.getName(),
+                loggerContext.getLogger("io.loghub.test"), Level.ERROR, "Failed", null, null);
+        event.setCallerData(new StackTraceElement[]{
+                new StackTraceElement("com.example.Service", "call", "Service.java", 42)});
+
+        CallerCapture.Location location = capture.capture(event);
+
+        assertEquals("com.example.Service", location.className());
+        assertEquals(42, location.lineNumber());
+    }
+
+    @Test
+    void shouldBeDisabledWithoutLevelLoggersOrRate() {
+        assertFalse(new CallerCapture(null, null, 1.0, 32).isEnabled());
+        assertFalse(new CallerCapture(Level.WARN, null, 0.0, 32).isEnabled());
+        assertTrue(new CallerCapture(null, "com.example", 1.0, 32).isEnabled());
+    }
+
+    private static void logRetry(Logger logger) {
+        logger.debug("Retrying");
+    }
+
+    private static void logRetryAgain(Logger logger) {
+        logger.debug("Retrying");
+    }
+
+    private CapturingAppender attach(String loggerName, CallerCapture capture) {
+        CapturingAppender appender = new CapturingAppender(capture);
+        appender.setContext(loggerContext);
+        appender.start();
+        Logger logger = loggerContext.getLogger(loggerName);
+        logger.setLevel(Level.TRACE);
+        logger.addAppender(appender);
+        return appender;
+    }
+
+    private static final class CapturingAppender extends AppenderBase<ILoggingEvent> {
+        private final CallerCapture capture;
+        private final List<CallerCapture.Location> locations = new ArrayList<>();
+
+        CapturingAppender(CallerCapture capture) {
+            this.capture = capture;
+        }
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            locations.add(capture.capture(event));
+        }
+    }
+}
@@ -1,16 +1,26 @@
 package io.loghub.logger.converter;
 
 import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
 import io.loghub.contract.LogEvent;
 import io.loghub.contract.LogLevel;
 import io.loghub.logger.config.LogHubConfig;
+import io.loghub.logger.context.LogContext;
+import io.loghub.logger.queue.CompactLogEvent;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.slf4j.event.KeyValuePair;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -30,6 +40,13 @@ class LogEventConverterTest {
         converter = new LogEventConverter(config);
     }
 
+    @AfterEach
+    void tearDown() {
+        LogContext.removeContext();
+        config.setPreserveTemplate(false);
+        config.setCallerLevel(null);
+    }
+
     @Test
     void shouldConvertBasicEvent() {
         ILoggingEvent loggingEvent = createMockLoggingEvent(
@@ -96,6 +113,190 @@ class LogEventConverterTest {
         assertNotNull(event.getMetadata().get("thread"));
     }
 
+    @Test
+    void shouldResolveLazyContextValueOncePerFrame() {
+        AtomicInteger calls = new AtomicInteger();
+        LogContext.putLazy("principal", () -> "user-" + calls.incrementAndGet());
+
+        LogEvent first = converter.convert(createMockLoggingEvent(
+                Level.INFO, "first", System.currentTimeMillis(), null, null));
+        LogEvent second = converter.convert(createMockLoggingEvent(
+                Level.INFO, "second", System.currentTimeMillis(), null, null));
+
+        assertEquals("user-1", first.getMetadata().get("principal"));
+        assertEquals("user-1", second.getMetadata().get("principal"));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void shouldKeepTypedContextValuesAndMaskSensitiveOnes() {
+        LogContext.put("attempt", 3);
+        LogContext.put("cached", true);
+        LogContext.put("pin", 123456);
+
+        LogEvent event = converter.convert(createMockLoggingEvent(
+                Level.INFO, "Test", System.currentTimeMillis(), null, null));
+
+        assertEquals(3L, event.getTypedMetadata().get("attempt"));
+        assertEquals(Boolean.TRUE, event.getTypedMetadata().get("cached"));
+        assertEquals("12******", event.getTypedMetadata().get("pin"));
+    }
+
+    @Test
+    void shouldReuseMergedMetadataWhileContextUnchanged() {
+        CountingMap mdc = new CountingMap();
+        mdc.put("requestId", "req-1");
+        LogContext.put("userId", "user-1");
+
+        converter.convert(createMockLoggingEvent(Level.INFO, "one", System.currentTimeMillis(), mdc, null));
+        LogEvent second = converter.convert(
+                createMockLoggingEvent(Level.INFO, "two", System.currentTimeMillis(), mdc, null));
+
+        assertEquals(1, mdc.entrySetCalls);
+        assertEquals("req-1", second.getMetadata().get("requestId"));
+        assertEquals("user-1", second.getMetadata().get("userId"));
+    }
+
+    @Test
+    void shouldRebuildMetadataWhenLogContextChanges() {
+        Map<String, String> mdc = new HashMap<>();
+        LogContext.put("step", "validate");
+        converter.convert(createMockLoggingEvent(Level.INFO, "one", System.currentTimeMillis(), mdc, null));
+
+        LogContext.put("step", "persist");
+        LogEvent event = converter.convert(
+                createMockLoggingEvent(Level.INFO, "two", System.currentTimeMillis(), mdc, null));
+
+        assertEquals("persist", event.getMetadata().get("step"));
+    }
+
+    @Test
+    void shouldCaptureKeyValuePairsAndStructuredArguments() {
+        LoggerContext loggerContext = new LoggerContext();
+        loggerContext.setMDCAdapter(new LogbackMDCAdapter());
+        LoggingEvent loggingEvent = new LoggingEvent(
+                LogEventConverterTest.class.getName(),
+                loggerContext.getLogger("io.loghub.test"),
+                Level.INFO,
+                "Order {} processed",
+                null,
+                new Object[]{new KeyValuePair("orderId", "ORD-1")});
+        loggingEvent.addKeyValuePair(new KeyValuePair("durationMs", 42));
+        loggingEvent.addKeyValuePair(new KeyValuePair("password", "hunter2-secret"));
+        loggingEvent.addKeyValuePair(new KeyValuePair("items", List.of("a", "b")));
+
+        LogEvent event = converter.convert(loggingEvent);
+
+        assertEquals("ORD-1", event.getTypedMetadata().get("orderId"));
+        assertEquals(42, event.getTypedMetadata().get("durationMs"));
+        assertEquals("hu******et", event.getTypedMetadata().get("password"));
+        assertEquals("[a, b]", event.getTypedMetadata().get("items"));
+    }
+
+    @Test
+    void shouldSnapshotKeyValueObjectsOnLoggingThread() {
+        LoggerContext loggerContext = new LoggerContext();
+        loggerContext.setMDCAdapter(new LogbackMDCAdapter());
+        LoggingEvent loggingEvent = new LoggingEvent(
+                LogEventConverterTest.class.getName(),
+                loggerContext.getLogger("io.loghub.test"),
+                Level.INFO,
+                "Cart updated",
+                null,
+                null);
+        List<String> items = new ArrayList<>(List.of("a"));
+        loggingEvent.addKeyValuePair(new KeyValuePair("items", items));
+
+        CompactLogEvent compact = converter.convertCompact(loggingEvent);
+        items.add("b");
+
+        assertEquals("[a]", compact.toLogEvent().getTypedMetadata().get("items"));
+    }
+
+    @Test
+    void shouldShipTemplateAndMaskedArgumentsWhenPreserveTemplateEnabled() {
+        config.setPreserveTemplate(true);
+        LoggerContext loggerContext = new LoggerContext();
+        loggerContext.setMDCAdapter(new LogbackMDCAdapter());
+        LoggingEvent loggingEvent = new LoggingEvent(
+                LogEventConverterTest.class.getName(),
+                loggerContext.getLogger("io.loghub.test"),
+                Level.INFO,
+                "Order {} for {} processed in {} ms",
+                null,
+                new Object[]{"ORD-1", "john@example.com", 42});
+
+        LogEvent event = converter.convert(loggingEvent);
+
+        assertEquals("Order {} for {} processed in {} ms", event.getMessage());
+        assertEquals(MessageTemplates.templateId("Order {} for {} processed in {} ms"), event.getTemplateId());
+        assertEquals(List.of("ORD-1", "j***@***.com", 42), event.getArguments());
+    }
+
+    @Test
+    void shouldShipArgumentsUnmaskedWhenMaskingDisabled() {
+        config.setPreserveTemplate(true);
+        LogEventConverter unmasked = new LogEventConverter(config, false);
+        LoggerContext loggerContext = new LoggerContext();
+        loggerContext.setMDCAdapter(new LogbackMDCAdapter());
+        LoggingEvent loggingEvent = new LoggingEvent(
+                LogEventConverterTest.class.getName(),
+                loggerContext.getLogger("io.loghub.test"),
+                Level.INFO,
+                "User {} retried {} times ({}) in {}",
+                null,
+                new Object[]{"john@example.com", 3, true, Level.WARN});
+
+        LogEvent event = unmasked.convert(loggingEvent);
+
+        assertEquals(List.of("john@example.com", 3, true, "WARN"), event.getArguments());
+    }
+
+    @Test
+    void shouldAttachSampleRateOnlyWhenSampled() {
+        ILoggingEvent loggingEvent = createMockLoggingEvent(
+                Level.INFO, "Sampled", System.currentTimeMillis(), null, null);
+
+        assertEquals(0.05, converter.convertCompact(loggingEvent, 0.05).toLogEvent()
+                .getTypedMetadata().get("sample.rate"));
+        assertFalse(converter.convertCompact(loggingEvent, 1.0).toLogEvent()
+                .getTypedMetadata().containsKey("sample.rate"));
+    }
+
+    @Test
+    void shouldUseContextSnapshotOfBufferedEvent() {
+        LogContext.put("step", "earlier");
+        LogContext.Snapshot snapshot = LogContext.snapshot();
+        LogContext.put("step", "current");
+        ILoggingEvent loggingEvent = createMockLoggingEvent(
+                Level.DEBUG, "Buffered", System.currentTimeMillis(), null, null);
+
+        LogEvent event = converter.convertBuffered(loggingEvent, snapshot).toLogEvent();
+
+        assertEquals("earlier", event.getTypedMetadata().get("step"));
+    }
+
+    @Test
+    void shouldShipCallerLocationOfSelectedLevels() {
+        config.setCallerLevel("WARN");
+        LogEventConverter callerConverter = new LogEventConverter(config);
+        LoggerContext loggerContext = new LoggerContext();
+        loggerContext.setMDCAdapter(new LogbackMDCAdapter());
+        LoggingEvent loggingEvent = new LoggingEvent(
+                LogEventConverterTest.class.getName(), loggerContext.getLogger("io.loghub.test"),
+                Level.ERROR, "Payment failed", null, null);
+        loggingEvent.setCallerData(new StackTraceElement[]{
+                new StackTraceElement("com.example.Payments", "charge", "Payments.java", 88)});
+
+        Map<String, Object> metadata = callerConverter.convert(loggingEvent).getTypedMetadata();
+
+        assertEquals("com.example.Payments", metadata.get("caller.class"));
+        assertEquals("charge", metadata.get("caller.method"));
+        assertEquals("Payments.java", metadata.get("caller.file"));
+        assertEquals(88L, metadata.get("caller.line"));
+        assertFalse(converter.convert(loggingEvent).getTypedMetadata().containsKey("caller.class"));
+    }
+
     private LogLevel convertLevel(Level level) {
         ILoggingEvent event = createMockLoggingEvent(level, "msg", System.currentTimeMillis(), null, null);
         return converter.convert(event).getLevel();
@@ -199,5 +400,19 @@ class LogEventConverterTest {
             }
         };
     }
-}
 
+    /**
+     * MDC map that counts how often its entries are iterated.
+     */
+    private static class CountingMap extends HashMap<String, String> {
+        private static final long serialVersionUID = 1L;
+
+        private int entrySetCalls;
+
+        @Override
+        public java.util.Set<Map.Entry<String, String>> entrySet() {
+            entrySetCalls++;
+            return super.entrySet();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package io.loghub.logger.converter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MessageTemplates.
+ */
+class MessageTemplatesTest {
+
+    @Test
+    void shouldComputeStableTemplateId() {
+        String id = MessageTemplates.templateId("Order {} processed in {} ms");
+
+        assertEquals(16, id.length());
+        assertEquals(id, MessageTemplates.templateId("Order {} processed in {} ms"));
+        assertNotEquals(id, MessageTemplates.templateId("Order {} failed"));
+    }
+
+    @Test
+    void shouldCacheTemplateLookups() {
+        MessageTemplates templates = new MessageTemplates(16);
+
+        MessageTemplates.Template first = templates.lookup("Order {} processed", true);
+        MessageTemplates.Template second = templates.lookup("Order {} processed", true);
+
+        assertSame(first, second);
+        assertEquals("Order {} processed", first.text());
+    }
+
+    @Test
+    void shouldMaskSensitiveTemplate() {
+        MessageTemplates templates = new MessageTemplates(16);
+
+        MessageTemplates.Template template = templates.lookup("Contact admin@example.com about {}", true);
+
+        assertEquals("Contact a***@***.com about {}", template.text());
+    }
+
+    @Test
+    void shouldNotCacheBeyondMaxSize() {
+        MessageTemplates templates = new MessageTemplates(1);
+        templates.lookup("first {}", true);
+
+        MessageTemplates.Template first = templates.lookup("second {}", true);
+        MessageTemplates.Template second = templates.lookup("second {}", true);
+
+        assertNotSame(first, second);
+        assertEquals(first.id(), second.id());
+    }
+}
@@ -0,0 +1,116 @@
+package io.loghub.logger.converter;
+
+import ch.qos.logback.classic.spi.ThrowableProxy;
+import io.loghub.contract.ExceptionInfo;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for StackTraceCapture.
+ */
+class StackTraceCaptureTest {
+
+    @Test
+    void shouldCaptureCauseChainWithFrames() {
+        StackTraceCapture capture = new StackTraceCapture(50, 60_000L, 16);
+        Exception exception = new IllegalStateException("outer",
+                new java.io.IOException("contact john@example.com"));
+
+        ExceptionInfo info = capture.capture(new ThrowableProxy(exception), true, 1_000L);
+
+        assertEquals("java.lang.IllegalStateException", info.getClassName());
+        assertEquals("outer", info.getMessage());
+        assertNotNull(info.getFingerprint());
+        assertFalse(info.getFrames().isEmpty());
+        assertEquals("java.io.IOException", info.getCause().getClassName());
+        assertEquals("contact j***@***.com", info.getCause().getMessage());
+        assertNull(info.getCause().getFingerprint());
+    }
+
+    @Test
+    void shouldTruncateFrames() {
+        StackTraceCapture capture = new StackTraceCapture(2, 60_000L, 16);
+
+        ExceptionInfo info = capture.capture(new ThrowableProxy(new RuntimeException("boom")), false, 1_000L);
+
+        assertEquals(2, info.getFrames().size());
+        assertTrue(info.getFramesOmitted() > 0);
+    }
+
+    @Test
+    void shouldShipFramesOncePerWindowForSameStackShape() {
+        StackTraceCapture capture = new StackTraceCapture(50, 60_000L, 16);
+
+        ExceptionInfo first = null;
+        ExceptionInfo second = null;
+        for (int i = 0; i < 2; i++) {
+            // Same throw site on every iteration, different messages
+            ExceptionInfo info = capture.capture(new ThrowableProxy(new RuntimeException("attempt " + i)), false, 1_000L + i);
+            if (i == 0) {
+                first = info;
+            } else {
+                second = info;
+            }
+        }
+        ExceptionInfo afterWindow = capture.capture(
+                new ThrowableProxy(new RuntimeException("late")), false, 70_000L);
+
+        assertNotNull(first.getFrames());
+        assertNull(second.getFrames());
+        assertEquals("attempt 1", second.getMessage());
+        assertNotEquals(first.getFingerprint(), afterWindow.getFingerprint()); // different throw site
+        assertEquals(2, capture.cachedStacks());
+    }
+
+    @Test
+    void shouldReshipFramesAfterWindow() {
+        StackTraceCapture capture = new StackTraceCapture(50, 10_000L, 16);
+        RuntimeException exception = new RuntimeException("boom");
+
+        ExceptionInfo first = capture.capture(new ThrowableProxy(exception), false, 1_000L);
+        ExceptionInfo within = capture.capture(new ThrowableProxy(exception), false, 5_000L);
+        ExceptionInfo after = capture.capture(new ThrowableProxy(exception), false, 11_000L);
+
+        assertEquals(first.getFingerprint(), within.getFingerprint());
+        assertNull(within.getFrames());
+        assertEquals(first.getFrames(), after.getFrames());
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedFingerprints() {
+        StackTraceCapture capture = new StackTraceCapture(50, 60_000L, 1);
+
+        capture.capture(new ThrowableProxy(new RuntimeException("a")), false, 1_000L);
+        capture.capture(new ThrowableProxy(new IllegalArgumentException("b")), false, 1_000L);
+
+        assertEquals(1, capture.cachedStacks());
+    }
+
+    @Test
+    void shouldReshipFramesWhenCarrierWasDropped() {
+        StackTraceCapture capture = new StackTraceCapture(50, 60_000L, 16);
+        RuntimeException exception = new RuntimeException("boom");
+
+        ExceptionInfo dropped = capture.capture(new ThrowableProxy(exception), false, 1_000L);
+        capture.release(dropped, 1_000L);
+        ExceptionInfo next = capture.capture(new ThrowableProxy(exception), false, 2_000L);
+        ExceptionInfo within = capture.capture(new ThrowableProxy(exception), false, 3_000L);
+
+        assertEquals(dropped.getFrames(), next.getFrames());
+        assertNull(within.getFrames());
+    }
+
+    @Test
+    void shouldKeepWindowWhenReleasingStaleCarrier() {
+        StackTraceCapture capture = new StackTraceCapture(50, 60_000L, 16);
+        RuntimeException exception = new RuntimeException("boom");
+
+        ExceptionInfo first = capture.capture(new ThrowableProxy(exception), false, 1_000L);
+        ExceptionInfo withoutFrames = capture.capture(new ThrowableProxy(exception), false, 2_000L);
+        capture.release(withoutFrames, 2_000L);
+
+        assertNotNull(first.getFrames());
+        assertNull(capture.capture(new ThrowableProxy(exception), false, 3_000L).getFrames());
+    }
+}
@@ -0,0 +1,107 @@
+package io.loghub.logger.filter;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LogHubTurboFilter.
+ */
+class LogHubTurboFilterTest {
+
+    private LoggerContext loggerContext;
+    private LogHubTurboFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        loggerContext = new LoggerContext();
+        loggerContext.setMDCAdapter(new LogbackMDCAdapter());
+        filter = new LogHubTurboFilter();
+        filter.setContext(loggerContext);
+        filter.setLoggers("com.example.audit");
+        filter.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    void shouldStayNeutralWithoutPublishedDecisions() {
+        assertEquals(FilterReply.NEUTRAL, decide("com.example.audit.Trail", Level.TRACE, "msg"));
+    }
+
+    @Test
+    void shouldStayNeutralForLoggersNotExclusiveToLogHub() {
+        publish(new EarlyRejection(new LoggerOverrides(Level.INFO, null), null, null, null));
+
+        assertEquals(FilterReply.NEUTRAL, decide("com.example.web.Controller", Level.DEBUG, "msg"));
+    }
+
+    @Test
+    void shouldDenyLevelsBelowLoggerMinimum() {
+        publish(new EarlyRejection(new LoggerOverrides(Level.INFO, "com.example.audit=WARN"), null, null, null));
+
+        assertEquals(FilterReply.DENY, decide("com.example.audit.Trail", Level.INFO, "msg"));
+        assertEquals(FilterReply.DENY, decide("com.example.audit.Trail", Level.INFO, null));
+        assertEquals(FilterReply.NEUTRAL, decide("com.example.audit.Trail", Level.WARN, "msg"));
+    }
+
+    @Test
+    void shouldKeepLevelsHeldByScopeBuffering() {
+        publish(new EarlyRejection(new LoggerOverrides(Level.INFO, null), null, null, Level.DEBUG));
+
+        assertEquals(FilterReply.NEUTRAL, decide("com.example.audit.Trail", Level.DEBUG, "msg"));
+        assertEquals(FilterReply.DENY, decide("com.example.audit.Trail", Level.TRACE, "msg"));
+    }
+
+    @Test
+    void shouldDenySampledOutTracesOnly() {
+        publish(new EarlyRejection(new LoggerOverrides(Level.INFO, null),
+                TraceSampler.parse("INFO=50%"), null, null));
+
+        int denied = 0;
+        for (int i = 0; i < 200; i++) {
+            String traceId = "trace-" + i;
+            MDC.put("traceId", traceId);
+            FilterReply reply = decide("com.example.audit.Trail", Level.INFO, "msg");
+            assertEquals(TraceSampler.position(traceId) >= 0.5 ? FilterReply.DENY : FilterReply.NEUTRAL, reply);
+            if (reply == FilterReply.DENY) {
+                denied++;
+            }
+        }
+        assertTrue(denied > 0);
+
+        // Without a trace ID, the random verdict is left to the appender
+        MDC.remove("traceId");
+        assertEquals(FilterReply.NEUTRAL, decide("com.example.audit.Trail", Level.INFO, "msg"));
+    }
+
+    @Test
+    void shouldDenyWhenRateLimitIsExhaustedWithoutTakingPermits() {
+        LoggerRateLimiter rateLimiter = LoggerRateLimiter.parse("com.example.audit=0.001/1");
+        publish(new EarlyRejection(new LoggerOverrides(Level.INFO, null), null, rateLimiter, null));
+
+        assertEquals(FilterReply.NEUTRAL, decide("com.example.audit.Trail", Level.INFO, "msg"));
+        assertEquals(FilterReply.NEUTRAL, decide("com.example.audit.Trail", Level.INFO, "msg"));
+
+        assertTrue(rateLimiter.tryAcquire("com.example.audit.Trail", System.nanoTime()));
+        assertEquals(FilterReply.DENY, decide("com.example.audit.Trail", Level.INFO, "msg"));
+    }
+
+    private void publish(EarlyRejection decisions) {
+        loggerContext.putObject(LogHubTurboFilter.DECISIONS_KEY, decisions);
+    }
+
+    private FilterReply decide(String loggerName, Level level, String format) {
+        return filter.decide(null, loggerContext.getLogger(loggerName), level, format, null, null);
+    }
+}
@@ -0,0 +1,63 @@
+package io.loghub.logger.filter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LoggerNameTrie.
+ */
+class LoggerNameTrieTest {
+
+    @Test
+    void shouldMatchPrefixOnSegmentBoundaries() {
+        LoggerNameTrie<String> trie = LoggerNameTrie.<String>builder()
+                .put("com.example", "example")
+                .build();
+
+        assertEquals("example", trie.find("com.example"));
+        assertEquals("example", trie.find("com.example.db.Pool"));
+        assertNull(trie.find("com.examples.Service"));
+        assertNull(trie.find("com"));
+    }
+
+    @Test
+    void shouldReturnLongestMatchingPrefix() {
+        LoggerNameTrie<String> trie = LoggerNameTrie.<String>builder()
+                .put("com", "com")
+                .put("com.example.db", "db")
+                .build();
+
+        assertEquals("db", trie.find("com.example.db.Pool"));
+        assertEquals("com", trie.find("com.example.web.Controller"));
+    }
+
+    @Test
+    void shouldFallBackToRootValue() {
+        LoggerNameTrie<String> trie = LoggerNameTrie.<String>builder()
+                .put(LoggerNameTrie.ROOT, "root")
+                .put("com.example", "example")
+                .build();
+
+        assertEquals("root", trie.find("org.other.Service"));
+        assertEquals("root", trie.find(null));
+        assertEquals("example", trie.find("com.example.Service"));
+    }
+
+    @Test
+    void shouldReplaceValueOfSamePrefix() {
+        LoggerNameTrie<Integer> trie = LoggerNameTrie.<Integer>builder()
+                .put("a.b", 1)
+                .put("a.b", 2)
+                .build();
+
+        assertEquals(2, trie.find("a.b.C"));
+    }
+
+    @Test
+    void shouldReportEmptiness() {
+        assertTrue(LoggerNameTrie.builder().build().isEmpty());
+        assertFalse(LoggerNameTrie.builder().put("a", 1).build().isEmpty());
+        assertFalse(LoggerNameTrie.builder().put(LoggerNameTrie.ROOT, 1).build().isEmpty());
+    }
+}
@@ -0,0 +1,91 @@
+package io.loghub.logger.filter;
+
+import ch.qos.logback.classic.Level;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LoggerOverrides.
+ */
+class LoggerOverridesTest {
+
+    @Test
+    void shouldUseDefaultLevelWithoutOverrides() {
+        LoggerOverrides overrides = new LoggerOverrides(Level.INFO, null);
+
+        LoggerOverrides.Policy policy = overrides.policyFor("com.example.Service");
+
+        assertEquals(Level.INFO, policy.getMinimumLevel());
+        assertFalse(policy.hasSampleRate());
+        assertTrue(policy.isEnabled(Level.INFO));
+        assertFalse(policy.isEnabled(Level.DEBUG));
+        assertFalse(policy.isEnabled(null));
+    }
+
+    @Test
+    void shouldApplyLongestMatchingPrefix() {
+        LoggerOverrides overrides = new LoggerOverrides(Level.INFO,
+                "org.hibernate=WARN; com.example=DEBUG, com.example.search=INFO@10%");
+
+        assertEquals(Level.WARN, overrides.policyFor("org.hibernate.SQL").getMinimumLevel());
+        assertEquals(Level.DEBUG, overrides.policyFor("com.example.payments.Gateway").getMinimumLevel());
+
+        LoggerOverrides.Policy search = overrides.policyFor("com.example.search.Indexer");
+        assertEquals(Level.INFO, search.getMinimumLevel());
+        assertTrue(search.hasSampleRate());
+        assertEquals(0.1, search.getSampleRate(), 1e-12);
+
+        assertEquals(Level.INFO, overrides.policyFor("org.other.Service").getMinimumLevel());
+    }
+
+    @Test
+    void shouldInheritDefaultLevelForRateOnlyOverride() {
+        LoggerOverrides overrides = new LoggerOverrides(Level.WARN, "com.chatty=@0.5");
+
+        LoggerOverrides.Policy policy = overrides.policyFor("com.chatty.Loop");
+
+        assertEquals(Level.WARN, policy.getMinimumLevel());
+        assertEquals(0.5, policy.getSampleRate());
+    }
+
+    @Test
+    void shouldReturnCachedPolicyForSameLogger() {
+        LoggerOverrides overrides = new LoggerOverrides(Level.INFO, "com.example=DEBUG");
+
+        assertSame(overrides.policyFor("com.example.A"), overrides.policyFor("com.example.A"));
+    }
+
+    @Test
+    void shouldReloadAtRuntime() {
+        LoggerOverrides overrides = new LoggerOverrides(Level.INFO, "com.example=DEBUG");
+        assertEquals(Level.DEBUG, overrides.policyFor("com.example.A").getMinimumLevel());
+
+        overrides.reload("com.example=ERROR");
+
+        assertEquals(Level.ERROR, overrides.policyFor("com.example.A").getMinimumLevel());
+    }
+
+    @Test
+    void shouldApplyNewDefaultLevelAtRuntime() {
+        LoggerOverrides overrides = new LoggerOverrides(Level.INFO, "com.example=DEBUG, com.example.search=@10%");
+
+        overrides.setDefaultLevel(Level.WARN);
+
+        assertEquals(Level.WARN, overrides.policyFor("org.other.A").getMinimumLevel());
+        assertEquals(Level.WARN, overrides.policyFor("com.example.search.A").getMinimumLevel());
+        assertEquals(Level.DEBUG, overrides.policyFor("com.example.A").getMinimumLevel());
+        assertEquals(Level.WARN, new LoggerOverrides(Level.WARN, null).policyFor("any").getMinimumLevel());
+    }
+
+    @Test
+    void shouldKeepCurrentOverridesWhenReloadFails() {
+        LoggerOverrides overrides = new LoggerOverrides(Level.INFO, "com.example=DEBUG");
+
+        assertThrows(IllegalArgumentException.class, () -> overrides.reload("com.example=LOUD"));
+        assertThrows(IllegalArgumentException.class, () -> overrides.reload("com.example"));
+        assertThrows(IllegalArgumentException.class, () -> overrides.reload("com.example=INFO@200%"));
+
+        assertEquals(Level.DEBUG, overrides.policyFor("com.example.A").getMinimumLevel());
+    }
+}
@@ -0,0 +1,153 @@
+package io.loghub.logger.filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LoggerRateLimiter.
+ */
+class LoggerRateLimiterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void shouldNotLimitLoggersWithoutRule() {
+        LoggerRateLimiter limiter = LoggerRateLimiter.parse("com.example.chatty=1");
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limiter.tryAcquire("com.example.Service", 0L));
+            assertTrue(limiter.tryAcquire(null, 0L));
+        }
+    }
+
+    @Test
+    void shouldBoundCacheForUnlimitedLoggers() {
+        LoggerRateLimiter limiter = LoggerRateLimiter.parse("com.example.chatty=1");
+
+        for (int i = 0; i < LoggerRateLimiter.MAX_CACHED_LOGGERS + 100; i++) {
+            assertTrue(limiter.tryAcquire("com.example.request." + i, 0L));
+        }
+
+        assertEquals(LoggerRateLimiter.MAX_CACHED_LOGGERS, limiter.cachedLoggers());
+        assertTrue(limiter.tryAcquire("com.example.chatty.Late", 0L));
+        assertFalse(limiter.tryAcquire("com.example.chatty.Late", 0L));
+    }
+
+    @Test
+    void shouldRejectBeyondBurstAndRefillOverTime() {
+        LoggerRateLimiter limiter = LoggerRateLimiter.parse("com.example.chatty=10/3");
+
+        assertTrue(limiter.tryAcquire("com.example.chatty.Worker", 0L));
+        assertTrue(limiter.tryAcquire("com.example.chatty.Worker", 0L));
+        assertTrue(limiter.tryAcquire("com.example.chatty.Worker", 0L));
+        assertFalse(limiter.tryAcquire("com.example.chatty.Worker", 0L));
+
+        // One token every 100ms
+        assertTrue(limiter.tryAcquire("com.example.chatty.Worker", SECOND / 10));
+        assertFalse(limiter.tryAcquire("com.example.chatty.Worker", SECOND / 10));
+    }
+
+    @Test
+    void shouldDefaultBurstToOneSecondOfEvents() {
+        LoggerRateLimiter limiter = LoggerRateLimiter.parse("chatty=5");
+
+        int accepted = 0;
+        for (int i = 0; i < 20; i++) {
+            if (limiter.tryAcquire("chatty", 0L)) {
+                accepted++;
+            }
+        }
+
+        assertEquals(5, accepted);
+    }
+
+    @Test
+    void shouldShareOneBucketPerRuleByDefault() {
+        LoggerRateLimiter limiter = LoggerRateLimiter.parse("com.example=2/2");
+
+        assertTrue(limiter.tryAcquire("com.example.A", 0L));
+        assertTrue(limiter.tryAcquire("com.example.B", 0L));
+        assertFalse(limiter.tryAcquire("com.example.C", 0L));
+        assertFalse(limiter.tryAcquire("com.example.A", 0L));
+    }
+
+    @Test
+    void shouldGiveEachLoggerItsOwnBucketWhenPerLogger() {
+        LoggerRateLimiter limiter = LoggerRateLimiter.parse("com.example=1/1", true);
+
+        assertTrue(limiter.tryAcquire("com.example.A", 0L));
+        assertFalse(limiter.tryAcquire("com.example.A", 0L));
+        assertTrue(limiter.tryAcquire("com.example.B", 0L));
+    }
+
+    @Test
+    void shouldUseLongestMatchingPrefix() {
+        LoggerRateLimiter limiter = LoggerRateLimiter.parse("*=1/1; com.example=100/100");
+
+        assertTrue(limiter.tryAcquire("com.example.Service", 0L));
+        assertTrue(limiter.tryAcquire("com.example.Service", 0L));
+        assertTrue(limiter.tryAcquire("org.other", 0L));
+        assertFalse(limiter.tryAcquire("org.other", 0L));
+    }
+
+    @Test
+    void shouldPeekWithoutConsuming() {
+        LoggerRateLimiter limiter = LoggerRateLimiter.parse("chatty=1/1");
+
+        assertTrue(limiter.hasPermit("chatty", 0L));
+        assertTrue(limiter.hasPermit("chatty", 0L));
+        assertTrue(limiter.tryAcquire("chatty", 0L));
+        assertFalse(limiter.hasPermit("chatty", 0L));
+    }
+
+    @Test
+    void shouldReportSharedRejectionsUnderRulePrefix() {
+        LoggerRateLimiter limiter = LoggerRateLimiter.parse("chatty=2/1");
+        limiter.tryAcquire("chatty.A", 0L);
+        limiter.tryAcquire("chatty.A", 0L);
+        limiter.tryAcquire("chatty.B", 0L);
+
+        Map<String, Long> reported = new HashMap<>();
+        limiter.drainRejected((logger, count, rate) -> reported.put(logger, count));
+
+        assertEquals(Map.of("chatty", 2L), reported);
+    }
+
+    @Test
+    void shouldReportAndResetRejectedCounts() {
+        LoggerRateLimiter limiter = LoggerRateLimiter.parse("chatty=2/1", true);
+        limiter.tryAcquire("chatty.A", 0L);
+        limiter.tryAcquire("chatty.A", 0L);
+        limiter.tryAcquire("chatty.A", 0L);
+        limiter.tryAcquire("chatty.B", 0L);
+
+        Map<String, Long> reported = new HashMap<>();
+        limiter.drainRejected((logger, count, rate) -> {
+            reported.put(logger, count);
+            assertEquals(2.0, rate);
+        });
+
+        assertEquals(Map.of("chatty.A", 2L), reported);
+
+        reported.clear();
+        limiter.drainRejected((logger, count, rate) -> reported.put(logger, count));
+        assertTrue(reported.isEmpty());
+    }
+
+    @Test
+    void shouldRejectMalformedSpec() {
+        assertThrows(IllegalArgumentException.class, () -> LoggerRateLimiter.parse("chatty"));
+        assertThrows(IllegalArgumentException.class, () -> LoggerRateLimiter.parse("chatty=fast"));
+        assertThrows(IllegalArgumentException.class, () -> LoggerRateLimiter.parse("chatty=0"));
+    }
+
+    @Test
+    void shouldTreatBlankSpecAsEmpty() {
+        assertTrue(LoggerRateLimiter.parse(" , ").isEmpty());
+        assertFalse(LoggerRateLimiter.parse("a=1").isEmpty());
+    }
+}
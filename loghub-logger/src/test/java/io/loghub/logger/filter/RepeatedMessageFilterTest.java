@@ -0,0 +1,105 @@
+package io.loghub.logger.filter;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RepeatedMessageFilter.
+ */
+class RepeatedMessageFilterTest {
+
+    private LoggerContext loggerContext;
+    private List<RepeatedMessageFilter.Summary> summaries;
+    private RepeatedMessageFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        loggerContext = new LoggerContext();
+        loggerContext.setMDCAdapter(new LogbackMDCAdapter());
+        summaries = new ArrayList<>();
+        filter = new RepeatedMessageFilter(1_000L, 64, summaries::add);
+    }
+
+    @Test
+    void shouldForwardFirstOccurrenceAndSuppressRepeats() {
+        assertTrue(filter.accept(event("db", Level.WARN, "Connection to {} failed", 0L)));
+        assertFalse(filter.accept(event("db", Level.WARN, "Connection to {} failed", 10L)));
+        assertFalse(filter.accept(event("db", Level.WARN, "Connection to {} failed", 20L)));
+
+        assertTrue(summaries.isEmpty());
+    }
+
+    @Test
+    void shouldKeyOnLoggerLevelAndTemplate() {
+        assertTrue(filter.accept(event("db", Level.WARN, "Connection to {} failed", 0L)));
+
+        assertTrue(filter.accept(event("db", Level.ERROR, "Connection to {} failed", 1L)));
+        assertTrue(filter.accept(event("cache", Level.WARN, "Connection to {} failed", 2L)));
+        assertTrue(filter.accept(event("db", Level.WARN, "Query {} failed", 3L)));
+    }
+
+    @Test
+    void shouldEmitSummaryWhenWindowExpiresOnNextOccurrence() {
+        filter.accept(event("db", Level.WARN, "Connection failed", 0L));
+        filter.accept(event("db", Level.WARN, "Connection failed", 100L));
+        filter.accept(event("db", Level.WARN, "Connection failed", 200L));
+
+        assertTrue(filter.accept(event("db", Level.WARN, "Connection failed", 1_500L)));
+
+        assertEquals(1, summaries.size());
+        RepeatedMessageFilter.Summary summary = summaries.get(0);
+        assertEquals(2, summary.getCount());
+        assertEquals(0L, summary.getFirstTimestamp());
+        assertEquals(200L, summary.getLastTimestamp());
+        assertEquals("Connection failed", summary.getTemplate());
+        assertEquals(Level.WARN, summary.getLevel());
+    }
+
+    @Test
+    void shouldEmitSummaryOnFlushWithSampledTraceIds() {
+        filter.accept(event("db", Level.ERROR, "Timeout", 0L));
+        for (int i = 1; i <= 5; i++) {
+            filter.accept(event("db", Level.ERROR, "Timeout", i, Map.of("traceId", "trace-" + i)));
+        }
+
+        filter.flushExpired(500L);
+        assertTrue(summaries.isEmpty());
+
+        filter.flushExpired(2_000L);
+        assertEquals(1, summaries.size());
+        assertEquals(5, summaries.get(0).getCount());
+        assertEquals(List.of("trace-1", "trace-2", "trace-3"), summaries.get(0).getTraceIds());
+    }
+
+    @Test
+    void shouldNotEmitSummaryWithoutRepeats() {
+        filter.accept(event("db", Level.WARN, "Connection failed", 0L));
+
+        filter.flushAll();
+
+        assertTrue(summaries.isEmpty());
+    }
+
+    private LoggingEvent event(String loggerName, Level level, String message, long timestamp) {
+        return event(loggerName, level, message, timestamp, Map.of());
+    }
+
+    private LoggingEvent event(String loggerName, Level level, String message, long timestamp,
+                               Map<String, String> mdc) {
+        LoggingEvent event = new LoggingEvent(RepeatedMessageFilterTest.class.getName(),
+                loggerContext.getLogger(loggerName), level, message, null, null);
+        event.setTimeStamp(timestamp);
+        event.setMDCPropertyMap(mdc);
+        return event;
+    }
+}
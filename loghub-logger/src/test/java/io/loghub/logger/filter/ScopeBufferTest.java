@@ -0,0 +1,230 @@
+package io.loghub.logger.filter;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import io.loghub.logger.context.LogContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.event.KeyValuePair;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ScopeBuffer.
+ */
+class ScopeBufferTest {
+
+    private LoggerContext loggerContext;
+
+    @BeforeEach
+    void setUp() {
+        loggerContext = new LoggerContext();
+        loggerContext.setMDCAdapter(new LogbackMDCAdapter());
+    }
+
+    @AfterEach
+    void tearDown() {
+        LogContext.removeContext();
+    }
+
+    @Test
+    void shouldDrainBufferedEventsInOrderWithTheirContextSnapshot() {
+        ScopeBuffer buffer = new ScopeBuffer(64 * 1024, 1024 * 1024);
+        LogContext.put("step", "load");
+        buffer.buffer(event("first"));
+        LogContext.put("step", "save");
+        buffer.buffer(event("second"));
+
+        List<ScopeBuffer.Buffered> drained = buffer.drain();
+
+        assertEquals(2, drained.size());
+        assertEquals("first", drained.get(0).getEvent().getMessage());
+        assertEquals("load", drained.get(0).getContext().resolve().get("step"));
+        assertEquals("second", drained.get(1).getEvent().getMessage());
+        assertEquals("save", drained.get(1).getContext().resolve().get("step"));
+        assertTrue(buffer.drain().isEmpty());
+        assertEquals(0, buffer.getBufferedBytes());
+    }
+
+    @Test
+    void shouldDiscardBufferWhenScopeEnds() {
+        ScopeBuffer buffer = new ScopeBuffer(64 * 1024, 1024 * 1024);
+        buffer.buffer(event("detail"));
+        assertTrue(buffer.getBufferedBytes() > 0);
+
+        LogContext.clear();
+
+        assertEquals(0, buffer.getBufferedBytes());
+        assertTrue(buffer.drain().isEmpty());
+    }
+
+    @Test
+    void shouldNotResolveLazyContextOfDiscardedEvents() {
+        ScopeBuffer buffer = new ScopeBuffer(64 * 1024, 1024 * 1024);
+        AtomicInteger calls = new AtomicInteger();
+        LogContext.putLazy("principal", () -> "user-" + calls.incrementAndGet());
+        buffer.buffer(event("detail"));
+        buffer.buffer(event("more detail"));
+
+        LogContext.clear();
+
+        assertEquals(0, calls.get());
+    }
+
+    @Test
+    void shouldResolveLazyContextOnlyWhenDrainedEventIsConverted() {
+        ScopeBuffer buffer = new ScopeBuffer(64 * 1024, 1024 * 1024);
+        AtomicInteger calls = new AtomicInteger();
+        LogContext.putLazy("principal", () -> "user-" + calls.incrementAndGet());
+        buffer.buffer(event("detail"));
+
+        List<ScopeBuffer.Buffered> drained = buffer.drain();
+        assertEquals(0, calls.get());
+
+        assertEquals("user-1", drained.get(0).getContext().resolve().get("principal"));
+        assertEquals("user-1", LogContext.get("principal"));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void shouldEvictOldestEventsBeyondScopeCap() {
+        ScopeBuffer buffer = new ScopeBuffer(700, 1024 * 1024);
+        buffer.buffer(event("one"));
+        buffer.buffer(event("two"));
+        buffer.buffer(event("three"));
+
+        List<ScopeBuffer.Buffered> drained = buffer.drain();
+
+        assertEquals(2, drained.size());
+        assertEquals("two", drained.get(0).getEvent().getMessage());
+        assertEquals("three", drained.get(1).getEvent().getMessage());
+        assertEquals(1, buffer.drainDropped());
+    }
+
+    @Test
+    void shouldDropNewEventsBeyondGlobalCap() throws InterruptedException {
+        ScopeBuffer buffer = new ScopeBuffer(64 * 1024, 600);
+        assertTrue(buffer.buffer(event("main")));
+
+        AtomicReference<Boolean> otherThread = new AtomicReference<>();
+        Thread thread = new Thread(() -> {
+            buffer.buffer(event("other-1"));
+            otherThread.set(buffer.buffer(event("other-2")));
+        });
+        thread.start();
+        thread.join();
+
+        assertFalse(otherThread.get());
+        assertEquals(1, buffer.drainDropped());
+    }
+
+    @Test
+    void shouldKeepScopesOfDifferentThreadsApart() throws InterruptedException {
+        ScopeBuffer buffer = new ScopeBuffer(64 * 1024, 1024 * 1024);
+        buffer.buffer(event("main"));
+
+        Thread thread = new Thread(() -> buffer.buffer(event("other")));
+        thread.start();
+        thread.join();
+
+        List<ScopeBuffer.Buffered> drained = buffer.drain();
+        assertEquals(1, drained.size());
+        assertEquals("main", drained.get(0).getEvent().getMessage());
+    }
+
+    @Test
+    void shouldReleaseScopeOfThreadThatEndedWithoutClearingContext() throws InterruptedException {
+        ScopeBuffer buffer = new ScopeBuffer(64 * 1024, 1024 * 1024, 10_000L);
+        Thread thread = new Thread(() -> buffer.buffer(event("abandoned", 1_000L)));
+        thread.start();
+        thread.join();
+        assertTrue(buffer.getBufferedBytes() > 0);
+        assertEquals(1, buffer.getScopeCount());
+
+        assertEquals(0, buffer.evictExpired(10_500L));
+        assertEquals(1, buffer.evictExpired(11_001L));
+
+        assertEquals(0, buffer.getBufferedBytes());
+        assertEquals(0, buffer.getScopeCount());
+        assertEquals(0, buffer.drainDropped());
+    }
+
+    @Test
+    void shouldEvictExpiredEventsWhenBuffering() {
+        ScopeBuffer buffer = new ScopeBuffer(64 * 1024, 1024 * 1024, 10_000L);
+        buffer.buffer(event("stale", 1_000L));
+        buffer.buffer(event("recent", 9_000L));
+        buffer.buffer(event("latest", 12_000L));
+
+        List<ScopeBuffer.Buffered> drained = buffer.drain();
+
+        assertEquals(2, drained.size());
+        assertEquals("recent", drained.get(0).getEvent().getMessage());
+        assertEquals("latest", drained.get(1).getEvent().getMessage());
+        assertEquals(0, buffer.getScopeCount());
+    }
+
+    @Test
+    void shouldFreezeArgumentsMdcAndKeyValuesWhenBuffering() {
+        ScopeBuffer buffer = new ScopeBuffer(64 * 1024, 1024 * 1024);
+        StringBuilder order = new StringBuilder("ORD-1");
+        List<String> items = new ArrayList<>(List.of("book"));
+        loggerContext.getMDCAdapter().put("step", "load");
+        LoggingEvent event = new LoggingEvent(ScopeBufferTest.class.getName(),
+                loggerContext.getLogger("io.loghub.test"), Level.DEBUG, "Order {} loaded ({} attempts)",
+                null, new Object[]{order, 2});
+        event.addKeyValuePair(new KeyValuePair("items", items));
+        buffer.buffer(event);
+
+        order.append("-changed");
+        items.add("pen");
+        loggerContext.getMDCAdapter().put("step", "save");
+
+        ILoggingEvent frozen = buffer.drain().get(0).getEvent();
+        assertEquals("Order ORD-1 loaded (2 attempts)", frozen.getFormattedMessage());
+        assertArrayEquals(new Object[]{"ORD-1", 2}, frozen.getArgumentArray());
+        assertEquals("load", frozen.getMDCPropertyMap().get("step"));
+        assertEquals("[book]", frozen.getKeyValuePairs().get(0).value);
+    }
+
+    @Test
+    void shouldKeepEventsOfUnclearedContextInScopeUntilCleared() {
+        ScopeBuffer buffer = new ScopeBuffer(64 * 1024, 1024 * 1024);
+        LogContext.put("requestId", "req-1");
+        buffer.buffer(event("first request"));
+        // The next unit of work on this thread starts without LogContext.clear()
+        LogContext.put("requestId", "req-2");
+        buffer.buffer(event("second request"));
+
+        assertEquals(2, buffer.drain().size());
+
+        buffer.buffer(event("second request"));
+        LogContext.clear();
+        LogContext.put("requestId", "req-3");
+        buffer.buffer(event("third request"));
+
+        List<ScopeBuffer.Buffered> drained = buffer.drain();
+        assertEquals(1, drained.size());
+        assertEquals("third request", drained.get(0).getEvent().getMessage());
+    }
+
+    private LoggingEvent event(String message, long timestamp) {
+        LoggingEvent event = event(message);
+        event.setTimeStamp(timestamp);
+        return event;
+    }
+
+    private LoggingEvent event(String message) {
+        return new LoggingEvent(ScopeBufferTest.class.getName(),
+                loggerContext.getLogger("io.loghub.test"), Level.DEBUG, message, null, null);
+    }
+}
@@ -0,0 +1,77 @@
+package io.loghub.logger.filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TokenBucket.
+ */
+class TokenBucketTest {
+
+    private static final long MILLI = 1_000_000L;
+
+    @Test
+    void shouldAllowBurstThenSustainedRate() {
+        TokenBucket bucket = new TokenBucket(100, 2);
+        long start = 5_000 * MILLI;
+
+        assertTrue(bucket.tryAcquire(start));
+        assertTrue(bucket.tryAcquire(start));
+        assertFalse(bucket.tryAcquire(start));
+        assertFalse(bucket.tryAcquire(start + 5 * MILLI));
+        assertTrue(bucket.tryAcquire(start + 10 * MILLI));
+    }
+
+    @Test
+    void shouldNotAccumulateMoreThanBurstWhileIdle() {
+        TokenBucket bucket = new TokenBucket(100, 2);
+
+        assertTrue(bucket.tryAcquire(0L));
+        long later = 60_000 * MILLI;
+        assertTrue(bucket.tryAcquire(later));
+        assertTrue(bucket.tryAcquire(later));
+        assertFalse(bucket.tryAcquire(later));
+    }
+
+    @Test
+    void shouldCountRejections() {
+        TokenBucket bucket = new TokenBucket(1, 1);
+        bucket.tryAcquire(0L);
+        bucket.tryAcquire(0L);
+        bucket.tryAcquire(0L);
+        bucket.hasPermit(0L);
+
+        assertEquals(2, bucket.drainRejected());
+        assertEquals(0, bucket.drainRejected());
+    }
+
+    @Test
+    void shouldNotOverGrantUnderContention() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(0.001, 50);
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(8);
+        for (int t = 0; t < 8; t++) {
+            new Thread(() -> {
+                for (int i = 0; i < 1_000; i++) {
+                    if (bucket.tryAcquire(0L)) {
+                        granted.incrementAndGet();
+                    }
+                }
+                done.countDown();
+            }).start();
+        }
+        done.await();
+
+        assertEquals(50, granted.get());
+        assertEquals(8_000 - 50, bucket.drainRejected());
+    }
+
+    @Test
+    void shouldRejectNonPositiveRate() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1));
+    }
+}
@@ -0,0 +1,109 @@
+package io.loghub.logger.filter;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TraceSampler.
+ */
+class TraceSamplerTest {
+
+    private LoggerContext loggerContext;
+
+    @BeforeEach
+    void setUp() {
+        loggerContext = new LoggerContext();
+        loggerContext.setMDCAdapter(new LogbackMDCAdapter());
+    }
+
+    @Test
+    void shouldParsePercentagesAndFractions() {
+        TraceSampler sampler = TraceSampler.parse("ERROR=100%, WARN=0.5; INFO=5%");
+
+        assertEquals(1.0, sampler.rateFor(Level.ERROR));
+        assertEquals(0.5, sampler.rateFor(Level.WARN));
+        assertEquals(0.05, sampler.rateFor(Level.INFO), 1e-12);
+        assertEquals(1.0, sampler.rateFor(Level.DEBUG));
+    }
+
+    @Test
+    void shouldRejectMalformedSpec() {
+        assertThrows(IllegalArgumentException.class, () -> TraceSampler.parse("INFO"));
+        assertThrows(IllegalArgumentException.class, () -> TraceSampler.parse("LOUD=10%"));
+        assertThrows(IllegalArgumentException.class, () -> TraceSampler.parse("INFO=150%"));
+        assertThrows(IllegalArgumentException.class, () -> TraceSampler.parse("INFO=often"));
+        assertThrows(IllegalArgumentException.class, () -> TraceSampler.parse("ALL=10%"));
+        assertThrows(IllegalArgumentException.class, () -> TraceSampler.parse("OFF=10%"));
+    }
+
+    @Test
+    void shouldKeepOrDropAllEventsOfATraceTogether() {
+        TraceSampler sampler = TraceSampler.parse("INFO=50%");
+
+        for (int i = 0; i < 200; i++) {
+            String traceId = "trace-" + i;
+            double first = sampler.sample(event(Level.INFO, traceId));
+            for (int j = 0; j < 5; j++) {
+                assertEquals(first, sampler.sample(event(Level.INFO, traceId)));
+            }
+        }
+    }
+
+    @Test
+    void shouldKeepTracesSampledAtLowerRateAtHigherRates() {
+        TraceSampler sampler = TraceSampler.parse("ERROR=100%, WARN=50%, INFO=5%");
+
+        for (int i = 0; i < 1_000; i++) {
+            String traceId = "trace-" + i;
+            if (sampler.sample(event(Level.INFO, traceId)) != TraceSampler.DROP) {
+                assertEquals(0.5, sampler.sample(event(Level.WARN, traceId)));
+            }
+            assertEquals(1.0, sampler.sample(event(Level.ERROR, traceId)));
+        }
+    }
+
+    @Test
+    void shouldApproximateConfiguredRate() {
+        TraceSampler sampler = TraceSampler.parse("INFO=10%");
+
+        int kept = 0;
+        for (int i = 0; i < 20_000; i++) {
+            if (sampler.sample(event(Level.INFO, Integer.toHexString(i * 7919) + "-span")) == 0.1) {
+                kept++;
+            }
+        }
+
+        assertTrue(kept > 1_600 && kept < 2_400, "kept " + kept);
+    }
+
+    @Test
+    void shouldDropEverythingAtZeroRate() {
+        TraceSampler sampler = TraceSampler.parse("DEBUG=0");
+
+        assertEquals(TraceSampler.DROP, sampler.sample(event(Level.DEBUG, "abc")));
+        assertEquals(TraceSampler.DROP, sampler.sample(event(Level.DEBUG, null)));
+    }
+
+    @Test
+    void shouldMapTraceIdsToStablePositions() {
+        assertEquals(TraceSampler.position("4bf92f3577b34da6a3ce929d0e0e4736"),
+                TraceSampler.position("4bf92f3577b34da6a3ce929d0e0e4736"));
+        double position = TraceSampler.position("any");
+        assertTrue(position >= 0.0 && position < 1.0);
+    }
+
+    private LoggingEvent event(Level level, String traceId) {
+        LoggingEvent event = new LoggingEvent(TraceSamplerTest.class.getName(),
+                loggerContext.getLogger("io.loghub.test"), level, "msg", null, null);
+        event.setMDCPropertyMap(traceId != null ? Map.of("traceId", traceId) : Map.of());
+        return event;
+    }
+}
@@ -0,0 +1,162 @@
+package io.loghub.logger.http;
+
+import io.loghub.contract.LogEvent;
+import io.loghub.contract.LogLevel;
+import io.loghub.logger.metrics.LogHubMetrics;
+import io.loghub.testkit.FaultPlan;
+import io.loghub.testkit.IngestServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LogHubHttpClient, against the testkit ingest server.
+ */
+class LogHubHttpClientTest {
+
+    private IngestServer server;
+    private LogHubMetrics metrics;
+    private LogHubHttpClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = IngestServer.builder().apiKey("test-key").start();
+        metrics = new LogHubMetrics();
+        client = new LogHubHttpClient(server.endpoint(), 2000, "test-key", metrics);
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        server.close();
+    }
+
+    @Test
+    void shouldDeliverEventMatchingContract() throws Exception {
+        LogEvent event = LogEvent.builder()
+                .application("orders")
+                .environment("test")
+                .level(LogLevel.WARN)
+                .message("Payment retried")
+                .timestamp(Instant.parse("2024-01-15T10:30:00.123Z"))
+                .metadata(Map.of("orderId", "order-42"))
+                .build();
+
+        assertEquals(202, send(client, event));
+
+        List<LogEvent> received = server.awaitEvents(1, Duration.ofSeconds(2));
+        assertEquals(event.getApplication(), received.get(0).getApplication());
+        assertEquals(event.getLevel(), received.get(0).getLevel());
+        assertEquals(event.getMessage(), received.get(0).getMessage());
+        assertEquals(event.getTimestamp(), received.get(0).getTimestamp());
+        assertEquals("order-42", received.get(0).getMetadata().get("orderId"));
+        assertEquals(1, metrics.getSent());
+        assertTrue(metrics.getBytesSerialized() > 0);
+    }
+
+    @Test
+    void shouldRecordRejectedApiKeyAsFailure() throws Exception {
+        LogHubHttpClient unauthorized = new LogHubHttpClient(server.endpoint(), 2000, "wrong-key", metrics);
+
+        assertEquals(401, send(unauthorized, event()));
+
+        assertEquals(0, server.getEventCount());
+        assertEquals(1L, metrics.getFailedByStatus().get("401"));
+    }
+
+    @Test
+    void shouldRecordErrorStatusAsFailure() throws Exception {
+        server.setFaultPlan(FaultPlan.builder().errors(1.0, 503).build());
+
+        assertEquals(503, send(client, event()));
+
+        assertEquals(0, metrics.getSent());
+        assertEquals(1L, metrics.getFailedByStatus().get("503"));
+    }
+
+    @Test
+    void shouldRecordConnectionResetAsTransportFailure() throws Exception {
+        server.setFaultPlan(FaultPlan.builder().connectionResets(1.0).build());
+
+        assertEquals(LogHubHttpClient.NO_RESPONSE, send(client, event()));
+
+        assertEquals(1L, metrics.getFailedByStatus().get("transport"));
+        assertInstanceOf(IOException.class, metrics.getLastFailureCause());
+    }
+
+    @Test
+    void shouldReportTimeoutAsNoResponse() throws Exception {
+        server.setFaultPlan(FaultPlan.builder()
+                .latency(random -> 1_000)
+                .build());
+        LogHubHttpClient impatient = new LogHubHttpClient(server.endpoint(), 100, "test-key", metrics);
+
+        assertEquals(LogHubHttpClient.NO_RESPONSE, send(impatient, event()));
+
+        assertEquals(1L, metrics.getFailedByStatus().get("transport"));
+    }
+
+    @Test
+    void shouldCompleteSendAsyncOnceDelivered() throws Exception {
+        assertNull(client.sendAsync(event()).get(5, TimeUnit.SECONDS));
+
+        assertEquals(1, server.getEventCount());
+    }
+
+    @Test
+    void shouldReportUnknownStatusForOverriddenSendAsync() throws Exception {
+        LogHubHttpClient completing = new LogHubHttpClient(server.endpoint(), 2000) {
+            @Override
+            public CompletableFuture<Void> sendAsync(LogEvent logEvent) {
+                return CompletableFuture.completedFuture(null);
+            }
+        };
+        LogHubHttpClient failing = new LogHubHttpClient(server.endpoint(), 2000) {
+            @Override
+            public CompletableFuture<Void> sendAsync(LogEvent logEvent) {
+                return CompletableFuture.failedFuture(new IOException("refused"));
+            }
+        };
+
+        assertEquals(LogHubHttpClient.UNKNOWN_STATUS, send(completing, event()));
+        assertEquals(LogHubHttpClient.NO_RESPONSE, send(failing, event()));
+        assertEquals(0, server.getRequestCount());
+    }
+
+    @Test
+    void shouldDeliverWhenOverrideCallsSuperSendAsync() throws Exception {
+        LogHubHttpClient decorating = new LogHubHttpClient(server.endpoint(), 2000, "test-key", metrics) {
+            @Override
+            public CompletableFuture<Void> sendAsync(LogEvent logEvent) {
+                return super.sendAsync(logEvent);
+            }
+        };
+
+        assertEquals(LogHubHttpClient.UNKNOWN_STATUS, send(decorating, event()));
+        assertEquals(1, server.getEventCount());
+        assertEquals(1, metrics.getSent());
+    }
+
+    private static int send(LogHubHttpClient client, LogEvent event) throws Exception {
+        return client.sendWithStatus(event).get(5, TimeUnit.SECONDS);
+    }
+
+    private static LogEvent event() {
+        return LogEvent.builder()
+                .application("orders")
+                .environment("test")
+                .level(LogLevel.INFO)
+                .message("Order processed")
+                .build();
+    }
+}
@@ -0,0 +1,167 @@
+package io.loghub.logger.jfr;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import io.loghub.contract.LogEvent;
+import io.loghub.contract.LogLevel;
+import io.loghub.logger.config.LogHubConfig;
+import io.loghub.logger.converter.LogEventConverter;
+import io.loghub.logger.http.LogHubHttpClient;
+import io.loghub.logger.queue.LogEventQueue;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the LogHub JFR events.
+ */
+class LogHubJfrEventsTest {
+
+    @Test
+    void shouldBeDisabledOutsideRecordings() {
+        assertFalse(new LogHubEnqueueEvent().isEnabled());
+        assertFalse(new LogHubConvertEvent().isEnabled());
+        assertFalse(new LogHubMaskEvent().isEnabled());
+        assertFalse(new LogHubFlushEvent().isEnabled());
+        assertFalse(new LogHubHttpSendEvent().isEnabled());
+    }
+
+    @Test
+    void shouldRecordEnqueueAndFlushEvents() throws Exception {
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable("io.loghub.Enqueue");
+            recording.enable("io.loghub.Flush");
+            recording.start();
+
+            LogEventQueue queue = new LogEventQueue(new CompletingHttpClient(), 100, 1);
+            queue.start();
+            queue.enqueue(createTestEvent());
+            assertTrue(queue.flush(Duration.ofSeconds(2)).get(2, TimeUnit.SECONDS));
+            queue.stop();
+
+            recording.stop();
+            events = readEvents(recording);
+        }
+
+        RecordedEvent enqueue = find(events, "io.loghub.Enqueue");
+        assertEquals("INFO", enqueue.getString("level"));
+        assertFalse(enqueue.getBoolean("dropped"));
+        RecordedEvent flush = find(events, "io.loghub.Flush");
+        assertTrue(flush.getBoolean("completed"));
+        List<String> reasons = events.stream()
+                .filter(e -> e.getEventType().getName().equals("io.loghub.Flush"))
+                .map(e -> e.getString("reason"))
+                .toList();
+        assertTrue(reasons.containsAll(List.of("flush", "stop")), reasons.toString());
+    }
+
+    @Test
+    void shouldRecordMaskEventsAboveThreshold() throws Exception {
+        LoggerContext loggerContext = new LoggerContext();
+        loggerContext.setMDCAdapter(new LogbackMDCAdapter());
+        LogEventConverter converter = new LogEventConverter(LogHubConfig.getInstance());
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable("io.loghub.Mask").withoutThreshold();
+            recording.start();
+
+            converter.convert(new LoggingEvent(LogHubJfrEventsTest.class.getName(),
+                    loggerContext.getLogger("io.loghub.test"), Level.INFO,
+                    "Contact john.doe@example.com", null, null));
+
+            recording.stop();
+            events = readEvents(recording);
+        }
+
+        RecordedEvent mask = find(events, "io.loghub.Mask");
+        assertEquals("Contact john.doe@example.com".length(), mask.getInt("inputLength"));
+        assertTrue(mask.getBoolean("masked"));
+    }
+
+    @Test
+    void shouldRecordOneMaskEventForTemplateArguments() throws Exception {
+        LoggerContext loggerContext = new LoggerContext();
+        loggerContext.setMDCAdapter(new LogbackMDCAdapter());
+        LogHubConfig config = LogHubConfig.getInstance();
+        LogEventConverter converter = new LogEventConverter(config);
+        List<RecordedEvent> events;
+        config.setPreserveTemplate(true);
+        try (Recording recording = new Recording()) {
+            recording.enable("io.loghub.Mask").withoutThreshold();
+            recording.start();
+
+            converter.convert(new LoggingEvent(LogHubJfrEventsTest.class.getName(),
+                    loggerContext.getLogger("io.loghub.test"), Level.INFO,
+                    "Order {} for {} processed in {} ms", null,
+                    new Object[]{"ORD-1", "john@example.com", 42}));
+
+            recording.stop();
+            events = readEvents(recording);
+        } finally {
+            config.setPreserveTemplate(false);
+        }
+
+        List<RecordedEvent> masks = events.stream()
+                .filter(e -> e.getEventType().getName().equals("io.loghub.Mask"))
+                .toList();
+        assertEquals(1, masks.size());
+        assertEquals("ORD-1".length() + "john@example.com".length() + "42".length(),
+                masks.get(0).getInt("inputLength"));
+        assertTrue(masks.get(0).getBoolean("masked"));
+    }
+
+    private static List<RecordedEvent> readEvents(Recording recording) throws Exception {
+        Path file = Files.createTempFile("loghub-jfr", ".jfr");
+        try {
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static RecordedEvent find(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(e -> e.getEventType().getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No " + name + " event recorded"));
+    }
+
+    private static LogEvent createTestEvent() {
+        return LogEvent.builder()
+                .application("test-app")
+                .environment("test")
+                .level(LogLevel.INFO)
+                .message("Test message")
+                .timestamp(Instant.now())
+                .build();
+    }
+
+    /**
+     * HTTP client whose requests complete immediately.
+     */
+    private static class CompletingHttpClient extends LogHubHttpClient {
+        CompletingHttpClient() {
+            super("http://localhost:8080/logs", 1000);
+        }
+
+        @Override
+        public CompletableFuture<Void> sendAsync(LogEvent logEvent) {
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+}
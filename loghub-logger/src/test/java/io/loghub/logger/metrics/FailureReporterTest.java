@@ -0,0 +1,60 @@
+package io.loghub.logger.metrics;
+
+import io.loghub.contract.LogLevel;
+import org.junit.jupiter.api.Test;
+
+import java.net.ConnectException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FailureReporter.
+ */
+class FailureReporterTest {
+
+    @Test
+    void shouldReportNothingWithoutLossesOrFailures() {
+        LogHubMetrics metrics = new LogHubMetrics();
+        FailureReporter reporter = new FailureReporter(metrics);
+        metrics.recordResponse(202, 1_000_000);
+        metrics.recordDropped(DropReason.SAMPLED, LogLevel.DEBUG);
+
+        assertNull(reporter.summarize());
+    }
+
+    @Test
+    void shouldSummarizeLossesFailuresAndCause() {
+        LogHubMetrics metrics = new LogHubMetrics();
+        FailureReporter reporter = new FailureReporter(metrics);
+        metrics.recordDropped(DropReason.QUEUE_FULL, LogLevel.INFO);
+        metrics.recordDropped(DropReason.QUEUE_FULL, LogLevel.WARN);
+        metrics.recordDropped(DropReason.SERIALIZATION, LogLevel.INFO);
+        metrics.recordDropped(DropReason.RATE_LIMITED, LogLevel.INFO);
+        metrics.recordResponse(503, 1_000_000);
+        metrics.recordTransportFailure(1_000_000);
+        metrics.recordFailureCause(new ConnectException("Connection refused"));
+
+        String summary = reporter.summarize();
+
+        assertTrue(summary.contains("lost 3 events (QUEUE_FULL=2, SERIALIZATION=1)"), summary);
+        assertTrue(summary.contains("2 requests failed (503=1, transport=1)"), summary);
+        assertTrue(summary.contains("dropped by policy (RATE_LIMITED=1)"), summary);
+        assertTrue(summary.contains("last cause: java.net.ConnectException: Connection refused"), summary);
+    }
+
+    @Test
+    void shouldReportOnlyTheLastIntervalAndNewCauses() {
+        LogHubMetrics metrics = new LogHubMetrics();
+        FailureReporter reporter = new FailureReporter(metrics);
+        metrics.recordResponse(503, 1_000_000);
+        metrics.recordFailureCause(new IllegalStateException("boom"));
+        assertNotNull(reporter.summarize());
+        assertNull(reporter.summarize());
+
+        metrics.recordResponse(503, 1_000_000);
+
+        String summary = reporter.summarize();
+        assertTrue(summary.contains("1 requests failed (503=1)"), summary);
+        assertFalse(summary.contains("last cause"), summary);
+    }
+}
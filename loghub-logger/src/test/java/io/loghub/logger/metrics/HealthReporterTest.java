@@ -0,0 +1,68 @@
+package io.loghub.logger.metrics;
+
+import io.loghub.contract.LogLevel;
+import io.loghub.logger.util.SdkVersion;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for HealthReporter.
+ */
+class HealthReporterTest {
+
+    @Test
+    void shouldSummarizeCountsSinceStart() {
+        LogHubMetrics metrics = new LogHubMetrics();
+        metrics.bindGauges(() -> 7, () -> 2);
+        HealthReporter reporter = new HealthReporter(metrics);
+        metrics.recordReceived();
+        metrics.recordReceived();
+        metrics.recordEnqueued();
+        metrics.recordDropped(DropReason.QUEUE_FULL, LogLevel.INFO);
+        metrics.recordResponse(202, 3_000_000);
+        metrics.recordResponse(503, 3_000_000);
+        metrics.recordTransportFailure(1_000_000);
+
+        Map<String, Object> health = reporter.report();
+
+        assertEquals(SdkVersion.getVersion(), health.get("health.sdkVersion"));
+        assertEquals(7, health.get("health.queueDepth"));
+        assertEquals(2, health.get("health.inFlight"));
+        assertEquals(2L, health.get("health.received"));
+        assertEquals(1L, health.get("health.enqueued"));
+        assertEquals(1L, health.get("health.sent"));
+        assertEquals(2L, health.get("health.failed"));
+        assertEquals(1L, health.get("health.dropped"));
+        assertEquals(1L, health.get("health.dropped.QUEUE_FULL"));
+        assertEquals(0L, health.get("health.dropped.SAMPLED"));
+        assertEquals(1L, health.get("health.failed.503"));
+        assertEquals(1L, health.get("health.failed.transport"));
+        assertEquals(2.0 / 3, (Double) health.get("health.errorRate"), 1e-9);
+        assertTrue((Double) health.get("health.httpP99Ms") > 2.0);
+        assertEquals(1L, health.get("health.droppedTotal"));
+    }
+
+    @Test
+    void shouldReportOnlyTheLastIntervalExceptTotals() {
+        LogHubMetrics metrics = new LogHubMetrics();
+        HealthReporter reporter = new HealthReporter(metrics);
+        metrics.recordDropped(DropReason.SAMPLED, LogLevel.DEBUG);
+        metrics.recordResponse(503, 1_000_000);
+        metrics.recordEnqueueToAck(5_000_000);
+        reporter.report();
+
+        metrics.recordResponse(200, 1_000_000);
+
+        Map<String, Object> health = reporter.report();
+        assertEquals(0L, health.get("health.dropped"));
+        assertEquals(1L, health.get("health.droppedTotal"));
+        assertEquals(1L, health.get("health.sent"));
+        assertEquals(0L, health.get("health.failed"));
+        assertFalse(health.containsKey("health.failed.503"));
+        assertEquals(0.0, health.get("health.errorRate"));
+        assertEquals(0.0, health.get("health.deliveryP99Ms"));
+    }
+}
@@ -0,0 +1,103 @@
+package io.loghub.logger.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LatencyHistogram.
+ */
+class LatencyHistogramTest {
+
+    @Test
+    void shouldMapEveryValueIntoItsBucketBounds() {
+        long[] values = {0, 1, 7, 8, 15, 16, 1_000, 123_456, 1_000_000_000L, (1L << 41) - 1};
+        for (long value : values) {
+            int index = LatencyHistogram.indexOf(value);
+            assertTrue(LatencyHistogram.lowerBound(index) <= value, "lower bound of " + value);
+            assertTrue(LatencyHistogram.upperBound(index) >= value, "upper bound of " + value);
+        }
+    }
+
+    @Test
+    void shouldKeepBucketsContiguous() {
+        for (int i = 1; i < LatencyHistogram.BUCKETS; i++) {
+            assertEquals(LatencyHistogram.upperBound(i - 1) + 1, LatencyHistogram.lowerBound(i));
+        }
+    }
+
+    @Test
+    void shouldClampHugeAndNegativeValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(Long.MAX_VALUE);
+        histogram.record(-5);
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(2, snapshot.getCount());
+        assertTrue(snapshot.getValueAtQuantile(0.0) < 1);
+        assertEquals(LatencyHistogram.upperBound(LatencyHistogram.BUCKETS - 1), snapshot.getMax());
+    }
+
+    @Test
+    void shouldReportPercentilesWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 1000; micros++) {
+            histogram.record(micros * 1000);
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(1000, snapshot.getCount());
+        assertEquals(500_500.0, snapshot.getMean(), 0.001);
+        assertEquals(500_000.0, snapshot.getValueAtQuantile(0.50), 500_000 * 0.125);
+        assertEquals(990_000.0, snapshot.getValueAtQuantile(0.99), 990_000 * 0.125);
+        assertTrue(snapshot.getMax() >= 1_000_000);
+    }
+
+    @Test
+    void shouldDescribeIntervalBetweenSnapshots() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1_000);
+        LatencyHistogram.Snapshot earlier = histogram.snapshot();
+        histogram.record(1_000_000);
+        histogram.record(1_000_000);
+
+        LatencyHistogram.Snapshot interval = histogram.snapshot().since(earlier);
+
+        assertEquals(2, interval.getCount());
+        assertEquals(1_000_000.0, interval.getMean(), 0.001);
+        assertEquals(1_000_000.0, interval.getValueAtQuantile(0.0), 1_000_000 * 0.125);
+    }
+
+    @Test
+    void shouldReturnZerosWhenEmpty() {
+        LatencyHistogram.Snapshot snapshot = new LatencyHistogram().snapshot();
+
+        assertEquals(0, snapshot.getCount());
+        assertEquals(0.0, snapshot.getMean());
+        assertEquals(0, snapshot.getValueAtQuantile(0.99));
+        assertEquals(0, snapshot.getMax());
+    }
+
+    @Test
+    void shouldCountConcurrentRecordings() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    histogram.record(i);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(40_000, histogram.snapshot().getCount());
+    }
+}
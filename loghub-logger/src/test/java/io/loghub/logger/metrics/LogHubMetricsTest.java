@@ -0,0 +1,112 @@
+package io.loghub.logger.metrics;
+
+import ch.qos.logback.classic.Level;
+import io.loghub.contract.LogLevel;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LogHubMetrics.
+ */
+class LogHubMetricsTest {
+
+    @Test
+    void shouldCountDropsByReasonAndLevel() {
+        LogHubMetrics metrics = new LogHubMetrics();
+        metrics.recordDropped(DropReason.QUEUE_FULL, LogLevel.INFO);
+        metrics.recordDropped(DropReason.QUEUE_FULL, LogLevel.INFO);
+        metrics.recordDropped(DropReason.SAMPLED, Level.DEBUG);
+
+        assertEquals(3, metrics.getDropped());
+        assertEquals(2, metrics.getDropped(DropReason.QUEUE_FULL));
+        assertEquals(Map.of("QUEUE_FULL.INFO", 2L, "SAMPLED.DEBUG", 1L), metrics.getDroppedByReasonAndLevel());
+    }
+
+    @Test
+    void shouldCountUnusualStatusesAndKeepLastFailureCause() {
+        LogHubMetrics metrics = new LogHubMetrics();
+        IllegalStateException cause = new IllegalStateException("boom");
+        metrics.recordResponse(999, 1_000_000);
+        metrics.recordResponse(599, 1_000_000);
+        metrics.recordFailureCause(cause);
+
+        assertEquals(2, metrics.getFailed());
+        assertEquals(Map.of("599", 1L, "999", 1L), metrics.getFailedByStatus());
+        assertSame(cause, metrics.getLastFailureCause());
+    }
+
+    @Test
+    void shouldSplitResponsesIntoSentAndFailedByStatus() {
+        LogHubMetrics metrics = new LogHubMetrics();
+        metrics.recordResponse(201, 1_000_000);
+        metrics.recordResponse(503, 2_000_000);
+        metrics.recordResponse(503, 2_000_000);
+        metrics.recordTransportFailure(5_000_000);
+
+        assertEquals(1, metrics.getSent());
+        assertEquals(3, metrics.getFailed());
+        assertEquals(Map.of("503", 2L, "transport", 1L), metrics.getFailedByStatus());
+        assertEquals(4, metrics.getHttpRoundTripHistogram().snapshot().getCount());
+    }
+
+    @Test
+    void shouldReadGaugesFromBoundSuppliers() {
+        LogHubMetrics metrics = new LogHubMetrics();
+        assertEquals(0, metrics.getQueueDepth());
+
+        metrics.bindGauges(() -> 7, () -> 2);
+
+        assertEquals(7, metrics.getQueueDepth());
+        assertEquals(2, metrics.getInFlightRequests());
+    }
+
+    @Test
+    void shouldExposeLatencyStatisticsInMillis() {
+        LogHubMetrics metrics = new LogHubMetrics();
+        metrics.recordConvert(2_000_000);
+
+        Map<String, Double> latencies = metrics.getLatencyMillis();
+
+        assertEquals(2.0, latencies.get("convert.p50"), 0.25);
+        assertEquals(0.0, latencies.get("serialize.p99"));
+        assertTrue(latencies.containsKey("enqueueToAck.p999"));
+    }
+
+    @Test
+    void shouldSummarizeDeliveryLatencyPerWindow() {
+        LogHubMetrics metrics = new LogHubMetrics();
+        metrics.recordEnqueueToAck(5_000_000);
+        assertEquals(1, metrics.rollDeliveryLatency().getCount());
+
+        metrics.recordEnqueueToAck(40_000_000);
+        metrics.recordEnqueueToAck(40_000_000);
+        LatencyHistogram.Snapshot window = metrics.rollDeliveryLatency();
+
+        assertEquals(2, window.getCount());
+        assertEquals(40.0, metrics.getRecentDeliveryLatencyMillis().get("p99"), 5.0);
+        assertEquals(0, metrics.rollDeliveryLatency().getCount());
+    }
+
+    @Test
+    void shouldRegisterAndUnregisterMBean() throws Exception {
+        LogHubMetrics metrics = new LogHubMetrics();
+        metrics.recordReceived();
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        ObjectName name = metrics.register("metrics-test");
+        try {
+            assertEquals("io.loghub", name.getDomain());
+            assertEquals(1L, server.getAttribute(name, "Received"));
+        } finally {
+            LogHubMetrics.unregister(name);
+        }
+
+        assertFalse(server.isRegistered(name));
+    }
+}
@@ -0,0 +1,119 @@
+package io.loghub.logger.queue;
+
+import io.loghub.contract.LogEvent;
+import io.loghub.contract.LogLevel;
+import io.loghub.contract.SdkInfo;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CompactLogEvent.
+ */
+class CompactLogEventTest {
+
+    @Test
+    void shouldMaterializeLogEvent() {
+        SdkInfo sdk = new SdkInfo("java", "1.0.0");
+        long now = System.currentTimeMillis();
+
+        CompactLogEvent compact = CompactLogEvent.builder()
+                .application("app")
+                .environment("test")
+                .level(LogLevel.WARN)
+                .message("msg")
+                .timestampMillis(now)
+                .traceId("trace-1")
+                .sdk(sdk)
+                .metadata("userId", "u-1")
+                .metadata("count", 3L)
+                .build();
+
+        LogEvent event = compact.toLogEvent();
+
+        assertEquals("app", event.getApplication());
+        assertEquals("test", event.getEnvironment());
+        assertEquals(LogLevel.WARN, event.getLevel());
+        assertEquals("msg", event.getMessage());
+        assertEquals(Instant.ofEpochMilli(now), event.getTimestamp());
+        assertEquals("trace-1", event.getTraceId());
+        assertEquals(sdk, event.getSdk());
+        assertEquals(Map.of("userId", "u-1", "count", 3L), event.getTypedMetadata());
+    }
+
+    @Test
+    void shouldReplaceRepeatedKeyAndIgnoreNulls() {
+        CompactLogEvent compact = CompactLogEvent.builder()
+                .metadata("key", "first")
+                .metadata("key", "second")
+                .metadata("empty", null)
+                .build();
+
+        assertEquals(1, compact.getMetadataSize());
+        assertEquals("second", compact.getMetadataValue("key"));
+        assertNull(compact.toLogEvent().getTypedMetadata().get("empty"));
+    }
+
+    @Test
+    void shouldShareCanonicalStrings() {
+        CompactLogEvent first = CompactLogEvent.builder()
+                .canonicalMetadata("logger", new String("com.example.Service"))
+                .build();
+        CompactLogEvent second = CompactLogEvent.builder()
+                .canonicalMetadata("logger", new String("com.example.Service"))
+                .build();
+
+        assertSame(first.getMetadataValue("logger"), second.getMetadataValue("logger"));
+    }
+
+    @Test
+    void shouldLeaveSharedArraysUntouchedWhenAddingEntries() {
+        String[] keys = {"requestId", "tenant"};
+        Object[] values = {"req-1", "acme"};
+
+        CompactLogEvent plain = CompactLogEvent.builder().metadata(keys, values).build();
+        CompactLogEvent extended = CompactLogEvent.builder()
+                .metadata(keys, values)
+                .metadata("tenant", "globex")
+                .metadata("logger", "com.example.Service")
+                .build();
+
+        assertArrayEquals(new String[]{"requestId", "tenant"}, keys);
+        assertArrayEquals(new Object[]{"req-1", "acme"}, values);
+        assertEquals(Map.of("requestId", "req-1", "tenant", "acme"), plain.toLogEvent().getTypedMetadata());
+        assertEquals(3, extended.getMetadataSize());
+        assertEquals("globex", extended.getMetadataValue("tenant"));
+    }
+
+    @Test
+    void shouldNotChangeBuiltEventWhenBuilderIsReused() {
+        CompactLogEvent.Builder builder = CompactLogEvent.builder().metadata("key", "first");
+        CompactLogEvent first = builder.build();
+
+        builder.metadata("key", "second").metadata("other", "value");
+
+        assertEquals(1, first.getMetadataSize());
+        assertEquals("first", first.getMetadataValue("key"));
+        assertEquals(Map.of("key", "first"), first.toLogEvent().getTypedMetadata());
+    }
+
+    @Test
+    void shouldRoundTripFromLogEvent() {
+        LogEvent original = LogEvent.builder()
+                .application("app")
+                .level(LogLevel.INFO)
+                .message("msg")
+                .timestamp(Instant.ofEpochMilli(1_700_000_000_000L))
+                .metadata(Map.of("k", "v"))
+                .build();
+
+        LogEvent copy = CompactLogEvent.from(original).toLogEvent();
+
+        assertEquals(original.getMessage(), copy.getMessage());
+        assertEquals(original.getTimestamp(), copy.getTimestamp());
+        assertEquals(original.getMetadata(), copy.getMetadata());
+    }
+}
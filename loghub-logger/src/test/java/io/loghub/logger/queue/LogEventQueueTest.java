@@ -3,12 +3,20 @@ package io.loghub.logger.queue;
 import io.loghub.contract.LogEvent;
 import io.loghub.contract.LogLevel;
 import io.loghub.logger.http.LogHubHttpClient;
+import io.loghub.logger.metrics.LogHubMetrics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -93,12 +101,279 @@ class LogEventQueueTest {
         assertTrue(queue.getQueueSize() < 5);
     }
 
+    @Test
+    void shouldSendPriorityEventsBeforeQueuedRegularEvents() throws InterruptedException {
+        BlockingHttpClient client = new BlockingHttpClient();
+        queue = new LogEventQueue(client, 100, 10, 1);
+        queue.start();
+
+        queue.enqueue(createTestEvent(LogLevel.INFO, "info-0"));
+        assertTrue(client.firstSendStarted.await(1, TimeUnit.SECONDS));
+        queue.enqueue(createTestEvent(LogLevel.INFO, "info-1"));
+        queue.enqueue(createTestEvent(LogLevel.INFO, "info-2"));
+        queue.enqueue(createTestEvent(LogLevel.ERROR, "error"));
+        queue.enqueue(createTestEvent(LogLevel.WARN, "warn"));
+        client.release.countDown();
+
+        waitForSends(client, 5);
+        assertEquals(List.of("info-0", "error", "warn", "info-1", "info-2"), client.messages);
+    }
+
+    @Test
+    void shouldKeepPriorityLaneAvailableWhenRegularLaneIsFull() {
+        BlockingHttpClient client = new BlockingHttpClient();
+        queue = new LogEventQueue(client, 2, 2, 1);
+        queue.start();
+
+        for (int i = 0; i < 10; i++) {
+            queue.enqueue(createTestEvent(LogLevel.INFO, "info"));
+        }
+
+        assertTrue(queue.enqueue(createTestEvent(LogLevel.ERROR, "error")));
+        assertEquals(1, queue.getPriorityQueueSize());
+        client.release.countDown();
+    }
+
+    @Test
+    void shouldSendReservedEventsFirstEvenWhenOtherLanesAreFull() throws InterruptedException {
+        BlockingHttpClient client = new BlockingHttpClient();
+        queue = new LogEventQueue(client, 2, 1, 1);
+        queue.start();
+
+        queue.enqueue(createTestEvent(LogLevel.INFO, "info-0"));
+        assertTrue(client.firstSendStarted.await(1, TimeUnit.SECONDS));
+        for (int i = 1; i <= 5; i++) {
+            queue.enqueue(createTestEvent(LogLevel.INFO, "info-" + i));
+            queue.enqueue(createTestEvent(LogLevel.ERROR, "error-" + i));
+        }
+        assertFalse(queue.enqueue(createTestEvent(LogLevel.INFO, "info")));
+        assertFalse(queue.enqueue(createTestEvent(LogLevel.ERROR, "error")));
+
+        assertTrue(queue.enqueueReserved(CompactLogEvent.from(createTestEvent(LogLevel.INFO, "health"))));
+        client.release.countDown();
+
+        waitForSends(client, 2);
+        assertEquals(List.of("info-0", "health"), client.messages.subList(0, 2));
+    }
+
+    @Test
+    void shouldReplaceOldestReservedEventWhenReservedLaneIsFull() throws Exception {
+        BlockingHttpClient client = new BlockingHttpClient();
+        LogHubMetrics metrics = new LogHubMetrics();
+        queue.stop();
+        queue = new LogEventQueue(client, 10, 10, 1, metrics);
+        queue.start();
+        queue.enqueue(createTestEvent(LogLevel.INFO, "info"));
+        assertTrue(client.firstSendStarted.await(1, TimeUnit.SECONDS));
+
+        for (int i = 0; i < LogEventQueue.RESERVED_CAPACITY + 2; i++) {
+            assertTrue(queue.enqueueReserved(CompactLogEvent.from(createTestEvent(LogLevel.INFO, "health-" + i))));
+        }
+        assertEquals(LogEventQueue.RESERVED_CAPACITY, queue.getQueueSize());
+        client.release.countDown();
+
+        assertTrue(queue.flush(Duration.ofSeconds(2)).get());
+        assertEquals(List.of("info", "health-2", "health-3", "health-4", "health-5"), client.messages);
+        assertEquals(Map.of("QUEUE_FULL.INFO", 2L), metrics.getDroppedByReasonAndLevel());
+    }
+
+    @Test
+    void shouldNotEnqueueReservedEventWhenStopped() {
+        assertFalse(queue.enqueueReserved(CompactLogEvent.from(createTestEvent())));
+    }
+
+    @Test
+    void shouldWakeIdleWorkerForPriorityEvent() throws InterruptedException {
+        BlockingHttpClient client = new BlockingHttpClient();
+        client.release.countDown();
+        queue = new LogEventQueue(client, 100, 10, 1);
+        queue.start();
+        Thread.sleep(20); // Let the worker block on the regular lane
+
+        queue.enqueue(createTestEvent(LogLevel.ERROR, "error"));
+
+        assertTrue(client.firstSendStarted.await(50, TimeUnit.MILLISECONDS));
+        assertEquals(0, queue.getQueueSize());
+    }
+
+    @Test
+    void shouldKeepRegularLaneCapacityAfterPriorityEvent() throws InterruptedException {
+        BlockingHttpClient client = new BlockingHttpClient();
+        queue = new LogEventQueue(client, 1, 10, 1);
+        queue.start();
+        queue.enqueue(createTestEvent(LogLevel.INFO, "info-0"));
+        assertTrue(client.firstSendStarted.await(1, TimeUnit.SECONDS));
+
+        assertTrue(queue.enqueue(createTestEvent(LogLevel.WARN, "warn")));
+        assertTrue(queue.enqueue(createTestEvent(LogLevel.INFO, "info-1")));
+        assertEquals(2, queue.getQueueSize());
+        client.release.countDown();
+
+        waitForSends(client, 3);
+        assertEquals(List.of("info-0", "warn", "info-1"), client.messages);
+    }
+
+    @Test
+    void shouldCompleteFlushOnceAcceptedEventsAreAcknowledged() throws Exception {
+        DeferredHttpClient client = new DeferredHttpClient();
+        queue.stop();
+        queue = new LogEventQueue(client, 100, 1);
+        queue.start();
+        queue.enqueue(createTestEvent());
+        queue.enqueue(createTestEvent());
+
+        CompletableFuture<Boolean> flushed = queue.flush(Duration.ofSeconds(2));
+        waitForInFlight(2);
+        assertFalse(flushed.isDone());
+
+        client.completeAll();
+
+        assertTrue(flushed.get(1, TimeUnit.SECONDS));
+        assertEquals(0, queue.getInFlightCount());
+    }
+
+    @Test
+    void shouldNotCompleteFlushWhenLaterPriorityEventIsAcknowledgedFirst() throws Exception {
+        DeferredHttpClient client = new DeferredHttpClient();
+        queue.stop();
+        queue = new LogEventQueue(client, 100, 1);
+        queue.start();
+        queue.enqueue(createTestEvent(LogLevel.INFO, "earlier"));
+        waitForInFlight(1);
+
+        CompletableFuture<Boolean> flushed = queue.flush(Duration.ofSeconds(2));
+        queue.enqueue(createTestEvent(LogLevel.ERROR, "later"));
+        waitForInFlight(2);
+        client.complete("later");
+
+        assertFalse(flushed.isDone());
+
+        client.complete("earlier");
+
+        assertTrue(flushed.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void shouldCompleteFlushWithFalseAfterTimeout() throws Exception {
+        DeferredHttpClient client = new DeferredHttpClient();
+        queue.stop();
+        queue = new LogEventQueue(client, 100, 1);
+        queue.start();
+        queue.enqueue(createTestEvent());
+
+        assertFalse(queue.flush(Duration.ofMillis(50)).get(1, TimeUnit.SECONDS));
+        client.completeAll();
+    }
+
+    @Test
+    void shouldCompleteFlushImmediatelyWhenNothingIsPending() throws Exception {
+        queue.start();
+
+        assertTrue(queue.flush(Duration.ofMillis(10)).get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void shouldWaitForInFlightRequestsOnStop() {
+        DeferredHttpClient client = new DeferredHttpClient();
+        queue.stop();
+        queue = new LogEventQueue(client, 100, 1);
+        queue.start();
+        for (int i = 0; i < 3; i++) {
+            queue.enqueue(createTestEvent());
+        }
+        new Thread(() -> {
+            waitForInFlight(3);
+            client.completeAll();
+        }).start();
+
+        queue.stop(Duration.ofSeconds(2));
+
+        assertEquals(0, queue.getInFlightCount());
+        assertEquals(3, client.completed.size());
+    }
+
+    @Test
+    void shouldCountEventsLeftAtDrainDeadlineAsShutdownDrops() throws Exception {
+        BlockingHttpClient client = new BlockingHttpClient();
+        LogHubMetrics metrics = new LogHubMetrics();
+        queue.stop();
+        queue = new LogEventQueue(client, 10, 10, 1, metrics);
+        queue.start();
+        queue.enqueue(createTestEvent(LogLevel.INFO, "info-0"));
+        assertTrue(client.firstSendStarted.await(1, TimeUnit.SECONDS));
+        queue.enqueue(createTestEvent(LogLevel.INFO, "info-1"));
+        queue.enqueue(createTestEvent(LogLevel.WARN, "warn"));
+        queue.enqueue(createTestEvent(LogLevel.INFO, "info-2"));
+        CompletableFuture<Boolean> flushed = queue.flush(Duration.ofSeconds(5));
+
+        queue.stop(Duration.ofMillis(100));
+
+        assertEquals(Map.of("SHUTDOWN.INFO", 2L, "SHUTDOWN.WARN", 1L), metrics.getDroppedByReasonAndLevel());
+        assertEquals(0, queue.getQueueSize());
+        assertTrue(flushed.get(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void shouldRecordEnqueuedDroppedAndAcknowledgedEvents() throws Exception {
+        BlockingHttpClient client = new BlockingHttpClient();
+        LogHubMetrics metrics = new LogHubMetrics();
+        queue.stop();
+        queue = new LogEventQueue(client, 1, 1, 1, metrics);
+        queue.start();
+        queue.enqueue(createTestEvent());
+        assertTrue(client.firstSendStarted.await(2, TimeUnit.SECONDS));
+
+        queue.enqueue(createTestEvent());
+        queue.enqueue(createTestEvent());
+        assertEquals(1, metrics.getQueueDepth());
+        assertEquals(1, metrics.getInFlightRequests());
+
+        client.release.countDown();
+        assertTrue(queue.flush(Duration.ofSeconds(2)).get());
+
+        assertEquals(2, metrics.getEnqueued());
+        assertEquals(Map.of("QUEUE_FULL.INFO", 1L), metrics.getDroppedByReasonAndLevel());
+        assertEquals(2, metrics.getEnqueueToAckHistogram().snapshot().getCount());
+    }
+
+    @Test
+    void shouldNotCountEventsOfUnknownStatusAsAcknowledged() throws Exception {
+        LogHubMetrics metrics = new LogHubMetrics();
+        queue.stop();
+        queue = new LogEventQueue(mockHttpClient, 100, 1, 1, metrics);
+        queue.start();
+        queue.enqueue(createTestEvent());
+
+        assertTrue(queue.flush(Duration.ofSeconds(2)).get());
+
+        assertEquals(1, mockHttpClient.getSendCount());
+        assertEquals(0, metrics.getEnqueueToAckHistogram().snapshot().getCount());
+    }
+
+    private void waitForInFlight(int expected) {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (queue.getInFlightCount() < expected && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private void waitForSends(BlockingHttpClient client, int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (client.messages.size() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
     private LogEvent createTestEvent() {
+        return createTestEvent(LogLevel.INFO, "Test message");
+    }
+
+    private LogEvent createTestEvent(LogLevel level, String message) {
         return LogEvent.builder()
                 .application("test-app")
                 .environment("test")
-                .level(LogLevel.INFO)
-                .message("Test message")
+                .level(level)
+                .message(message)
                 .timestamp(Instant.now())
                 .build();
     }
@@ -123,5 +398,67 @@ class LogEventQueueTest {
             return sendCount;
         }
     }
-}
 
+    /**
+     * HTTP client whose first send blocks until released, recording the order of sends.
+     * It reports a 200 status, so its events count as acknowledged.
+     */
+    private static class BlockingHttpClient extends LogHubHttpClient {
+        private final CountDownLatch firstSendStarted = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final List<String> messages = new CopyOnWriteArrayList<>();
+
+        BlockingHttpClient() {
+            super("http://localhost:8080/logs", 1000);
+        }
+
+        @Override
+        public CompletableFuture<Integer> sendWithStatus(LogEvent logEvent) {
+            messages.add(logEvent.getMessage());
+            firstSendStarted.countDown();
+            try {
+                release.await(2, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return CompletableFuture.completedFuture(200);
+        }
+    }
+
+    /**
+     * HTTP client whose requests only complete when told to.
+     */
+    private static class DeferredHttpClient extends LogHubHttpClient {
+        private final List<CompletableFuture<Void>> pending = new CopyOnWriteArrayList<>();
+        private final List<CompletableFuture<Void>> completed = new CopyOnWriteArrayList<>();
+
+        DeferredHttpClient() {
+            super("http://localhost:8080/logs", 1000);
+        }
+
+        private final Map<String, CompletableFuture<Void>> byMessage = new ConcurrentHashMap<>();
+
+        @Override
+        public CompletableFuture<Void> sendAsync(LogEvent logEvent) {
+            CompletableFuture<Void> future = new CompletableFuture<>();
+            pending.add(future);
+            byMessage.put(logEvent.getMessage(), future);
+            return future;
+        }
+
+        void complete(String message) {
+            CompletableFuture<Void> future = byMessage.remove(message);
+            pending.remove(future);
+            completed.add(future);
+            future.complete(null);
+        }
+
+        void completeAll() {
+            for (CompletableFuture<Void> future : pending) {
+                pending.remove(future);
+                completed.add(future);
+                future.complete(null);
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package io.loghub.logger.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for StringCanonicalizer.
+ */
+class StringCanonicalizerTest {
+
+    @Test
+    void shouldReturnSameInstanceForEqualStrings() {
+        StringCanonicalizer canonicalizer = new StringCanonicalizer(16);
+
+        String first = canonicalizer.canonicalize(new String("main"));
+        String second = canonicalizer.canonicalize(new String("main"));
+
+        assertSame(first, second);
+    }
+
+    @Test
+    void shouldStopGrowingWhenFull() {
+        StringCanonicalizer canonicalizer = new StringCanonicalizer(2);
+        canonicalizer.canonicalize("a");
+        canonicalizer.canonicalize("b");
+
+        String overflow = new String("c");
+
+        assertSame(overflow, canonicalizer.canonicalize(overflow));
+        assertEquals(2, canonicalizer.size());
+    }
+
+    @Test
+    void shouldHandleNull() {
+        assertNull(new StringCanonicalizer(2).canonicalize(null));
+    }
+}
@@ -0,0 +1,199 @@
+package io.loghub.testkit;
+
+import java.time.Duration;
+
+/**
+ * Faults an {@link IngestServer} injects into the requests it handles.
+ *
+ * <p>Each request is checked against the plan in this order: a connection reset (the
+ * connection is closed before any response), a slow read of the body, added latency, a
+ * {@code 429 Too Many Requests} with {@code Retry-After}, and an error status. Rates are
+ * probabilities between 0 and 1 drawn from the server's seeded random source, so a run with
+ * the same seed and request order injects the same faults.
+ *
+ * <p>Plans are immutable; swap them on a running server with
+ * {@link IngestServer#setFaultPlan(FaultPlan)}.
+ *
+ * <pre>{@code
+ * FaultPlan plan = FaultPlan.builder()
+ *         .latency(LatencyDistribution.exponential(Duration.ofMillis(20), Duration.ofSeconds(2)))
+ *         .errors(0.01, 503)
+ *         .throttling(0.05, Duration.ofSeconds(1))
+ *         .build();
+ * }</pre>
+ */
+public final class FaultPlan {
+
+    /**
+     * A plan that injects nothing.
+     */
+    public static final FaultPlan NONE = builder().build();
+
+    private final LatencyDistribution latency;
+    private final double errorRate;
+    private final int errorStatus;
+    private final double resetRate;
+    private final double throttleRate;
+    private final Duration retryAfter;
+    private final long slowReadBytesPerSecond;
+
+    private FaultPlan(Builder builder) {
+        this.latency = builder.latency;
+        this.errorRate = builder.errorRate;
+        this.errorStatus = builder.errorStatus;
+        this.resetRate = builder.resetRate;
+        this.throttleRate = builder.throttleRate;
+        this.retryAfter = builder.retryAfter;
+        this.slowReadBytesPerSecond = builder.slowReadBytesPerSecond;
+    }
+
+    /**
+     * Gets the added latency distribution.
+     *
+     * @return the latency distribution
+     */
+    public LatencyDistribution getLatency() {
+        return latency;
+    }
+
+    /**
+     * Gets the fraction of requests answered with {@link #getErrorStatus()}.
+     *
+     * @return the error rate
+     */
+    public double getErrorRate() {
+        return errorRate;
+    }
+
+    /**
+     * Gets the status returned for injected errors.
+     *
+     * @return the error status
+     */
+    public int getErrorStatus() {
+        return errorStatus;
+    }
+
+    /**
+     * Gets the fraction of requests whose connection is reset.
+     *
+     * @return the connection reset rate
+     */
+    public double getResetRate() {
+        return resetRate;
+    }
+
+    /**
+     * Gets the fraction of requests answered with {@code 429 Too Many Requests}.
+     *
+     * @return the throttle rate
+     */
+    public double getThrottleRate() {
+        return throttleRate;
+    }
+
+    /**
+     * Gets the {@code Retry-After} sent with throttled responses.
+     *
+     * @return the retry-after delay
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    /**
+     * Gets the rate request bodies are read at, or 0 to read at full speed.
+     *
+     * @return the slow read rate in bytes per second
+     */
+    public long getSlowReadBytesPerSecond() {
+        return slowReadBytesPerSecond;
+    }
+
+    /**
+     * Creates a new builder for FaultPlan.
+     *
+     * @return a new builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public String toString() {
+        return "FaultPlan{" +
+               "errorRate=" + errorRate +
+               ", errorStatus=" + errorStatus +
+               ", resetRate=" + resetRate +
+               ", throttleRate=" + throttleRate +
+               ", retryAfter=" + retryAfter +
+               ", slowReadBytesPerSecond=" + slowReadBytesPerSecond +
+               '}';
+    }
+
+    /**
+     * Builder for creating FaultPlan instances.
+     */
+    public static final class Builder {
+        private LatencyDistribution latency = LatencyDistribution.NONE;
+        private double errorRate;
+        private int errorStatus = 503;
+        private double resetRate;
+        private double throttleRate;
+        private Duration retryAfter = Duration.ofSeconds(1);
+        private long slowReadBytesPerSecond;
+
+        private Builder() {
+        }
+
+        public Builder latency(LatencyDistribution latency) {
+            if (latency == null) {
+                throw new IllegalArgumentException("latency must not be null");
+            }
+            this.latency = latency;
+            return this;
+        }
+
+        public Builder errors(double rate, int status) {
+            if (status < 400 || status > 599) {
+                throw new IllegalArgumentException("Error status must be 4xx or 5xx: " + status);
+            }
+            this.errorRate = requireRate(rate);
+            this.errorStatus = status;
+            return this;
+        }
+
+        public Builder connectionResets(double rate) {
+            this.resetRate = requireRate(rate);
+            return this;
+        }
+
+        public Builder throttling(double rate, Duration retryAfter) {
+            if (retryAfter == null || retryAfter.isNegative()) {
+                throw new IllegalArgumentException("retryAfter must be zero or positive: " + retryAfter);
+            }
+            this.throttleRate = requireRate(rate);
+            this.retryAfter = retryAfter;
+            return this;
+        }
+
+        public Builder slowReads(long bytesPerSecond) {
+            if (bytesPerSecond < 0) {
+                throw new IllegalArgumentException("bytesPerSecond must be zero or positive: " + bytesPerSecond);
+            }
+            this.slowReadBytesPerSecond = bytesPerSecond;
+            return this;
+        }
+
+        public FaultPlan build() {
+            return new FaultPlan(this);
+        }
+
+        private static double requireRate(double rate) {
+            if (!(rate >= 0.0 && rate <= 1.0)) {
+                throw new IllegalArgumentException("Rate must be between 0 and 1: " + rate);
+            }
+            return rate;
+        }
+    }
+}
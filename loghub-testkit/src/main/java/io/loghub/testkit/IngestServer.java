@@ -0,0 +1,453 @@
+package io.loghub.testkit;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.loghub.contract.LogEvent;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * In-process stand-in for the LogHub ingest API, for integration and capacity tests.
+ *
+ * <p>The server accepts {@code POST} requests on its path carrying either a single
+ * {@link LogEvent} object or a JSON array of them (the batch contract), optionally compressed
+ * with {@code Content-Encoding: gzip} or {@code deflate}. When an API key is configured, the
+ * {@code X-API-KEY} header must match or the request is answered with {@code 401}. Accepted
+ * requests are answered with {@code 202}; malformed bodies with {@code 400}.
+ *
+ * <p>Faults are injected according to the current {@link FaultPlan}, which can be swapped while
+ * the server runs to script a scenario (healthy, then degraded, then recovered). Requests are
+ * handled on a cached thread pool, so added latency delays only the request it applies to.
+ *
+ * <pre>{@code
+ * try (IngestServer server = IngestServer.builder().apiKey("test-key").start()) {
+ *     appender.setEndpoint(server.endpoint());
+ *     ...
+ *     List<LogEvent> events = server.awaitEvents(10, Duration.ofSeconds(5));
+ * }
+ * }</pre>
+ */
+public final class IngestServer implements AutoCloseable {
+
+    /**
+     * Header carrying the API key, as sent by the SDK.
+     */
+    public static final String API_KEY_HEADER = "X-API-KEY";
+
+    /**
+     * Default request path.
+     */
+    public static final String DEFAULT_PATH = "/api/logs";
+
+    private static final int STATUS_ACCEPTED = 202;
+    private static final int STATUS_BAD_REQUEST = 400;
+    private static final int STATUS_UNAUTHORIZED = 401;
+    private static final int STATUS_METHOD_NOT_ALLOWED = 405;
+    private static final int STATUS_UNSUPPORTED_MEDIA_TYPE = 415;
+    private static final int STATUS_TOO_MANY_REQUESTS = 429;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final ObjectMapper objectMapper;
+    private final String path;
+    private final String apiKey;
+    private final boolean retainEvents;
+    private final Random random;
+    private volatile FaultPlan faultPlan;
+
+    private final Queue<LogEvent> received = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger eventCount = new AtomicInteger();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder resets = new LongAdder();
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final Object arrivals = new Object();
+
+    private IngestServer(Builder builder) throws IOException {
+        this.path = builder.path;
+        this.apiKey = builder.apiKey;
+        this.retainEvents = builder.retainEvents;
+        this.faultPlan = builder.faultPlan;
+        this.random = new Random(builder.seed);
+
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.registerModule(new JavaTimeModule());
+        this.objectMapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+        this.executor = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "loghub-ingest-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), builder.port), 0);
+        this.server.createContext(path, this::handle);
+        this.server.setExecutor(executor);
+        this.server.start();
+    }
+
+    /**
+     * Creates a new builder for IngestServer.
+     *
+     * @return a new builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Gets the URL to configure as the SDK endpoint.
+     *
+     * @return the endpoint URL
+     */
+    public String endpoint() {
+        return "http://" + server.getAddress().getHostString() + ":" + port() + path;
+    }
+
+    /**
+     * Gets the port the server is bound to.
+     *
+     * @return the port
+     */
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Replaces the fault plan; requests already past a fault check are not affected.
+     *
+     * @param faultPlan the new fault plan
+     */
+    public void setFaultPlan(FaultPlan faultPlan) {
+        if (faultPlan == null) {
+            throw new IllegalArgumentException("faultPlan must not be null");
+        }
+        this.faultPlan = faultPlan;
+    }
+
+    /**
+     * Gets the current fault plan.
+     *
+     * @return the fault plan
+     */
+    public FaultPlan getFaultPlan() {
+        return faultPlan;
+    }
+
+    /**
+     * Gets the events accepted so far, in arrival order. Empty when events are not retained.
+     *
+     * @return a snapshot of the received events
+     */
+    public List<LogEvent> getReceivedEvents() {
+        return new ArrayList<>(received);
+    }
+
+    /**
+     * Gets the number of events accepted so far, whether retained or not.
+     *
+     * @return the received event count
+     */
+    public int getEventCount() {
+        return eventCount.get();
+    }
+
+    /**
+     * Waits until at least {@code count} events have been accepted.
+     *
+     * @param count   the number of events to wait for
+     * @param timeout the maximum time to wait
+     * @return the received events
+     * @throws InterruptedException if interrupted while waiting
+     * @throws AssertionError       if fewer events arrived before the timeout
+     */
+    public List<LogEvent> awaitEvents(int count, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (arrivals) {
+            while (eventCount.get() < count) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new AssertionError("Expected " + count + " events within " + timeout
+                            + " but received " + eventCount.get());
+                }
+                arrivals.wait(Math.max(1, remaining / 1_000_000));
+            }
+        }
+        return getReceivedEvents();
+    }
+
+    /**
+     * Gets the number of requests handled, including rejected and reset ones.
+     *
+     * @return the request count
+     */
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    /**
+     * Gets the number of connections reset by the fault plan.
+     *
+     * @return the reset count
+     */
+    public long getResetCount() {
+        return resets.sum();
+    }
+
+    /**
+     * Gets the number of responses sent per status code.
+     *
+     * @return the response counts, ordered by status
+     */
+    public Map<Integer, Long> getStatusCounts() {
+        Map<Integer, Long> counts = new TreeMap<>();
+        statuses.forEach((status, count) -> counts.put(status, count.sum()));
+        return counts;
+    }
+
+    /**
+     * Clears received events and counters; the fault plan is kept.
+     */
+    public void reset() {
+        received.clear();
+        eventCount.set(0);
+        requests.reset();
+        resets.reset();
+        statuses.clear();
+    }
+
+    /**
+     * Stops the server, aborting requests still held by injected latency.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.increment();
+        FaultPlan plan = faultPlan;
+        try {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                respond(exchange, STATUS_METHOD_NOT_ALLOWED);
+                return;
+            }
+            if (chance(plan.getResetRate())) {
+                // Closing the exchange before response headers drops the connection
+                resets.increment();
+                return;
+            }
+
+            byte[] body = readBody(exchange.getRequestBody(), plan.getSlowReadBytesPerSecond());
+
+            if (apiKey != null && !apiKey.equals(exchange.getRequestHeaders().getFirst(API_KEY_HEADER))) {
+                respond(exchange, STATUS_UNAUTHORIZED);
+                return;
+            }
+
+            long delay = plan.getLatency().sampleMillis(random);
+            if (delay > 0) {
+                Thread.sleep(delay);
+            }
+
+            if (chance(plan.getThrottleRate())) {
+                exchange.getResponseHeaders().set("Retry-After",
+                        String.valueOf((plan.getRetryAfter().toMillis() + 999) / 1000));
+                respond(exchange, STATUS_TOO_MANY_REQUESTS);
+                return;
+            }
+            if (chance(plan.getErrorRate())) {
+                respond(exchange, plan.getErrorStatus());
+                return;
+            }
+
+            InputStream decoded = decode(exchange.getRequestHeaders().getFirst("Content-Encoding"), body);
+            if (decoded == null) {
+                respond(exchange, STATUS_UNSUPPORTED_MEDIA_TYPE);
+                return;
+            }
+            List<LogEvent> events;
+            try {
+                events = parse(decoded);
+            } catch (IOException | IllegalArgumentException e) {
+                respond(exchange, STATUS_BAD_REQUEST);
+                return;
+            }
+            accept(events);
+            respond(exchange, STATUS_ACCEPTED);
+        } catch (InterruptedException e) {
+            // Server closing while a request was delayed
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private boolean chance(double rate) {
+        if (rate <= 0.0) {
+            return false;
+        }
+        return random.nextDouble() < rate;
+    }
+
+    private static byte[] readBody(InputStream in, long bytesPerSecond) throws IOException, InterruptedException {
+        if (bytesPerSecond <= 0) {
+            return in.readAllBytes();
+        }
+        // Read in ten slices per second to hold the client's send back at the given rate
+        int slice = (int) Math.max(1, Math.min(Integer.MAX_VALUE, bytesPerSecond / 10));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[slice];
+        int read;
+        while ((read = in.readNBytes(buffer, 0, slice)) > 0) {
+            out.write(buffer, 0, read);
+            Thread.sleep(100);
+        }
+        return out.toByteArray();
+    }
+
+    private static InputStream decode(String encoding, byte[] body) throws IOException {
+        InputStream raw = new ByteArrayInputStream(body);
+        if (encoding == null || encoding.isBlank() || "identity".equalsIgnoreCase(encoding)) {
+            return raw;
+        }
+        if ("gzip".equalsIgnoreCase(encoding)) {
+            return new GZIPInputStream(raw);
+        }
+        if ("deflate".equalsIgnoreCase(encoding)) {
+            return new InflaterInputStream(raw);
+        }
+        return null;
+    }
+
+    private List<LogEvent> parse(InputStream body) throws IOException {
+        JsonNode root = objectMapper.readTree(body);
+        List<LogEvent> events = new ArrayList<>();
+        if (root != null && root.isArray()) {
+            for (JsonNode node : root) {
+                events.add(toEvent(node));
+            }
+        } else if (root != null && root.isObject()) {
+            events.add(toEvent(root));
+        } else {
+            throw new IllegalArgumentException("Expected a log event or an array of log events");
+        }
+        return events;
+    }
+
+    private LogEvent toEvent(JsonNode node) throws IOException {
+        if (!node.isObject()) {
+            throw new IllegalArgumentException("Expected a log event object");
+        }
+        return objectMapper.treeToValue(node, LogEvent.class);
+    }
+
+    private void accept(List<LogEvent> events) {
+        if (retainEvents) {
+            received.addAll(events);
+        }
+        eventCount.addAndGet(events.size());
+        synchronized (arrivals) {
+            arrivals.notifyAll();
+        }
+    }
+
+    private void respond(HttpExchange exchange, int status) throws IOException {
+        statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+        exchange.sendResponseHeaders(status, -1);
+    }
+
+    /**
+     * Builder for creating IngestServer instances.
+     */
+    public static final class Builder {
+        private int port;
+        private String path = DEFAULT_PATH;
+        private String apiKey;
+        private boolean retainEvents = true;
+        private FaultPlan faultPlan = FaultPlan.NONE;
+        private long seed = 42L;
+
+        private Builder() {
+        }
+
+        /**
+         * Port to bind on the loopback address; 0 (the default) picks a free one.
+         */
+        public Builder port(int port) {
+            this.port = port;
+            return this;
+        }
+
+        public Builder path(String path) {
+            this.path = path;
+            return this;
+        }
+
+        /**
+         * Required {@code X-API-KEY} value; null (the default) accepts any request.
+         */
+        public Builder apiKey(String apiKey) {
+            this.apiKey = apiKey;
+            return this;
+        }
+
+        /**
+         * Whether to keep received events; turn off for capacity runs and read
+         * {@link IngestServer#getEventCount()} instead.
+         */
+        public Builder retainEvents(boolean retainEvents) {
+            this.retainEvents = retainEvents;
+            return this;
+        }
+
+        public Builder faultPlan(FaultPlan faultPlan) {
+            if (faultPlan == null) {
+                throw new IllegalArgumentException("faultPlan must not be null");
+            }
+            this.faultPlan = faultPlan;
+            return this;
+        }
+
+        /**
+         * Seed for fault injection and latency sampling.
+         */
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * Binds and starts the server.
+         *
+         * @return the running server
+         * @throws IOException if the port cannot be bound
+         */
+        public IngestServer start() throws IOException {
+            return new IngestServer(this);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package io.loghub.testkit;
+
+import java.time.Duration;
+import java.util.Random;
+
+/**
+ * Added response latency for an {@link IngestServer}, sampled once per request.
+ */
+@FunctionalInterface
+public interface LatencyDistribution {
+
+    /**
+     * No added latency.
+     */
+    LatencyDistribution NONE = random -> 0L;
+
+    /**
+     * Samples the delay for one request.
+     *
+     * @param random the server's seeded random source
+     * @return the delay in milliseconds, zero or more
+     */
+    long sampleMillis(Random random);
+
+    /**
+     * Always the same delay.
+     *
+     * @param delay the delay
+     * @return the distribution
+     */
+    static LatencyDistribution fixed(Duration delay) {
+        long millis = requireNonNegative(delay);
+        return random -> millis;
+    }
+
+    /**
+     * A delay drawn uniformly between {@code min} and {@code max}, both inclusive.
+     *
+     * @param min the shortest delay
+     * @param max the longest delay
+     * @return the distribution
+     */
+    static LatencyDistribution uniform(Duration min, Duration max) {
+        long low = requireNonNegative(min);
+        long high = requireNonNegative(max);
+        if (high < low) {
+            throw new IllegalArgumentException("max must not be shorter than min");
+        }
+        return random -> low + (long) (random.nextDouble() * (high - low + 1));
+    }
+
+    /**
+     * An exponentially distributed delay with the given mean, capped at {@code max}: mostly
+     * quick responses with a long tail, like a busy collector.
+     *
+     * @param mean the mean delay
+     * @param max  the cap on a single delay
+     * @return the distribution
+     */
+    static LatencyDistribution exponential(Duration mean, Duration max) {
+        long meanMillis = requireNonNegative(mean);
+        long cap = requireNonNegative(max);
+        return random -> Math.min(cap, Math.round(-meanMillis * Math.log(1.0 - random.nextDouble())));
+    }
+
+    private static long requireNonNegative(Duration duration) {
+        if (duration == null || duration.isNegative()) {
+            throw new IllegalArgumentException("Latency must be zero or positive: " + duration);
+        }
+        return duration.toMillis();
+    }
+}
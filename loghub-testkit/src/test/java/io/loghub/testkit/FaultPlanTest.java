@@ -0,0 +1,53 @@
+package io.loghub.testkit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FaultPlan.
+ */
+class FaultPlanTest {
+
+    @Test
+    void shouldInjectNothingByDefault() {
+        FaultPlan plan = FaultPlan.NONE;
+
+        assertEquals(0.0, plan.getErrorRate());
+        assertEquals(0.0, plan.getResetRate());
+        assertEquals(0.0, plan.getThrottleRate());
+        assertEquals(0, plan.getSlowReadBytesPerSecond());
+        assertEquals(0, plan.getLatency().sampleMillis(new Random(1)));
+    }
+
+    @Test
+    void shouldKeepConfiguredFaults() {
+        FaultPlan plan = FaultPlan.builder()
+                .errors(0.1, 500)
+                .connectionResets(0.2)
+                .throttling(0.3, Duration.ofSeconds(5))
+                .slowReads(1024)
+                .build();
+
+        assertEquals(0.1, plan.getErrorRate());
+        assertEquals(500, plan.getErrorStatus());
+        assertEquals(0.2, plan.getResetRate());
+        assertEquals(0.3, plan.getThrottleRate());
+        assertEquals(Duration.ofSeconds(5), plan.getRetryAfter());
+        assertEquals(1024, plan.getSlowReadBytesPerSecond());
+    }
+
+    @Test
+    void shouldRejectInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> FaultPlan.builder().errors(1.5, 503));
+        assertThrows(IllegalArgumentException.class, () -> FaultPlan.builder().errors(0.5, 200));
+        assertThrows(IllegalArgumentException.class, () -> FaultPlan.builder().connectionResets(-0.1));
+        assertThrows(IllegalArgumentException.class, () -> FaultPlan.builder().connectionResets(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> FaultPlan.builder().throttling(0.5, Duration.ofSeconds(-1)));
+        assertThrows(IllegalArgumentException.class, () -> FaultPlan.builder().slowReads(-1));
+        assertThrows(IllegalArgumentException.class, () -> FaultPlan.builder().latency(null));
+    }
+}
@@ -0,0 +1,197 @@
+package io.loghub.testkit;
+
+import io.loghub.contract.LogEvent;
+import io.loghub.contract.LogLevel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for IngestServer.
+ */
+class IngestServerTest {
+
+    private static final String EVENT = "{\"application\":\"orders\",\"environment\":\"test\",\"level\":\"INFO\","
+            + "\"message\":\"Order processed\",\"timestamp\":\"2024-01-15T10:30:00.000Z\","
+            + "\"metadata\":{\"orderId\":\"order-42\",\"durationMs\":35}}";
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private IngestServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = IngestServer.builder().apiKey("test-key").start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void shouldAcceptSingleEvent() throws Exception {
+        assertEquals(202, post(EVENT.getBytes(StandardCharsets.UTF_8), "test-key", null).statusCode());
+
+        List<LogEvent> events = server.awaitEvents(1, Duration.ofSeconds(1));
+        LogEvent event = events.get(0);
+        assertEquals("orders", event.getApplication());
+        assertEquals(LogLevel.INFO, event.getLevel());
+        assertEquals("Order processed", event.getMessage());
+        assertEquals("order-42", event.getMetadata().get("orderId"));
+        assertEquals(35, ((Number) event.getTypedMetadata().get("durationMs")).intValue());
+    }
+
+    @Test
+    void shouldAcceptBatch() throws Exception {
+        String batch = "[" + EVENT + "," + EVENT + "," + EVENT + "]";
+
+        assertEquals(202, post(batch.getBytes(StandardCharsets.UTF_8), "test-key", null).statusCode());
+
+        assertEquals(3, server.awaitEvents(3, Duration.ofSeconds(1)).size());
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    void shouldRejectMissingOrWrongApiKey() throws Exception {
+        assertEquals(401, post(EVENT.getBytes(StandardCharsets.UTF_8), null, null).statusCode());
+        assertEquals(401, post(EVENT.getBytes(StandardCharsets.UTF_8), "other-key", null).statusCode());
+
+        assertEquals(0, server.getEventCount());
+        assertEquals(2L, server.getStatusCounts().get(401));
+    }
+
+    @Test
+    void shouldRejectMalformedBody() throws Exception {
+        assertEquals(400, post("{not json".getBytes(StandardCharsets.UTF_8), "test-key", null).statusCode());
+        assertEquals(400, post("[1, 2]".getBytes(StandardCharsets.UTF_8), "test-key", null).statusCode());
+        assertEquals(0, server.getEventCount());
+    }
+
+    @Test
+    void shouldDecodeGzipAndDeflateBodies() throws Exception {
+        ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(gzip)) {
+            out.write(EVENT.getBytes(StandardCharsets.UTF_8));
+        }
+        ByteArrayOutputStream deflate = new ByteArrayOutputStream();
+        try (DeflaterOutputStream out = new DeflaterOutputStream(deflate)) {
+            out.write(EVENT.getBytes(StandardCharsets.UTF_8));
+        }
+
+        assertEquals(202, post(gzip.toByteArray(), "test-key", "gzip").statusCode());
+        assertEquals(202, post(deflate.toByteArray(), "test-key", "deflate").statusCode());
+        assertEquals(415, post(EVENT.getBytes(StandardCharsets.UTF_8), "test-key", "br").statusCode());
+
+        assertEquals(2, server.awaitEvents(2, Duration.ofSeconds(1)).size());
+    }
+
+    @Test
+    void shouldInjectErrorStatus() throws Exception {
+        server.setFaultPlan(FaultPlan.builder().errors(1.0, 503).build());
+
+        assertEquals(503, post(EVENT.getBytes(StandardCharsets.UTF_8), "test-key", null).statusCode());
+        assertEquals(0, server.getEventCount());
+
+        server.setFaultPlan(FaultPlan.NONE);
+        assertEquals(202, post(EVENT.getBytes(StandardCharsets.UTF_8), "test-key", null).statusCode());
+    }
+
+    @Test
+    void shouldThrottleWithRetryAfter() throws Exception {
+        server.setFaultPlan(FaultPlan.builder().throttling(1.0, Duration.ofMillis(1500)).build());
+
+        HttpResponse<Void> response = post(EVENT.getBytes(StandardCharsets.UTF_8), "test-key", null);
+
+        assertEquals(429, response.statusCode());
+        assertEquals("2", response.headers().firstValue("Retry-After").orElse(null));
+    }
+
+    @Test
+    void shouldResetConnection() {
+        server.setFaultPlan(FaultPlan.builder().connectionResets(1.0).build());
+
+        assertThrows(IOException.class, () -> post(EVENT.getBytes(StandardCharsets.UTF_8), "test-key", null));
+        assertEquals(1, server.getResetCount());
+        assertEquals(0, server.getEventCount());
+    }
+
+    @Test
+    void shouldDelayResponsesByInjectedLatency() throws Exception {
+        server.setFaultPlan(FaultPlan.builder()
+                .latency(LatencyDistribution.fixed(Duration.ofMillis(150)))
+                .build());
+
+        long start = System.nanoTime();
+        assertEquals(202, post(EVENT.getBytes(StandardCharsets.UTF_8), "test-key", null).statusCode());
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() >= 150);
+    }
+
+    @Test
+    void shouldReadBodySlowly() throws Exception {
+        byte[] body = EVENT.getBytes(StandardCharsets.UTF_8);
+        server.setFaultPlan(FaultPlan.builder().slowReads(body.length * 2L).build());
+
+        long start = System.nanoTime();
+        assertEquals(202, post(body, "test-key", null).statusCode());
+
+        // Twice the body size per second reads it in about half a second
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() >= 400);
+    }
+
+    @Test
+    void shouldCountEventsWithoutRetainingThem() throws Exception {
+        try (IngestServer counting = IngestServer.builder().retainEvents(false).start()) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(counting.endpoint()))
+                    .POST(HttpRequest.BodyPublishers.ofString("[" + EVENT + "," + EVENT + "]"))
+                    .build();
+
+            assertEquals(202, client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode());
+            assertEquals(2, counting.getEventCount());
+            assertTrue(counting.getReceivedEvents().isEmpty());
+        }
+    }
+
+    @Test
+    void shouldClearStateOnReset() throws Exception {
+        post(EVENT.getBytes(StandardCharsets.UTF_8), "test-key", null);
+
+        server.reset();
+
+        assertEquals(0, server.getEventCount());
+        assertEquals(0, server.getRequestCount());
+        assertTrue(server.getStatusCounts().isEmpty());
+    }
+
+    @Test
+    void shouldFailWaitingForMissingEvents() {
+        assertThrows(AssertionError.class, () -> server.awaitEvents(1, Duration.ofMillis(50)));
+    }
+
+    private HttpResponse<Void> post(byte[] body, String apiKey, String encoding) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(server.endpoint()))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body));
+        if (apiKey != null) {
+            request.header(IngestServer.API_KEY_HEADER, apiKey);
+        }
+        if (encoding != null) {
+            request.header("Content-Encoding", encoding);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.discarding());
+    }
+}
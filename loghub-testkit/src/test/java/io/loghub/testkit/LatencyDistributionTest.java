@@ -0,0 +1,54 @@
+package io.loghub.testkit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LatencyDistribution.
+ */
+class LatencyDistributionTest {
+
+    @Test
+    void shouldSampleFixedDelay() {
+        LatencyDistribution fixed = LatencyDistribution.fixed(Duration.ofMillis(25));
+
+        assertEquals(25, fixed.sampleMillis(new Random(1)));
+    }
+
+    @Test
+    void shouldSampleUniformDelayWithinBounds() {
+        LatencyDistribution uniform = LatencyDistribution.uniform(Duration.ofMillis(10), Duration.ofMillis(20));
+        Random random = new Random(7);
+
+        for (int i = 0; i < 1_000; i++) {
+            long delay = uniform.sampleMillis(random);
+            assertTrue(delay >= 10 && delay <= 20, "delay " + delay);
+        }
+    }
+
+    @Test
+    void shouldSampleExponentialDelayAroundMeanAndUnderCap() {
+        LatencyDistribution exponential = LatencyDistribution.exponential(Duration.ofMillis(20), Duration.ofMillis(500));
+        Random random = new Random(7);
+
+        long sum = 0;
+        for (int i = 0; i < 10_000; i++) {
+            long delay = exponential.sampleMillis(random);
+            assertTrue(delay >= 0 && delay <= 500, "delay " + delay);
+            sum += delay;
+        }
+        double mean = sum / 10_000.0;
+        assertTrue(mean > 17 && mean < 23, "mean " + mean);
+    }
+
+    @Test
+    void shouldRejectNegativeOrInvertedBounds() {
+        assertThrows(IllegalArgumentException.class, () -> LatencyDistribution.fixed(Duration.ofMillis(-1)));
+        assertThrows(IllegalArgumentException.class,
+                () -> LatencyDistribution.uniform(Duration.ofMillis(20), Duration.ofMillis(10)));
+    }
+}